@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.benchmarks;
+
+import org.apache.deltaspike.core.api.future.Futureable;
+import org.apache.deltaspike.core.api.lock.Locked;
+import org.apache.deltaspike.core.api.monitoring.InvocationMonitored;
+import org.apache.deltaspike.core.api.throttling.Throttled;
+import org.apache.deltaspike.core.api.throttling.Throttling;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * The intercepted methods only return their parameter, thus the benchmarks measure the overhead of the interceptors.
+ */
+@ApplicationScoped
+@Throttling(permits = 1024)
+public class BenchmarkService
+{
+    public int plain(int value)
+    {
+        return value;
+    }
+
+    @Locked
+    public int lockedRead(int value)
+    {
+        return value;
+    }
+
+    @Locked(operation = Locked.Operation.WRITE)
+    public int lockedWrite(int value)
+    {
+        return value;
+    }
+
+    @Throttled
+    public int throttled(int value)
+    {
+        return value;
+    }
+
+    @InvocationMonitored
+    public int monitored(int value)
+    {
+        return value;
+    }
+
+    @Futureable
+    public Future<Integer> futureable(int value)
+    {
+        return CompletableFuture.completedFuture(value);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.benchmarks;
+
+import org.apache.deltaspike.cdise.api.CdiContainer;
+import org.apache.deltaspike.cdise.api.CdiContainerLoader;
+import org.apache.deltaspike.core.api.provider.BeanProvider;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Boots the CDI container found via cdictrl (OWB or Weld) once per benchmark run.
+ */
+@State(Scope.Benchmark)
+public class CdiContainerState
+{
+    private CdiContainer cdiContainer;
+
+    private BenchmarkService benchmarkService;
+
+    @Setup(Level.Trial)
+    public void boot()
+    {
+        cdiContainer = CdiContainerLoader.getCdiContainer();
+        cdiContainer.boot();
+        cdiContainer.getContextControl().startContext(ApplicationScoped.class);
+
+        benchmarkService = BeanProvider.getContextualReference(BenchmarkService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown()
+    {
+        cdiContainer.shutdown();
+    }
+
+    public CdiContainer getCdiContainer()
+    {
+        return cdiContainer;
+    }
+
+    public BenchmarkService getBenchmarkService()
+    {
+        return benchmarkService;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.benchmarks;
+
+import org.apache.deltaspike.core.api.config.ConfigResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link ConfigResolver} lookup cascade with and without the resolution cache.
+ * The ConfigResolver doesn't need a CDI container, thus it isn't booted for these benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigResolverBenchmark
+{
+    @Param({ "false", "true" })
+    private String resolutionCacheEnabled;
+
+    private ConfigResolver.TypedResolver<Integer> cachedResolver;
+
+    @Setup
+    public void setup()
+    {
+        System.setProperty("deltaspike.config.resolution-cache.enabled", resolutionCacheEnabled);
+        ConfigResolver.freeConfigSources();
+
+        cachedResolver = ConfigResolver.resolve("benchmark.number")
+                .as(Integer.class)
+                .cacheFor(TimeUnit.MINUTES, 5);
+    }
+
+    @Benchmark
+    public String existingKey()
+    {
+        return ConfigResolver.getPropertyValue("benchmark.value");
+    }
+
+    @Benchmark
+    public String missingKey()
+    {
+        return ConfigResolver.getPropertyValue("benchmark.missing");
+    }
+
+    @Benchmark
+    public String projectStageAwareKey()
+    {
+        return ConfigResolver.getProjectStageAwarePropertyValue("benchmark.value");
+    }
+
+    @Benchmark
+    public Integer typedResolver()
+    {
+        return ConfigResolver.resolve("benchmark.number")
+                .as(Integer.class)
+                .withCurrentProjectStage(true)
+                .withDefault(0)
+                .getValue();
+    }
+
+    @Benchmark
+    public String variableReplacement()
+    {
+        return ConfigResolver.resolve("benchmark.withVariable").evaluateVariables(true).getValue();
+    }
+
+    @Benchmark
+    public Integer cachedTypedResolver()
+    {
+        return cachedResolver.getValue();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String existingKeyContended()
+    {
+        return ConfigResolver.getPropertyValue("benchmark.value");
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.enterprise.context.RequestScoped;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the core interceptors compared to a plain invocation of a normal-scoped bean.
+ *
+ * @see ContendedInterceptorBenchmark for the multi-threaded version
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Thread)
+public class InterceptorBenchmark
+{
+    private int value = 42;
+
+    private CdiContainerState cdiContainerState;
+
+    /**
+     * The request counter of the InvocationMonitorInterceptor needs an active RequestContext.
+     */
+    @Setup(Level.Iteration)
+    public void startRequest(CdiContainerState cdiContainerState)
+    {
+        this.cdiContainerState = cdiContainerState;
+        cdiContainerState.getCdiContainer().getContextControl().startContext(RequestScoped.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopRequest()
+    {
+        cdiContainerState.getCdiContainer().getContextControl().stopContext(RequestScoped.class);
+    }
+
+    @Benchmark
+    public int plain(CdiContainerState cdiContainerState)
+    {
+        return cdiContainerState.getBenchmarkService().plain(value);
+    }
+
+    @Benchmark
+    public int lockedRead(CdiContainerState cdiContainerState)
+    {
+        return cdiContainerState.getBenchmarkService().lockedRead(value);
+    }
+
+    @Benchmark
+    public int lockedWrite(CdiContainerState cdiContainerState)
+    {
+        return cdiContainerState.getBenchmarkService().lockedWrite(value);
+    }
+
+    @Benchmark
+    public int throttled(CdiContainerState cdiContainerState)
+    {
+        return cdiContainerState.getBenchmarkService().throttled(value);
+    }
+
+    @Benchmark
+    public int monitored(CdiContainerState cdiContainerState)
+    {
+        return cdiContainerState.getBenchmarkService().monitored(value);
+    }
+
+    @Benchmark
+    public int futureable(CdiContainerState cdiContainerState) throws ExecutionException, InterruptedException
+    {
+        return cdiContainerState.getBenchmarkService().futureable(value).get();
+    }
+}
@@ -106,6 +106,31 @@ public interface CoreBaseConfig extends DeltaSpikeBaseConfig
                         .getValue();
     }
 
+    interface LockCustomization
+    {
+        /**
+         * The number of stripes of a lock created by the
+         * {@link org.apache.deltaspike.core.api.lock.StripedLockFactory}.
+         */
+        Integer STRIPES =
+                ConfigResolver.resolve("deltaspike.lock.stripes")
+                        .as(Integer.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(16)
+                        .getValue();
+
+        /**
+         * Whether the wait and hold times of all {@link org.apache.deltaspike.core.api.lock.Locked}
+         * methods should get recorded.
+         */
+        Boolean STATISTICS_ENABLED =
+                ConfigResolver.resolve("deltaspike.lock.statistics.enabled")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.FALSE)
+                        .getValue();
+    }
+
     interface ParentExtensionCustomization
     {
         Boolean PARENT_EXTENSION_ENABLED =
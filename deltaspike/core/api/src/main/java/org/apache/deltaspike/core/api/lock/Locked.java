@@ -52,6 +52,9 @@ public @interface Locked
 
     /**
      * @return how to retrieve the lock for this method. Default uses a lock per class.
+     * @see PerMethodLockFactory
+     * @see StripedLockFactory
+     * @see StampedLockFactory
      */
     @Nonbinding
     Class<? extends LockFactory> factory() default LockFactory.class;
@@ -70,7 +73,16 @@ public @interface Locked
 
     enum Operation
     {
-        READ, WRITE
+        READ, WRITE,
+
+        /**
+         * Executes the method without acquiring a lock and validates afterwards that no write happened meanwhile.
+         * If a write happened, the method gets invoked again while holding the read lock.
+         * Thus this operation must only be used for methods without side effects.
+         *
+         * Requires a lock created by the {@link StampedLockFactory}, otherwise it behaves like {@link #READ}.
+         */
+        OPTIMISTIC_READ
     }
 
     /**
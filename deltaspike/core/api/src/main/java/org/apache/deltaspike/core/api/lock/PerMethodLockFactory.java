@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.api.lock;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Creates a separate lock for each {@link Locked} method instead of one lock per class.
+ * Use it if the methods of a bean don't protect shared state.
+ *
+ * <pre>
+ * &#064;Locked(factory = PerMethodLockFactory.class)
+ * </pre>
+ */
+@ApplicationScoped
+public class PerMethodLockFactory implements Locked.LockFactory
+{
+    @Override
+    public ReadWriteLock newLock(AnnotatedMethod<?> method, boolean fair)
+    {
+        // the lock gets cached per method by the interceptor
+        return new ReentrantReadWriteLock(fair);
+    }
+}
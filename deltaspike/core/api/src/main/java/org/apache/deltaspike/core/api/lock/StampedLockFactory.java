@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.api.lock;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Creates a {@link StampedReadWriteLock} per class which supports {@link Locked.Operation#OPTIMISTIC_READ}.
+ * The fairness flag is ignored since a {@link java.util.concurrent.locks.StampedLock} has no fairness policy.
+ *
+ * <pre>
+ * &#064;Locked(factory = StampedLockFactory.class, operation = OPTIMISTIC_READ)
+ * </pre>
+ */
+@ApplicationScoped
+public class StampedLockFactory implements Locked.LockFactory
+{
+    private final ConcurrentMap<String, ReadWriteLock> locks = new ConcurrentHashMap<String, ReadWriteLock>();
+
+    @Override
+    public ReadWriteLock newLock(AnnotatedMethod<?> method, boolean fair)
+    {
+        final String name = method.getJavaMember().getDeclaringClass().getName();
+        ReadWriteLock lock = locks.get(name);
+        if (lock == null)
+        {
+            lock = new StampedReadWriteLock();
+            final ReadWriteLock existing = locks.putIfAbsent(name, lock);
+            if (existing != null)
+            {
+                lock = existing;
+            }
+        }
+        return lock;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.api.lock;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A {@link ReadWriteLock} backed by a {@link StampedLock} which allows
+ * {@link Locked.Operation#OPTIMISTIC_READ optimistic reads}.
+ *
+ * Note that a {@link StampedLock} is not reentrant.
+ * Thus a method holding the lock must not invoke another method which is protected by the same lock.
+ */
+public class StampedReadWriteLock implements ReadWriteLock
+{
+    private final StampedLock stampedLock = new StampedLock();
+    private final Lock readLock = stampedLock.asReadLock();
+    private final Lock writeLock = stampedLock.asWriteLock();
+
+    public StampedLock getStampedLock()
+    {
+        return stampedLock;
+    }
+
+    @Override
+    public Lock readLock()
+    {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock()
+    {
+        return writeLock;
+    }
+}
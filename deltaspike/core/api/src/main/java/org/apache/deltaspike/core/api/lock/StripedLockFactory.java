@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.api.lock;
+
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Creates a {@link StripedReadWriteLock} per {@link Locked} method.
+ * The stripe gets selected by the parameter annotated with {@link LockKey} (or the first parameter),
+ * thus only invocations for keys which map to the same stripe contend.
+ *
+ * The number of stripes can be configured via {@code deltaspike.lock.stripes}.
+ *
+ * <pre>
+ * &#064;Locked(factory = StripedLockFactory.class, operation = WRITE)
+ * public void update(&#064;LockKey String customerId, Customer customer)
+ * </pre>
+ */
+@ApplicationScoped
+public class StripedLockFactory implements Locked.LockFactory
+{
+    @Override
+    public ReadWriteLock newLock(AnnotatedMethod<?> method, boolean fair)
+    {
+        return new StripedReadWriteLock(CoreBaseConfig.LockCustomization.STRIPES, fair);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.api.lock;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A fixed set of {@link ReadWriteLock}s (stripes). Each invocation only locks the stripe selected by its key,
+ * thus invocations with different keys will most likely not contend on the same lock.
+ *
+ * {@link #readLock()} and {@link #writeLock()} use the stripe for the {@code null} key.
+ */
+public class StripedReadWriteLock implements ReadWriteLock
+{
+    private final ReadWriteLock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes the minimal number of stripes, will get rounded up to the next power of two
+     * @param fair is the lock fair
+     */
+    public StripedReadWriteLock(int stripes, boolean fair)
+    {
+        int size = 1;
+        while (size < stripes)
+        {
+            size <<= 1;
+        }
+
+        this.stripes = new ReadWriteLock[size];
+        for (int i = 0; i < size; i++)
+        {
+            this.stripes[i] = new ReentrantReadWriteLock(fair);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param key the key of the invocation, might be {@code null}
+     * @return the stripe for the given key
+     */
+    public ReadWriteLock getStripe(Object key)
+    {
+        if (key == null)
+        {
+            return stripes[0];
+        }
+
+        int hash = key.hashCode();
+        // spread the higher bits as done by HashMap
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    public int getStripeCount()
+    {
+        return stripes.length;
+    }
+
+    @Override
+    public Lock readLock()
+    {
+        return stripes[0].readLock();
+    }
+
+    @Override
+    public Lock writeLock()
+    {
+        return stripes[0].writeLock();
+    }
+}
@@ -23,6 +23,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import javax.enterprise.inject.spi.AnnotatedMethod;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.ElementType.TYPE;
@@ -59,6 +60,49 @@ public @interface Throttling
     @Nonbinding
     String name() default "";
 
+    /**
+     * @return whether the concurrent invocations or the invocation rate gets limited.
+     */
+    @Nonbinding
+    Mode mode() default Mode.CONCURRENCY;
+
+    /**
+     * @return for {@link Mode#RATE}: the period in which {@link #permits()} are granted.
+     */
+    @Nonbinding
+    long period() default 1L;
+
+    /**
+     * @return the unit of period().
+     */
+    @Nonbinding
+    TimeUnit periodUnit() default TimeUnit.SECONDS;
+
+    /**
+     * @return for {@link Mode#RATE}: how many permits can be consumed at once after the bucket was idle.
+     * Default (0) means {@link #permits()}.
+     */
+    @Nonbinding
+    int burst() default 0;
+
+    enum Mode
+    {
+        /**
+         * Limits the number of concurrent invocations via a {@link Semaphore} created by the {@link #factory()}.
+         */
+        CONCURRENCY,
+
+        /**
+         * Limits the number of invocations per {@link #period()} via a lock-free token bucket.
+         * The {@link #factory()} is ignored in this mode.
+         *
+         * The permits, the period and the burst can be changed at runtime via the config keys
+         * {@code deltaspike.throttling.<name>.permits}, {@code deltaspike.throttling.<name>.period_in_ms}
+         * and {@code deltaspike.throttling.<name>.burst} where name is {@link #name()} or the class name.
+         */
+        RATE
+    }
+
     interface SemaphoreFactory
     {
         /**
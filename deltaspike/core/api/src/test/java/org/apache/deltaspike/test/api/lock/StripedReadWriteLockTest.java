@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.api.lock;
+
+import org.apache.deltaspike.core.api.lock.StripedReadWriteLock;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StripedReadWriteLockTest
+{
+    @Test
+    public void stripeCountIsPowerOfTwo()
+    {
+        Assert.assertEquals(1, new StripedReadWriteLock(1, false).getStripeCount());
+        Assert.assertEquals(16, new StripedReadWriteLock(10, false).getStripeCount());
+        Assert.assertEquals(16, new StripedReadWriteLock(16, false).getStripeCount());
+    }
+
+    @Test
+    public void sameKeyUsesSameStripe()
+    {
+        StripedReadWriteLock lock = new StripedReadWriteLock(16, false);
+
+        Assert.assertSame(lock.getStripe("customer-1"), lock.getStripe(new String("customer-1")));
+        Assert.assertSame(lock.getStripe(null).writeLock(), lock.writeLock());
+    }
+
+    @Test
+    public void differentStripesDontBlockEachOther() throws Exception
+    {
+        final StripedReadWriteLock lock = new StripedReadWriteLock(16, false);
+
+        Integer key1 = 1;
+        Integer key2 = 2;
+        Assert.assertNotSame(lock.getStripe(key1), lock.getStripe(key2));
+
+        lock.getStripe(key1).writeLock().lock();
+        try
+        {
+            final boolean[] locked = new boolean[1];
+            Thread thread = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    locked[0] = lock.getStripe(key2).writeLock().tryLock();
+                    if (locked[0])
+                    {
+                        lock.getStripe(key2).writeLock().unlock();
+                    }
+                }
+            };
+            thread.start();
+            thread.join();
+
+            Assert.assertTrue(locked[0]);
+        }
+        finally
+        {
+            lock.getStripe(key1).writeLock().unlock();
+        }
+    }
+}
@@ -30,10 +30,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,16 +44,34 @@ import java.util.logging.Logger;
  */
 public class ConfigImpl implements Config
 {
+    /**
+     * Enables the {@link ResolutionCache}.
+     * Only switch this on if all ConfigSources which might change their values at runtime report those
+     * changes via {@link ConfigSource#setOnAttributeChange(java.util.function.Consumer)}.
+     */
+    public static final String RESOLUTION_CACHE_ENABLED_KEY = "deltaspike.config.resolution-cache.enabled";
+
     private static final Logger LOG = Logger.getLogger(ConfigImpl.class.getName());
 
+    private static final int MAX_SNAPSHOT_TRIES = 5;
+
     private final ClassLoader classLoader;
 
-    private ConfigSource[] configSources;
-    private List<ConfigFilter> configFilters;
+    private ConfigSource[] configSources = new ConfigSource[0];
+    private List<ConfigFilter> configFilters = new CopyOnWriteArrayList<>();
 
     // volatile to a.) make the read/write behave atomic and b.) guarantee multi-thread safety
     private volatile long lastChanged = 0;
 
+    /**
+     * The most recent entry of the change log which is used to create consistent {@link ConfigSnapshot}s.
+     */
+    private final AtomicReference<ConfigChange> latestChange
+        = new AtomicReference<>(new ConfigChange(Collections.<String>emptySet()));
+
+    private final ResolutionCache resolutionCache = new ResolutionCache();
+    private volatile boolean resolutionCacheEnabled = false;
+
     public ConfigImpl(ClassLoader classLoader)
     {
         this.classLoader = classLoader;
@@ -87,6 +107,8 @@ public class ConfigImpl implements Config
         List<ConfigFilter> configFilters
             = ServiceUtils.loadServiceImplementations(ConfigFilter.class, false, classLoader);
         this.configFilters = new CopyOnWriteArrayList<>(configFilters);
+
+        onConfigChange();
     }
 
     /**
@@ -133,25 +155,81 @@ public class ConfigImpl implements Config
     public ConfigSnapshot snapshotFor(ConfigResolver.TypedResolver<?>... typedResolvers)
     {
         // we implement kind of optimistic Locking
-        // Means we try multiple time to resolve all the given values
-        // until the config didn't change inbetween.
-        for (int tries = 1; tries < 5; tries++)
+        // Means we resolve all the given values and check whether the config changed inbetween.
+        // If so, we only resolve those values again which are affected by the reported changes.
+        // If the Config still keeps changing we resolve all values against a frozen copy of the ConfigSources.
+        Object[] values = new Object[typedResolvers.length];
+        boolean[] affected = null;
+
+        ConfigChange startChange = latestChange.get();
+        for (int tries = 1; tries < MAX_SNAPSHOT_TRIES; tries++)
         {
-            Map<ConfigResolver.TypedResolver<?>, Object> configValues = new HashMap<>();
-            long startReadLastChanged = lastChanged;
-            for (ConfigResolver.TypedResolver<?> typedResolver : typedResolvers)
+            for (int i = 0; i < typedResolvers.length; i++)
             {
-                configValues.put(typedResolver, typedResolver.getValue());
+                if (affected == null || affected[i])
+                {
+                    values[i] = typedResolvers[i].getValue();
+                }
             }
 
-            if (startReadLastChanged == lastChanged)
+            ConfigChange endChange = latestChange.get();
+            if (startChange == endChange)
             {
-                return new ConfigSnapshotImpl(configValues);
+                return createSnapshot(typedResolvers, values);
             }
+
+            Set<String> changedKeys = startChange.getChangedKeysUntil(endChange);
+            affected = new boolean[typedResolvers.length];
+            for (int i = 0; i < typedResolvers.length; i++)
+            {
+                affected[i] = isAffected(typedResolvers[i], changedKeys);
+            }
+            startChange = endChange;
+        }
+
+        ConfigSource[] frozenConfigSources = freezeConfigSources();
+        for (int i = 0; i < typedResolvers.length; i++)
+        {
+            values[i] = typedResolvers[i] instanceof TypedResolverImpl
+                    ? ((TypedResolverImpl<?>) typedResolvers[i]).getValue(frozenConfigSources)
+                    : typedResolvers[i].getValue();
+        }
+        return createSnapshot(typedResolvers, values);
+    }
+
+    private ConfigSnapshot createSnapshot(ConfigResolver.TypedResolver<?>[] typedResolvers, Object[] values)
+    {
+        Map<ConfigResolver.TypedResolver<?>, Object> configValues = new HashMap<>(typedResolvers.length * 2);
+        for (int i = 0; i < typedResolvers.length; i++)
+        {
+            configValues.put(typedResolvers[i], values[i]);
+        }
+        return new ConfigSnapshotImpl(configValues);
+    }
+
+    /**
+     * Copies the current values of all scannable ConfigSources.
+     * Non-scannable ConfigSources cannot be copied and are used as they are.
+     */
+    private ConfigSource[] freezeConfigSources()
+    {
+        ConfigSource[] liveConfigSources = configSources;
+        ConfigSource[] frozenConfigSources = new ConfigSource[liveConfigSources.length];
+        for (int i = 0; i < liveConfigSources.length; i++)
+        {
+            ConfigSource configSource = liveConfigSources[i];
+            frozenConfigSources[i] = configSource.isScannable() ? new FrozenConfigSource(configSource) : configSource;
         }
+        return frozenConfigSources;
+    }
 
-        throw new IllegalStateException(
-                "Could not resolve ConfigTransaction as underlying values are permanently changing!");
+    private boolean isAffected(ConfigResolver.TypedResolver<?> typedResolver, Set<String> changedKeys)
+    {
+        if (changedKeys == null || !(typedResolver instanceof TypedResolverImpl))
+        {
+            return true;
+        }
+        return ((TypedResolverImpl<?>) typedResolver).isAffectedBy(changedKeys);
     }
 
     @Override
@@ -179,6 +257,8 @@ public class ConfigImpl implements Config
         }
 
         this.configSources = sortDescending(allConfigSources);
+
+        onConfigChange();
     }
 
     @Override
@@ -191,6 +271,8 @@ public class ConfigImpl implements Config
     public void addConfigFilter(ConfigFilter configFilter)
     {
         configFilters.add(configFilter);
+
+        onConfigChange();
     }
 
     @Override
@@ -240,7 +322,41 @@ public class ConfigImpl implements Config
     {
         // this is to force an incremented lastChanged even on time glitches and fast updates
         long newLastChanged = System.nanoTime();
-        lastChanged = lastChanged >= newLastChanged ? lastChanged++ : newLastChanged;
+        lastChanged = lastChanged >= newLastChanged ? lastChanged + 1 : newLastChanged;
+
+        resolutionCache.clear();
+
+        // an empty set means that we don't know which attributes changed
+        ConfigChange change = new ConfigChange(attributesChanged == null || attributesChanged.isEmpty()
+                ? null
+                : Collections.unmodifiableSet(new HashSet<>(attributesChanged)));
+        ConfigChange previousChange = latestChange.getAndSet(change);
+        previousChange.next = change;
+    }
+
+    /**
+     * Invoked whenever the set of ConfigSources or ConfigFilters changed.
+     * This invalidates all cached resolutions and re-evaluates whether the {@link ResolutionCache} is enabled.
+     */
+    private void onConfigChange()
+    {
+        onAttributeChange(Collections.<String>emptySet());
+
+        resolutionCacheEnabled = resolve(RESOLUTION_CACHE_ENABLED_KEY)
+                .as(Boolean.class)
+                .withCurrentProjectStage(false)
+                .withDefault(Boolean.FALSE)
+                .getValue();
+    }
+
+    boolean isResolutionCacheEnabled()
+    {
+        return resolutionCacheEnabled;
+    }
+
+    ResolutionCache getResolutionCache()
+    {
+        return resolutionCache;
     }
 
     /**
@@ -251,4 +367,99 @@ public class ConfigImpl implements Config
         return lastChanged;
     }
 
+    /**
+     * An entry of the change log.
+     * Each entry only links to its successor, thus entries which are not needed
+     * by any running {@link #snapshotFor(ConfigResolver.TypedResolver[])} can get garbage collected.
+     */
+    private static final class ConfigChange
+    {
+        /**
+         * the changed keys or {@code null} if unknown
+         */
+        private final Set<String> changedKeys;
+
+        private volatile ConfigChange next;
+
+        private ConfigChange(Set<String> changedKeys)
+        {
+            this.changedKeys = changedKeys;
+        }
+
+        /**
+         * @return all keys which changed after this entry up to and including the given entry,
+         *         or {@code null} if the changed keys are unknown.
+         */
+        private Set<String> getChangedKeysUntil(ConfigChange endChange)
+        {
+            Set<String> result = new HashSet<>();
+            ConfigChange change = next;
+            while (change != null)
+            {
+                if (change.changedKeys == null)
+                {
+                    return null;
+                }
+                result.addAll(change.changedKeys);
+
+                if (change == endChange)
+                {
+                    return result;
+                }
+                change = change.next;
+            }
+
+            // the successor is not linked yet
+            return null;
+        }
+    }
+
+    /**
+     * An immutable copy of the values a scannable ConfigSource had at a certain point in time.
+     */
+    private static final class FrozenConfigSource implements ConfigSource
+    {
+        private final int ordinal;
+        private final String configName;
+        private final Map<String, String> properties;
+
+        private FrozenConfigSource(ConfigSource configSource)
+        {
+            this.ordinal = configSource.getOrdinal();
+            this.configName = configSource.getConfigName();
+            Map<String, String> currentProperties = configSource.getProperties();
+            this.properties = currentProperties != null
+                    ? new HashMap<>(currentProperties) : Collections.<String, String>emptyMap();
+        }
+
+        @Override
+        public int getOrdinal()
+        {
+            return ordinal;
+        }
+
+        @Override
+        public Map<String, String> getProperties()
+        {
+            return Collections.unmodifiableMap(properties);
+        }
+
+        @Override
+        public String getPropertyValue(String key)
+        {
+            return properties.get(key);
+        }
+
+        @Override
+        public String getConfigName()
+        {
+            return configName;
+        }
+
+        @Override
+        public boolean isScannable()
+        {
+            return true;
+        }
+    }
 }
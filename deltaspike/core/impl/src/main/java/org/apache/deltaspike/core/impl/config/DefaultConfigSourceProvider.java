@@ -84,7 +84,7 @@ public class DefaultConfigSourceProvider implements ConfigSourceProvider
                 {
                     try
                     {
-                        ConfigSource dsHomeConfigSource = new PropertyFileConfigSource(dsHome.toURI().toURL());
+                        ConfigSource dsHomeConfigSource = PropertyFileConfigSource.create(dsHome.toURI().toURL());
                         configSources.add(dsHomeConfigSource);
                         LOG.log(Level.INFO, "Reading configuration from {}", dsHome.getAbsolutePath());
                     }
@@ -58,7 +58,7 @@ class EnvironmentPropertyConfigSourceProvider implements ConfigSourceProvider
                 LOG.log(Level.INFO,
                         "Custom config found by DeltaSpike. Name: ''{0}'', URL: ''{1}''",
                         new Object[] {propertyFileName, propertyFileUrl});
-                configSources.add(new PropertyFileConfigSource(propertyFileUrl));
+                configSources.add(PropertyFileConfigSource.create(propertyFileUrl));
             }
         }
         catch (IOException ioe)
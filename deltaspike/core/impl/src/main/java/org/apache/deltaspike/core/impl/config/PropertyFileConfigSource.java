@@ -20,6 +20,7 @@ package org.apache.deltaspike.core.impl.config;
 
 import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.Collections;
@@ -43,7 +44,7 @@ import org.apache.deltaspike.core.util.PropertyFileUtils;
  * This does not make sense for property files in JARs, but makes perfect sense
  * whenever a property file URL is directly on the file system.
  */
-public class PropertyFileConfigSource extends BaseConfigSource
+public class PropertyFileConfigSource extends BaseConfigSource implements AutoCloseable
 {
     /**
      * The name of a property which can be defined inside the property file
@@ -70,25 +71,55 @@ public class PropertyFileConfigSource extends BaseConfigSource
     public static final String RELOAD_PERIOD = "deltaspike_reload";
     public static final int RELOAD_PERIOD_DEFAULT = 300;
 
+    /**
+     * The name of a property which can be defined inside the property file
+     * to define how changes of the underlying file get detected.
+     *
+     * By default ({@link #RELOAD_MODE_POLL}) the lastModified attribute of the file gets checked
+     * on read access once the {@link #RELOAD_PERIOD} elapsed.
+     *
+     * With {@link #RELOAD_MODE_WATCH} the file gets observed via a {@link java.nio.file.WatchService}
+     * by a single background thread which is shared by all watched property files.
+     * Changed values get swapped in atomically, thus read access never touches the file system.
+     * <pre>
+     * deltaspike_reload_mode=watch
+     * </pre>
+     * If the file cannot be watched we fall back to polling.
+     * The file gets registered with the watcher by {@link #create(URL)} or on the first read access.
+     */
+    public static final String RELOAD_MODE = "deltaspike_reload_mode";
+    public static final String RELOAD_MODE_POLL = "poll";
+    public static final String RELOAD_MODE_WATCH = "watch";
+
     private final ConfigResolver.ConfigHelper configHelper;
 
     /**
      * currently loaded config properties.
      */
-    private Map<String, String> properties;
+    private volatile Map<String, String> properties;
 
     private final URL propertyFileUrl;
     private String filePath;
 
+    /**
+     * The file observed by the {@link PropertyFileWatcher} or {@code null} if not watched.
+     */
+    private Path watchedFile;
+
+    /**
+     * {@code true} if the watch mode is configured, but the file isn't registered with the watcher yet.
+     */
+    private volatile boolean watchPending;
+
     private int reloadAllSeconds = RELOAD_PERIOD_DEFAULT;
-    private Instant fileLastModified = null;
+    private volatile Instant fileLastModified = null;
 
     /**
      * Reload after that time in seconds.
      */
     private int reloadAfterSec;
 
-    private Consumer<Set<String>> reportAttributeChange;
+    private volatile Consumer<Set<String>> reportAttributeChange;
 
     public PropertyFileConfigSource(URL propertyFileUrl)
     {
@@ -107,9 +138,13 @@ public class PropertyFileConfigSource extends BaseConfigSource
             }
             else
             {
-                fileLastModified = getLastModified();
                 configHelper = ConfigResolver.getConfigProvider().getHelper();
+
+                // poll until the file is registered with the watcher,
+                // 'this' must not escape to the watcher thread before the construction is done
+                fileLastModified = getLastModified();
                 reloadAfterSec = getNowSeconds() + reloadAllSeconds;
+                watchPending = isWatchMode();
             }
         }
         else
@@ -120,6 +155,76 @@ public class PropertyFileConfigSource extends BaseConfigSource
         initOrdinal(100);
     }
 
+    /**
+     * Creates the ConfigSource and immediately starts watching the file if
+     * {@link #RELOAD_MODE_WATCH} is configured.
+     */
+    public static PropertyFileConfigSource create(URL propertyFileUrl)
+    {
+        PropertyFileConfigSource configSource = new PropertyFileConfigSource(propertyFileUrl);
+        configSource.startWatching();
+        return configSource;
+    }
+
+    private synchronized void startWatching()
+    {
+        if (!watchPending)
+        {
+            return;
+        }
+        watchPending = false;
+
+        Instant loadedLastModified = fileLastModified;
+        if (watch())
+        {
+            // no polling needed anymore
+            fileLastModified = null;
+
+            // pick up changes which happened before the file got registered
+            Instant currentLastModified = getLastModified();
+            if (currentLastModified != null && !currentLastModified.equals(loadedLastModified))
+            {
+                onFileChange();
+            }
+        }
+    }
+
+    private boolean isWatchMode()
+    {
+        final String reloadMode = properties.get(RELOAD_MODE);
+        if (reloadMode == null || RELOAD_MODE_POLL.equalsIgnoreCase(reloadMode.trim()))
+        {
+            return false;
+        }
+
+        if (RELOAD_MODE_WATCH.equalsIgnoreCase(reloadMode.trim()))
+        {
+            return true;
+        }
+
+        log.warning("Wrong value for " + RELOAD_MODE + " property: " + reloadMode +
+            ". Must be " + RELOAD_MODE_POLL + " or " + RELOAD_MODE_WATCH + ". Using " + RELOAD_MODE_POLL);
+        return false;
+    }
+
+    private boolean watch()
+    {
+        try
+        {
+            Path file = Paths.get(propertyFileUrl.toURI());
+            if (PropertyFileWatcher.watch(file, this))
+            {
+                watchedFile = file;
+                return true;
+            }
+        }
+        catch (Exception e)
+        {
+            log.log(Level.WARNING, "Cannot watch property file " + filePath + ". Falling back to polling.", e);
+        }
+        return false;
+    }
+
     private void calculateReloadTime()
     {
         final String reloadPeriod = properties.get(RELOAD_PERIOD);
@@ -161,6 +266,11 @@ public class PropertyFileConfigSource extends BaseConfigSource
     @Override
     public Map<String, String> getProperties()
     {
+        if (watchPending)
+        {
+            startWatching();
+        }
+
         if (needsReload())
         {
             reloadProperties();
@@ -172,6 +282,11 @@ public class PropertyFileConfigSource extends BaseConfigSource
     @Override
     public String getPropertyValue(String key)
     {
+        if (watchPending)
+        {
+            startWatching();
+        }
+
         if (needsReload())
         {
             reloadProperties();
@@ -182,10 +297,11 @@ public class PropertyFileConfigSource extends BaseConfigSource
 
     private boolean needsReload()
     {
-        if (fileLastModified != null && getNowSeconds() > reloadAfterSec)
+        final Instant lastModified = fileLastModified;
+        if (lastModified != null && getNowSeconds() > reloadAfterSec)
         {
             final Instant newLastModified = getLastModified();
-            if (newLastModified != null && newLastModified.isAfter(fileLastModified))
+            if (newLastModified != null && newLastModified.isAfter(lastModified))
             {
                 return true;
             }
@@ -199,15 +315,7 @@ public class PropertyFileConfigSource extends BaseConfigSource
         // another thread might have already updated the properties.
         if (needsReload())
         {
-            final Map<String, String> newProps = toMap(PropertyFileUtils.loadProperties(propertyFileUrl));
-
-            final Set<String> modfiedAttributes = configHelper.diffConfig(properties, newProps);
-            if (!modfiedAttributes.isEmpty())
-            {
-                reportAttributeChange.accept(modfiedAttributes);
-            }
-
-            this.properties = newProps;
+            applyProperties(toMap(PropertyFileUtils.loadProperties(propertyFileUrl)));
 
             fileLastModified = getLastModified();
 
@@ -216,6 +324,26 @@ public class PropertyFileConfigSource extends BaseConfigSource
         }
     }
 
+    /**
+     * Invoked by the {@link PropertyFileWatcher} once a change of the watched file got detected.
+     */
+    synchronized void onFileChange()
+    {
+        applyProperties(toMap(PropertyFileUtils.loadProperties(propertyFileUrl)));
+    }
+
+    private void applyProperties(Map<String, String> newProps)
+    {
+        final Set<String> modfiedAttributes = configHelper.diffConfig(properties, newProps);
+
+        this.properties = newProps;
+
+        if (!modfiedAttributes.isEmpty() && reportAttributeChange != null)
+        {
+            reportAttributeChange.accept(modfiedAttributes);
+        }
+    }
+
     private int getNowSeconds()
     {
         // this might overrun all 100 years or so.
@@ -263,4 +391,18 @@ public class PropertyFileConfigSource extends BaseConfigSource
     {
         return true;
     }
+
+    /**
+     * Stops watching the underlying property file.
+     */
+    @Override
+    public synchronized void close()
+    {
+        watchPending = false;
+        if (watchedFile != null)
+        {
+            PropertyFileWatcher.unwatch(watchedFile, this);
+            watchedFile = null;
+        }
+    }
 }
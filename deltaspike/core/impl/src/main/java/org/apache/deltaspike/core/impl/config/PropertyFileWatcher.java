@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the files of all {@link PropertyFileConfigSource}s which use the
+ * {@link PropertyFileConfigSource#RELOAD_MODE_WATCH} mode.
+ *
+ * A single background thread is shared by all those ConfigSources.
+ * It gets started with the first watched file and stops once the last file got unwatched.
+ */
+class PropertyFileWatcher implements Runnable
+{
+    private static final Logger LOG = Logger.getLogger(PropertyFileWatcher.class.getName());
+
+    /**
+     * A changed file only gets reloaded once there was no further event for it within this period.
+     * Otherwise e.g. an editor which truncates the file before writing it would publish an empty config.
+     */
+    static final long DEBOUNCE_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static PropertyFileWatcher instance;
+
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    private final Map<Path, List<PropertyFileConfigSource>> watchedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * The changed files and the time ({@link System#nanoTime()}) to reload them.
+     * Only accessed by the watcher thread.
+     */
+    private final Map<Path, Long> pendingChanges = new HashMap<>();
+
+    private PropertyFileWatcher(WatchService watchService)
+    {
+        this.watchService = watchService;
+    }
+
+    /**
+     * Starts watching the given file for changes.
+     *
+     * @return {@code false} if the file cannot be watched
+     */
+    static synchronized boolean watch(Path file, PropertyFileConfigSource configSource)
+    {
+        Path absoluteFile = file.toAbsolutePath();
+        Path directory = absoluteFile.getParent();
+        if (directory == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            if (instance == null)
+            {
+                instance = new PropertyFileWatcher(FileSystems.getDefault().newWatchService());
+
+                Thread watcherThread = new Thread(instance, "DeltaSpike PropertyFileWatcher");
+                watcherThread.setDaemon(true);
+                watcherThread.start();
+            }
+
+            if (!instance.watchedDirectories.containsKey(directory))
+            {
+                WatchKey watchKey = directory.register(instance.watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                instance.watchedDirectories.put(directory, watchKey);
+            }
+        }
+        catch (IOException e)
+        {
+            LOG.log(Level.WARNING, "Cannot watch property file " + absoluteFile, e);
+            stopIfUnused();
+            return false;
+        }
+
+        List<PropertyFileConfigSource> configSources = instance.watchedFiles.get(absoluteFile);
+        if (configSources == null)
+        {
+            configSources = new CopyOnWriteArrayList<>();
+            instance.watchedFiles.put(absoluteFile, configSources);
+        }
+        configSources.add(configSource);
+
+        return true;
+    }
+
+    /**
+     * Stops watching the given file for the given ConfigSource.
+     */
+    static synchronized void unwatch(Path file, PropertyFileConfigSource configSource)
+    {
+        if (instance == null)
+        {
+            return;
+        }
+
+        Path absoluteFile = file.toAbsolutePath();
+        List<PropertyFileConfigSource> configSources = instance.watchedFiles.get(absoluteFile);
+        if (configSources != null)
+        {
+            configSources.remove(configSource);
+            if (configSources.isEmpty())
+            {
+                instance.watchedFiles.remove(absoluteFile);
+            }
+        }
+
+        Path directory = absoluteFile.getParent();
+        if (directory != null && !instance.isDirectoryInUse(directory))
+        {
+            WatchKey watchKey = instance.watchedDirectories.remove(directory);
+            if (watchKey != null)
+            {
+                watchKey.cancel();
+            }
+        }
+
+        stopIfUnused();
+    }
+
+    private static void stopIfUnused()
+    {
+        if (instance != null && instance.watchedFiles.isEmpty())
+        {
+            try
+            {
+                instance.watchService.close();
+            }
+            catch (IOException e)
+            {
+                LOG.log(Level.FINE, "Exception while closing the WatchService", e);
+            }
+            instance = null;
+        }
+    }
+
+    private boolean isDirectoryInUse(Path directory)
+    {
+        for (Path watchedFile : watchedFiles.keySet())
+        {
+            if (directory.equals(watchedFile.getParent()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void run()
+    {
+        while (true)
+        {
+            WatchKey watchKey;
+            try
+            {
+                if (pendingChanges.isEmpty())
+                {
+                    watchKey = watchService.take();
+                }
+                else
+                {
+                    watchKey = watchService.poll(getNanosUntilNextChange(), TimeUnit.NANOSECONDS);
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (ClosedWatchServiceException e)
+            {
+                return;
+            }
+
+            if (watchKey != null)
+            {
+                Path directory = (Path) watchKey.watchable();
+                long notifyAt = System.nanoTime() + DEBOUNCE_NANOS;
+                for (WatchEvent<?> event : watchKey.pollEvents())
+                {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                    {
+                        // we lost events, thus we need to check all the files in this directory
+                        for (Path watchedFile : watchedFiles.keySet())
+                        {
+                            if (directory.equals(watchedFile.getParent()))
+                            {
+                                pendingChanges.put(watchedFile, notifyAt);
+                            }
+                        }
+                    }
+                    else
+                    {
+                        Path changedFile = directory.resolve((Path) event.context());
+                        if (watchedFiles.containsKey(changedFile))
+                        {
+                            // every further event postpones the reload
+                            pendingChanges.put(changedFile, notifyAt);
+                        }
+                    }
+                }
+
+                watchKey.reset();
+            }
+
+            notifyDueChanges();
+        }
+    }
+
+    private long getNanosUntilNextChange()
+    {
+        long next = Long.MAX_VALUE;
+        for (long notifyAt : pendingChanges.values())
+        {
+            next = Math.min(next, notifyAt);
+        }
+        return Math.max(0, next - System.nanoTime());
+    }
+
+    private void notifyDueChanges()
+    {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> pendingChangesIterator = pendingChanges.entrySet().iterator();
+        while (pendingChangesIterator.hasNext())
+        {
+            Map.Entry<Path, Long> pendingChange = pendingChangesIterator.next();
+            if (pendingChange.getValue() - now <= 0)
+            {
+                pendingChangesIterator.remove();
+
+                List<PropertyFileConfigSource> configSources = watchedFiles.get(pendingChange.getKey());
+                if (configSources != null)
+                {
+                    notifyChange(configSources);
+                }
+            }
+        }
+    }
+
+    private void notifyChange(List<PropertyFileConfigSource> configSources)
+    {
+        for (PropertyFileConfigSource configSource : configSources)
+        {
+            try
+            {
+                configSource.onFileChange();
+            }
+            catch (RuntimeException e)
+            {
+                LOG.log(Level.WARNING, "Cannot reload ConfigSource " + configSource.getConfigName(), e);
+            }
+        }
+    }
+}
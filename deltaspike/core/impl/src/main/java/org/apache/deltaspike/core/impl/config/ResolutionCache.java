@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.config;
+
+import org.apache.deltaspike.core.api.projectstage.ProjectStage;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Memoizes the outcome of the resolution cascade performed by {@link TypedResolverImpl}.
+ *
+ * Every entry remembers the 'lastChanged' generation of the {@link ConfigImpl} it got resolved in.
+ * An entry is only served as long as the Config did not report any change since then.
+ * Thus a change reported by any ConfigSource invalidates all the cached entries at once.
+ */
+class ResolutionCache
+{
+    private final ConcurrentMap<Key, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    /**
+     * @return the cached resolution or {@code null} if there is no resolution for the current generation
+     */
+    Resolution get(Key key, long generation)
+    {
+        Resolution resolution = resolutions.get(key);
+        if (resolution != null && resolution.generation == generation)
+        {
+            return resolution;
+        }
+        return null;
+    }
+
+    void put(Key key, long generation, String resolvedKey, String value)
+    {
+        resolutions.put(key, new Resolution(generation, resolvedKey, value));
+    }
+
+    void clear()
+    {
+        resolutions.clear();
+    }
+
+    /**
+     * All the parameters which influence the outcome of the resolution cascade.
+     */
+    static final class Key
+    {
+        private final String keyOriginal;
+        private final ProjectStage projectStage;
+        private final String propertyParameter;
+        private final String parameterValue;
+        private final boolean strictly;
+        private final boolean evaluateVariables;
+        private final int hashCode;
+
+        Key(String keyOriginal, ProjectStage projectStage, String propertyParameter, String parameterValue,
+            boolean strictly, boolean evaluateVariables)
+        {
+            this.keyOriginal = keyOriginal;
+            this.projectStage = projectStage;
+            this.propertyParameter = propertyParameter;
+            this.parameterValue = parameterValue;
+            this.strictly = strictly;
+            this.evaluateVariables = evaluateVariables;
+            this.hashCode = Objects.hash(keyOriginal, projectStage, propertyParameter, parameterValue,
+                    strictly, evaluateVariables);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+
+            Key other = (Key) o;
+            return strictly == other.strictly
+                    && evaluateVariables == other.evaluateVariables
+                    && keyOriginal.equals(other.keyOriginal)
+                    && projectStage == other.projectStage
+                    && Objects.equals(propertyParameter, other.propertyParameter)
+                    && Objects.equals(parameterValue, other.parameterValue);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
+    static final class Resolution
+    {
+        private final long generation;
+        private final String resolvedKey;
+        private final String value;
+
+        private Resolution(long generation, String resolvedKey, String value)
+        {
+            this.generation = generation;
+            this.resolvedKey = resolvedKey;
+            this.value = value;
+        }
+
+        String getResolvedKey()
+        {
+            return resolvedKey;
+        }
+
+        String getValue()
+        {
+            return value;
+        }
+    }
+}
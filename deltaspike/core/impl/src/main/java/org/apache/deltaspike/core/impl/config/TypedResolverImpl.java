@@ -30,6 +30,8 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -55,7 +57,8 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
 
     private String propertyParameter;
 
-    private String parameterValue;
+    // value and timestamp have to be published together, resolvers are often shared between threads
+    private volatile ResolvedParameter resolvedParameter;
 
     private boolean strictly = false;
 
@@ -169,15 +172,8 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
 
         if (propertyParameter != null && !propertyParameter.isEmpty())
         {
-            String parameterValue = ConfigResolver
-                    .resolve(propertyParameter)
-                    .withCurrentProjectStage(projectStageAware)
-                    .getValue();
-
-            if (parameterValue != null && !parameterValue.isEmpty())
-            {
-                this.parameterValue = parameterValue;
-            }
+            long lastCfgChange = config.getLastChanged();
+            resolvedParameter = new ResolvedParameter(resolveParameterValue(null), lastCfgChange);
         }
 
         return this;
@@ -221,15 +217,16 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     @Override
     public T getValue(ConfigSnapshot snapshot)
     {
-        ConfigSnapshotImpl snapshotImpl = (ConfigSnapshotImpl) snapshot;
+        Map<ConfigResolver.TypedResolver<?>, Object> configValues = ((ConfigSnapshotImpl) snapshot).getConfigValues();
 
-        if (!snapshotImpl.getConfigValues().containsKey(this))
+        Object value = configValues.get(this);
+        if (value == null && !configValues.containsKey(this))
         {
             throw new IllegalArgumentException("The TypedResolver for key " + getKey() +
                 " does not belong the given ConfigSnapshot!");
         }
 
-        return (T) snapshotImpl.getConfigValues().get(this);
+        return (T) value;
     }
 
     @Override
@@ -250,28 +247,8 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
             }
         }
 
-        String valueStr = resolveStringValue();
-        T value;
-        if (isList)
-        {
-            value = splitAndConvertListValue(valueStr);
-        }
-        else
-        {
-            value = convert(valueStr);
-        }
-
-        if (withDefault)
-        {
-            ConfigResolverContext configResolverContext = new ConfigResolverContext()
-                    .setEvaluateVariables(evaluateVariables)
-                    .setProjectStageAware(projectStageAware);
-            value = fallbackToDefaultIfEmpty(keyResolved, value, defaultValue, configResolverContext);
-            if (isList && String.class.isInstance(value))
-            {
-                value = splitAndConvertListValue(String.class.cast(value));
-            }
-        }
+        String valueStr = resolveStringValue(null);
+        T value = convertValue(valueStr, null);
 
         if ((logChanges || valueChangedCallback != null)
             && (value != null && !value.equals(lastValue) || (value == null && lastValue != null)))
@@ -299,6 +276,41 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
         return value;
     }
 
+    /**
+     * Resolves the value against the given ConfigSources instead of the live ones of the Config.
+     * Neither the {@link ResolutionCache} nor {@link #cacheFor(TimeUnit, long)} nor any change callback is involved.
+     */
+    T getValue(ConfigSource[] configSources)
+    {
+        return convertValue(resolveStringValue(configSources), configSources);
+    }
+
+    private T convertValue(String valueStr, ConfigSource[] configSources)
+    {
+        T value;
+        if (isList)
+        {
+            value = splitAndConvertListValue(valueStr);
+        }
+        else
+        {
+            value = convert(valueStr);
+        }
+
+        if (withDefault)
+        {
+            ConfigResolverContext configResolverContext = new ConfigResolverContext()
+                    .setEvaluateVariables(evaluateVariables)
+                    .setProjectStageAware(projectStageAware);
+            value = fallbackToDefaultIfEmpty(keyResolved, value, defaultValue, configResolverContext, configSources);
+            if (isList && String.class.isInstance(value))
+            {
+                value = splitAndConvertListValue(String.class.cast(value));
+            }
+        }
+        return value;
+    }
+
     private T splitAndConvertListValue(String valueStr)
     {
         if (valueStr == null)
@@ -364,10 +376,103 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
         return defaultValue;
     }
 
+    /**
+     * @return whether a change of the given keys might change the value of this resolver
+     */
+    boolean isAffectedBy(Set<String> changedKeys)
+    {
+        if (evaluateVariables)
+        {
+            // any other key might be referenced as variable
+            return true;
+        }
+
+        for (String changedKey : changedKeys)
+        {
+            // this covers the base key as well as all the parameter and ProjectStage specific keys
+            if (changedKey.startsWith(keyOriginal))
+            {
+                return true;
+            }
+
+            // a changed parameter value switches to another key
+            if (propertyParameter != null && !propertyParameter.isEmpty() && changedKey.startsWith(propertyParameter))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Performs the resolution cascade or serves its outcome from the {@link ResolutionCache}
+     * if the cache is enabled and the Config didn't change since.
+     *
+     * @param configSources the ConfigSources to resolve against or {@code null} for the live ones of the Config
+     */
+    private String resolveStringValue(ConfigSource[] configSources)
+    {
+        String parameterValue = getParameterValue(configSources);
+        if (configSources != null || !config.isResolutionCacheEnabled())
+        {
+            return resolveStringValueCascade(parameterValue, configSources);
+        }
+
+        long generation = config.getLastChanged();
+        ResolutionCache.Key cacheKey = new ResolutionCache.Key(keyOriginal,
+                projectStageAware ? getProjectStage() : null,
+                propertyParameter, parameterValue, strictly, evaluateVariables);
+
+        ResolutionCache.Resolution resolution = config.getResolutionCache().get(cacheKey, generation);
+        if (resolution != null)
+        {
+            keyResolved = resolution.getResolvedKey();
+            return resolution.getValue();
+        }
+
+        String value = resolveStringValueCascade(parameterValue, null);
+        config.getResolutionCache().put(cacheKey, generation, keyResolved, value);
+        return value;
+    }
+
+    /**
+     * @return the value of the {@link #parameterizedBy(String)} property, re-resolved if the Config changed since
+     */
+    private String getParameterValue(ConfigSource[] configSources)
+    {
+        if (propertyParameter == null || propertyParameter.isEmpty())
+        {
+            return null;
+        }
+
+        if (configSources != null)
+        {
+            return resolveParameterValue(configSources);
+        }
+
+        long lastCfgChange = config.getLastChanged();
+        ResolvedParameter parameter = resolvedParameter;
+        if (parameter == null || lastCfgChange != parameter.resolvedAt)
+        {
+            parameter = new ResolvedParameter(resolveParameterValue(null), lastCfgChange);
+            resolvedParameter = parameter;
+        }
+        return parameter.value;
+    }
+
+    private String resolveParameterValue(ConfigSource[] configSources)
+    {
+        TypedResolverImpl<String> parameterResolver = new TypedResolverImpl<String>(config, propertyParameter);
+        parameterResolver.projectStageAware = projectStageAware;
+
+        String value = configSources != null ? parameterResolver.getValue(configSources) : parameterResolver.getValue();
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
     /**
      * Performs the resolution cascade
      */
-    private String resolveStringValue()
+    private String resolveStringValueCascade(String parameterValue, ConfigSource[] configSources)
     {
         ProjectStage ps = null;
         String value = null;
@@ -399,7 +504,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
         }
 
         // make initial resolution of longest key
-        value = getPropertyValue(keyResolved);
+        value = getPropertyValue(keyResolved, configSources);
 
         // try fallbacks if not strictly
         if (value == null && !strictly)
@@ -413,7 +518,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
                 case 2:
                     // try base.param
                     keyResolved = keyOriginal + "." + parameterValue;
-                    value = getPropertyValue(keyResolved);
+                    value = getPropertyValue(keyResolved, configSources);
 
                     if (value != null)
                     {
@@ -423,7 +528,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
                     // try base.ps
                     ps = getProjectStage();
                     keyResolved = keyOriginal + "." + ps;
-                    value = getPropertyValue(keyResolved);
+                    value = getPropertyValue(keyResolved, configSources);
 
                     if (value != null)
                     {
@@ -433,7 +538,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
                 case 1:
                     // try base
                     keyResolved = keyOriginal;
-                    value = getPropertyValue(keyResolved);
+                    value = getPropertyValue(keyResolved, configSources);
                     return value;
 
                 default:
@@ -509,14 +614,15 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     }
 
     private <T> T fallbackToDefaultIfEmpty(String key, T value, T defaultValue,
-                                           ConfigResolverContext configResolverContext)
+                                           ConfigResolverContext configResolverContext,
+                                           ConfigSource[] configSources)
     {
         if (value == null || (value instanceof String && ((String)value).isEmpty()))
         {
             if (configResolverContext != null && defaultValue instanceof String
                     && configResolverContext.isEvaluateVariables())
             {
-                defaultValue = (T) resolveVariables((String) defaultValue);
+                defaultValue = (T) resolveVariables((String) defaultValue, configSources);
             }
 
             if (LOG.isLoggable(Level.FINE))
@@ -534,7 +640,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
     /**
      * recursively resolve any ${varName} in the value
      */
-    private String resolveVariables(String value)
+    private String resolveVariables(String value, ConfigSource[] configSources)
     {
         int startVar = 0;
         while ((startVar = value.indexOf("${", startVar)) >= 0)
@@ -552,10 +658,13 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
 
             try
             {
-                String variableValue = new TypedResolverImpl<String>(this.config, varName)
-                    .withCurrentProjectStage(this.projectStageAware)
-                    .evaluateVariables(true)
-                    .getValue();
+                TypedResolverImpl<String> variableResolver = new TypedResolverImpl<String>(this.config, varName);
+                variableResolver.projectStageAware = this.projectStageAware;
+                variableResolver.evaluateVariables = true;
+
+                String variableValue = configSources != null
+                    ? variableResolver.getValue(configSources)
+                    : variableResolver.getValue();
 
                 if (variableValue != null)
                 {
@@ -578,10 +687,10 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
         return ProjectStageProducer.getInstance().getProjectStage();
     }
 
-    private String getPropertyValue(String key)
+    private String getPropertyValue(String key, ConfigSource[] configSources)
     {
         String value;
-        for (ConfigSource configSource : config.getConfigSources())
+        for (ConfigSource configSource : configSources != null ? configSources : config.getConfigSources())
         {
             value = configSource.getPropertyValue(key);
 
@@ -596,7 +705,7 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
 
                 if (this.evaluateVariables)
                 {
-                    value = resolveVariables(value);
+                    value = resolveVariables(value, configSources);
                 }
 
                 return config.filterConfigValue(key, value, false);
@@ -612,5 +721,18 @@ public class TypedResolverImpl<T> implements ConfigResolver.UntypedResolver<T>
         return null;
     }
 
+    /**
+     * The value of the property parameter and the time of the Config change it got resolved for.
+     */
+    private static final class ResolvedParameter
+    {
+        private final String value;
+        private final long resolvedAt;
 
+        private ResolvedParameter(String value, long resolvedAt)
+        {
+            this.value = value;
+            this.resolvedAt = resolvedAt;
+        }
+    }
 }
@@ -19,12 +19,11 @@
 
 package org.apache.deltaspike.core.impl.exception.control;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.lang.annotation.Annotation;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -76,6 +75,10 @@ public class ExceptionHandlerBroadcaster
 
             final Set<HandlerMethod<?>> processedHandlers = new HashSet<HandlerMethod<?>>();
 
+            final Set<Annotation> qualifiers = exceptionEventEvent.getQualifiers();
+
+            final boolean fineLoggable = LOG.isLoggable(Level.FINE);
+
             final ExceptionStackEvent stack = new ExceptionStackEvent(exceptionEventEvent.getException());
 
             beanManager.fireEvent(stack); // Allow for modifying the exception stack
@@ -84,15 +87,20 @@ public class ExceptionHandlerBroadcaster
         inbound_cause:
             while (stack.getCurrent() != null)
             {
-                final List<HandlerMethod<?>> callbackExceptionEvent = new ArrayList<HandlerMethod<?>>(
-                        handlerMethodStorage.getHandlersForException(stack.getCurrent().getClass(),
-                                beanManager, exceptionEventEvent.getQualifiers(), true));
+                final Class<? extends Throwable> currentExceptionType = stack.getCurrent().getClass();
 
-                for (HandlerMethod<?> handler : callbackExceptionEvent)
+                final List<HandlerMethod<? extends Throwable>> beforeHandlers =
+                        handlerMethodStorage.getHandlersForException(currentExceptionType,
+                                beanManager, qualifiers, true);
+
+                for (HandlerMethod<?> handler : beforeHandlers)
                 {
                     if (!processedHandlers.contains(handler))
                     {
-                        LOG.fine(String.format("Notifying handler %s", handler));
+                        if (fineLoggable)
+                        {
+                            LOG.fine(String.format("Notifying handler %s", handler));
+                        }
 
                         @SuppressWarnings("rawtypes")
                         final DefaultExceptionEvent callbackEvent = new DefaultExceptionEvent(stack, true,
@@ -100,8 +108,11 @@ public class ExceptionHandlerBroadcaster
 
                         handler.notify(callbackEvent, beanManager);
 
-                        LOG.fine(String.format("Handler %s returned status %s", handler,
-                                callbackEvent.getCurrentExceptionHandlingFlow().name()));
+                        if (fineLoggable)
+                        {
+                            LOG.fine(String.format("Handler %s returned status %s", handler,
+                                    callbackEvent.getCurrentExceptionHandlingFlow().name()));
+                        }
 
                         if (!callbackEvent.isUnmute())
                         {
@@ -133,29 +144,31 @@ public class ExceptionHandlerBroadcaster
                     }
                 }
 
-                final Collection<HandlerMethod<? extends Throwable>> handlersForException =
-                        handlerMethodStorage.getHandlersForException(stack.getCurrent().getClass(),
-                                beanManager, exceptionEventEvent.getQualifiers(), false);
+                final List<HandlerMethod<? extends Throwable>> afterHandlers =
+                        handlerMethodStorage.getHandlersForException(currentExceptionType,
+                                beanManager, qualifiers, false);
 
-                final List<HandlerMethod<? extends Throwable>> handlerMethods =
-                        new ArrayList<HandlerMethod<? extends Throwable>>(handlersForException);
-
-                // Reverse these so category handlers are last
-                Collections.reverse(handlerMethods);
-
-                for (HandlerMethod<?> handler : handlerMethods)
+                // Iterate in reverse order so category handlers are last
+                for (int i = afterHandlers.size() - 1; i >= 0; i--)
                 {
+                    final HandlerMethod<?> handler = afterHandlers.get(i);
                     if (!processedHandlers.contains(handler))
                     {
-                        LOG.fine(String.format("Notifying handler %s", handler));
+                        if (fineLoggable)
+                        {
+                            LOG.fine(String.format("Notifying handler %s", handler));
+                        }
 
                         @SuppressWarnings("rawtypes")
                         final DefaultExceptionEvent depthFirstEvent = new DefaultExceptionEvent(stack, false,
                                 exceptionEventEvent.isHandled());
                         handler.notify(depthFirstEvent, beanManager);
 
-                        LOG.fine(String.format("Handler %s returned status %s", handler,
-                                depthFirstEvent.getCurrentExceptionHandlingFlow().name()));
+                        if (fineLoggable)
+                        {
+                            LOG.fine(String.format("Handler %s returned status %s", handler,
+                                    depthFirstEvent.getCurrentExceptionHandlingFlow().name()));
+                        }
 
                         if (!depthFirstEvent.isUnmute())
                         {
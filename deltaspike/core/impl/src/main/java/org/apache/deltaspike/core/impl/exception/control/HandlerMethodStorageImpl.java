@@ -27,23 +27,39 @@ import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.spi.BeanManager;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
  * Basic implementation for {@link HandlerMethodStorage}.
+ *
+ * The sorted handlers get resolved once per exception type and qualifiers and are cached afterwards.
+ * Registering a new {@link HandlerMethod} invalidates the cache.
  */
 @SuppressWarnings("CdiManagedBeanInconsistencyInspection")
 @Typed()
 class HandlerMethodStorageImpl implements HandlerMethodStorage
 {
+    private static final AnyLiteral ANY_LITERAL = new AnyLiteral();
+
     private final Map<Type, Collection<HandlerMethod<? extends Throwable>>> allHandlers;
 
+    /**
+     * key = handler qualifiers of the exception event
+     * value = resolved before and after handlers per exception type
+     */
+    private final ConcurrentMap<Set<Annotation>, ConcurrentMap<Type, ResolvedHandlers>> resolvedHandlers =
+            new ConcurrentHashMap<Set<Annotation>, ConcurrentMap<Type, ResolvedHandlers>>();
+
     private Logger log = Logger.getLogger(HandlerMethodStorageImpl.class.getName());
 
     HandlerMethodStorageImpl(Map<Type, Collection<HandlerMethod<? extends Throwable>>> allHandlers)
@@ -64,13 +80,47 @@ class HandlerMethodStorageImpl implements HandlerMethodStorage
             allHandlers.put(handlerMethod.getExceptionType(),
                     new HashSet<HandlerMethod<? extends Throwable>>(Collections.singleton(handlerMethod)));
         }
+        resolvedHandlers.clear();
     }
 
     @Override
-    public Collection<HandlerMethod<? extends Throwable>> getHandlersForException(Type exceptionClass,
-                                                                                  BeanManager bm,
-                                                                                  Set<Annotation> handlerQualifiers,
-                                                                                  boolean isBefore)
+    public List<HandlerMethod<? extends Throwable>> getHandlersForException(Type exceptionClass,
+                                                                            BeanManager bm,
+                                                                            Set<Annotation> handlerQualifiers,
+                                                                            boolean isBefore)
+    {
+        if (handlerQualifiers == null)
+        {
+            handlerQualifiers = Collections.emptySet();
+        }
+
+        ConcurrentMap<Type, ResolvedHandlers> handlersPerType = resolvedHandlers.get(handlerQualifiers);
+        if (handlersPerType == null)
+        {
+            handlersPerType = new ConcurrentHashMap<Type, ResolvedHandlers>();
+            ConcurrentMap<Type, ResolvedHandlers> existing = resolvedHandlers.putIfAbsent(
+                    Collections.unmodifiableSet(new HashSet<Annotation>(handlerQualifiers)), handlersPerType);
+            if (existing != null)
+            {
+                handlersPerType = existing;
+            }
+        }
+
+        ResolvedHandlers handlers = handlersPerType.get(exceptionClass);
+        if (handlers == null)
+        {
+            handlers = new ResolvedHandlers(
+                    resolveHandlers(exceptionClass, handlerQualifiers, true),
+                    resolveHandlers(exceptionClass, handlerQualifiers, false));
+            handlersPerType.putIfAbsent(exceptionClass, handlers);
+        }
+
+        return isBefore ? handlers.beforeHandlers : handlers.afterHandlers;
+    }
+
+    private List<HandlerMethod<? extends Throwable>> resolveHandlers(Type exceptionClass,
+                                                                     Set<Annotation> handlerQualifiers,
+                                                                     boolean isBefore)
     {
         final Collection<HandlerMethod<? extends Throwable>> returningHandlers =
                 new TreeSet<HandlerMethod<? extends Throwable>>(new ExceptionHandlerComparator());
@@ -79,37 +129,23 @@ class HandlerMethodStorageImpl implements HandlerMethodStorage
 
         for (Type hierarchyType : closure)
         {
-            if (allHandlers.get(hierarchyType) != null)
+            Collection<HandlerMethod<? extends Throwable>> handlersForType = allHandlers.get(hierarchyType);
+            if (handlersForType != null)
             {
-                for (HandlerMethod<?> handler : allHandlers.get(hierarchyType))
+                for (HandlerMethod<? extends Throwable> handler : handlersForType)
                 {
-                    if (handler.isBeforeHandler() && isBefore)
+                    if (handler.isBeforeHandler() != isBefore)
+                    {
+                        continue;
+                    }
+
+                    if (handler.getQualifiers().contains(ANY_LITERAL))
                     {
-                        if (handler.getQualifiers().contains(new AnyLiteral()))
-                        {
-                            returningHandlers.add(handler);
-                        }
-                        else
-                        {
-                            if (!handlerQualifiers.isEmpty() && handlerQualifiers.equals(handler.getQualifiers()))
-                            {
-                                returningHandlers.add(handler);
-                            }
-                        }
+                        returningHandlers.add(handler);
                     }
-                    else if (!handler.isBeforeHandler() && !isBefore)
+                    else if (!handlerQualifiers.isEmpty() && handlerQualifiers.equals(handler.getQualifiers()))
                     {
-                        if (handler.getQualifiers().contains(new AnyLiteral()))
-                        {
-                            returningHandlers.add(handler);
-                        }
-                        else
-                        {
-                            if (!handlerQualifiers.isEmpty() && handlerQualifiers.equals(handler.getQualifiers()))
-                            {
-                                returningHandlers.add(handler);
-                            }
-                        }
+                        returningHandlers.add(handler);
                     }
                 }
             }
@@ -117,6 +153,19 @@ class HandlerMethodStorageImpl implements HandlerMethodStorage
 
         log.fine(String.format("Found handlers %s for exception type %s, qualifiers %s", returningHandlers,
                 exceptionClass, handlerQualifiers));
-        return Collections.unmodifiableCollection(returningHandlers);
+        return Collections.unmodifiableList(new ArrayList<HandlerMethod<? extends Throwable>>(returningHandlers));
+    }
+
+    private static final class ResolvedHandlers
+    {
+        private final List<HandlerMethod<? extends Throwable>> beforeHandlers;
+        private final List<HandlerMethod<? extends Throwable>> afterHandlers;
+
+        private ResolvedHandlers(List<HandlerMethod<? extends Throwable>> beforeHandlers,
+                                 List<HandlerMethod<? extends Throwable>> afterHandlers)
+        {
+            this.beforeHandlers = beforeHandlers;
+            this.afterHandlers = afterHandlers;
+        }
     }
 }
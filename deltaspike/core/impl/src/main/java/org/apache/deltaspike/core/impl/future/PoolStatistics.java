@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.future;
+
+/**
+ * Snapshot of the metrics of a pool used for {@link org.apache.deltaspike.core.api.future.Futureable}.
+ * Metrics which are not available for the type of the pool are -1.
+ */
+public class PoolStatistics
+{
+    private final String name;
+    private final String type;
+    private final long queueDepth;
+    private final int activeThreads;
+    private final int poolSize;
+    private final long rejections;
+
+    PoolStatistics(String name, String type, long queueDepth, int activeThreads, int poolSize, long rejections)
+    {
+        this.name = name;
+        this.type = type;
+        this.queueDepth = queueDepth;
+        this.activeThreads = activeThreads;
+        this.poolSize = poolSize;
+        this.rejections = rejections;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return one of the TYPE_* constants of {@link ThreadPoolManager}
+     */
+    public String getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return the number of tasks which wait for a thread
+     */
+    public long getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+    public int getActiveThreads()
+    {
+        return activeThreads;
+    }
+
+    public int getPoolSize()
+    {
+        return poolSize;
+    }
+
+    /**
+     * @return the number of tasks which got passed to the RejectedExecutionHandler
+     */
+    public long getRejections()
+    {
+        return rejections;
+    }
+}
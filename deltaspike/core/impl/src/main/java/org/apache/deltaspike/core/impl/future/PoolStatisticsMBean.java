@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.future;
+
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.api.jmx.Table;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Exports the {@link PoolStatistics} of all the pools managed by the {@link ThreadPoolManager} via JMX.
+ */
+@ApplicationScoped
+@MBean(name = "FutureablePools", description = "Statistics of the pools used for @Futureable")
+public class PoolStatisticsMBean
+{
+    @Inject
+    private ThreadPoolManager threadPoolManager;
+
+    @JmxManaged(description = "type, queue depth, active threads, pool size and rejections per pool")
+    private Table statistics;
+
+    public Table getStatistics()
+    {
+        Table table = new Table().withColumns("pool", "type", "queueDepth", "activeThreads", "poolSize", "rejections");
+        for (String name : threadPoolManager.getPoolNames())
+        {
+            PoolStatistics poolStatistics = threadPoolManager.getStatistics(name);
+            if (poolStatistics == null)
+            {
+                continue;
+            }
+
+            table.withLine(
+                name,
+                poolStatistics.getType(),
+                Long.toString(poolStatistics.getQueueDepth()),
+                Integer.toString(poolStatistics.getActiveThreads()),
+                Integer.toString(poolStatistics.getPoolSize()),
+                Long.toString(poolStatistics.getRejections()));
+        }
+        return table;
+    }
+}
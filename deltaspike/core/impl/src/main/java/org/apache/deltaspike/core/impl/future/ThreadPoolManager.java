@@ -29,29 +29,49 @@ import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
-import java.util.ArrayList;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
 
 import static java.util.Arrays.asList;
 
 @ApplicationScoped
 public class ThreadPoolManager
 {
+    public static final String TYPE_THREAD_POOL = "THREAD_POOL";
+    public static final String TYPE_FORK_JOIN = "FORK_JOIN";
+    public static final String TYPE_VIRTUAL = "VIRTUAL";
+
+    /**
+     * Used for pools which got provided as CDI bean or via JNDI.
+     */
+    public static final String TYPE_EXTERNAL = "EXTERNAL";
+
+    private static final Logger LOG = Logger.getLogger(ThreadPoolManager.class.getName());
+
     private final ConcurrentMap<String, ExecutorService> pools = new ConcurrentHashMap<String, ExecutorService>();
-    private final Collection<CreationalContext<?>> contexts = new ArrayList<CreationalContext<?>>(8);
+    private final ConcurrentMap<String, String> poolTypes = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, LongAdder> rejections = new ConcurrentHashMap<String, LongAdder>();
+    private final ConcurrentMap<String, Object> poolLocks = new ConcurrentHashMap<String, Object>();
+    private final Collection<CreationalContext<?>> contexts = new CopyOnWriteArrayList<CreationalContext<?>>();
     private volatile boolean closed = false;
 
     @Inject
@@ -78,6 +98,7 @@ public class ThreadPoolManager
             }
         }
         pools.clear();
+        poolTypes.clear();
 
         for (final CreationalContext<?> ctx : contexts)
         {
@@ -95,7 +116,8 @@ public class ThreadPoolManager
         ExecutorService pool = pools.get(name);
         if (pool == null)
         {
-            synchronized (this)
+            // only lookups for the same name have to wait for each other
+            synchronized (getPoolLock(name))
             {
                 pool = pools.get(name);
                 if (pool == null)
@@ -147,86 +169,11 @@ public class ThreadPoolManager
 
                     if (pool == null) // 3.
                     {
-                        final String configPrefix = "futureable.pool." + name + ".";
-                        final int coreSize = ConfigResolver.resolve(configPrefix + "coreSize")
-                                .as(Integer.class)
-                                .withDefault(Math.max(2, Runtime.getRuntime().availableProcessors()))
-                                .getValue();
-                        final int maxSize = ConfigResolver.resolve(configPrefix + "maxSize")
-                                .as(Integer.class)
-                                .withDefault(coreSize)
-                                .getValue();
-                        final long keepAlive = ConfigResolver.resolve(configPrefix + "keepAlive.value")
-                                .as(Long.class)
-                                .withDefault(0L)
-                                .getValue();
-                        final String keepAliveUnit = ConfigResolver.resolve(configPrefix + "keepAlive.unit")
-                                .as(String.class)
-                                .withDefault("MILLISECONDS")
-                                .getValue();
-
-                        final String queueType = ConfigResolver.resolve(configPrefix + "queue.type")
-                                .as(String.class)
-                                .withDefault("LINKED")
-                                .getValue();
-                        final BlockingQueue<Runnable> queue;
-                        if ("ARRAY".equalsIgnoreCase(queueType))
-                        {
-                            final int size = ConfigResolver.resolve(configPrefix + "queue.size")
-                                    .as(Integer.class)
-                                    .withDefault(1024)
-                                    .getValue();
-                            final boolean fair = ConfigResolver.resolve(configPrefix + "queue.fair")
-                                    .as(Boolean.class)
-                                    .withDefault(false)
-                                    .getValue();
-                            queue = new ArrayBlockingQueue<Runnable>(size, fair);
-                        }
-                        else if ("SYNCHRONOUS".equalsIgnoreCase(queueType))
-                        {
-                            final boolean fair = ConfigResolver.resolve(configPrefix + "queue.fair")
-                                    .as(Boolean.class)
-                                    .withDefault(false)
-                                    .getValue();
-                            queue = new SynchronousQueue<Runnable>(fair);
-                        }
-                        else
-                        {
-                            final int capacity = ConfigResolver.resolve(configPrefix + "queue.capacity")
-                                    .as(Integer.class)
-                                    .withDefault(Integer.MAX_VALUE)
-                                    .getValue();
-                            queue = new LinkedBlockingQueue<Runnable>(capacity);
-                        }
-
-                        final String threadFactoryName = ConfigResolver.getPropertyValue(
-                                configPrefix + "threadFactory.name");
-                        final ThreadFactory threadFactory;
-                        if (threadFactoryName != null)
-                        {
-                            threadFactory = lookupByName(threadFactoryName, ThreadFactory.class);
-                        }
-                        else
-                        {
-                            threadFactory = Executors.defaultThreadFactory();
-                        }
-
-                        final String rejectedHandlerName = ConfigResolver.getPropertyValue(
-                                configPrefix + "rejectedExecutionHandler.name");
-                        final RejectedExecutionHandler rejectedHandler;
-                        if (rejectedHandlerName != null)
-                        {
-                            rejectedHandler = lookupByName(rejectedHandlerName, RejectedExecutionHandler.class);
-                        }
-                        else
-                        {
-                            rejectedHandler = new ThreadPoolExecutor.AbortPolicy();
-                        }
-
-                        pool = new ThreadPoolExecutor(
-                                coreSize, maxSize,
-                                keepAlive, TimeUnit.valueOf(keepAliveUnit),
-                                queue, threadFactory, rejectedHandler);
+                        pool = createConfiguredPool(name);
+                    }
+                    else
+                    {
+                        poolTypes.put(name, TYPE_EXTERNAL);
                     }
 
                     pools.put(name, pool);
@@ -236,6 +183,240 @@ public class ThreadPoolManager
         return pool;
     }
 
+    /**
+     * @return the names of all the pools which got looked up so far
+     */
+    public Set<String> getPoolNames()
+    {
+        return Collections.unmodifiableSet(pools.keySet());
+    }
+
+    /**
+     * @return the current statistics of the given pool or {@code null} if the pool didn't get looked up so far
+     */
+    public PoolStatistics getStatistics(final String name)
+    {
+        final ExecutorService pool = pools.get(name);
+        if (pool == null)
+        {
+            return null;
+        }
+
+        final LongAdder rejectionCounter = rejections.get(name);
+        final long rejectionCount = rejectionCounter == null ? 0 : rejectionCounter.sum();
+        final String type = poolTypes.get(name);
+
+        if (pool instanceof ThreadPoolExecutor)
+        {
+            final ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) pool;
+            return new PoolStatistics(name, type, threadPoolExecutor.getQueue().size(),
+                    threadPoolExecutor.getActiveCount(), threadPoolExecutor.getPoolSize(), rejectionCount);
+        }
+        if (pool instanceof ForkJoinPool)
+        {
+            final ForkJoinPool forkJoinPool = (ForkJoinPool) pool;
+            return new PoolStatistics(name, type,
+                    forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount(),
+                    forkJoinPool.getActiveThreadCount(), forkJoinPool.getPoolSize(), rejectionCount);
+        }
+        return new PoolStatistics(name, type, -1, -1, -1, rejectionCount);
+    }
+
+    private Object getPoolLock(final String name)
+    {
+        Object lock = poolLocks.get(name);
+        if (lock == null)
+        {
+            lock = new Object();
+            final Object existingLock = poolLocks.putIfAbsent(name, lock);
+            if (existingLock != null)
+            {
+                lock = existingLock;
+            }
+        }
+        return lock;
+    }
+
+    private ExecutorService createConfiguredPool(final String name)
+    {
+        final String configPrefix = "futureable.pool." + name + ".";
+        final String type = ConfigResolver.resolve(configPrefix + "type")
+                .as(String.class)
+                .withDefault(TYPE_THREAD_POOL)
+                .getValue();
+
+        if (TYPE_VIRTUAL.equalsIgnoreCase(type))
+        {
+            final ExecutorService pool = createVirtualThreadPool(name);
+            if (pool != null)
+            {
+                poolTypes.put(name, TYPE_VIRTUAL);
+                return pool;
+            }
+        }
+        else if (TYPE_FORK_JOIN.equalsIgnoreCase(type))
+        {
+            final int parallelism = ConfigResolver.resolve(configPrefix + "parallelism")
+                    .as(Integer.class)
+                    .withDefault(Runtime.getRuntime().availableProcessors())
+                    .getValue();
+            final boolean asyncMode = ConfigResolver.resolve(configPrefix + "asyncMode")
+                    .as(Boolean.class)
+                    .withDefault(true)
+                    .getValue();
+
+            poolTypes.put(name, TYPE_FORK_JOIN);
+            return new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, asyncMode);
+        }
+        else if (!TYPE_THREAD_POOL.equalsIgnoreCase(type))
+        {
+            throw new IllegalArgumentException("Unknown type '" + type + "' for the pool '" + name + "'");
+        }
+
+        poolTypes.put(name, TYPE_THREAD_POOL);
+        return createThreadPool(name, configPrefix);
+    }
+
+    private ExecutorService createThreadPool(final String name, final String configPrefix)
+    {
+        final int coreSize = ConfigResolver.resolve(configPrefix + "coreSize")
+                .as(Integer.class)
+                .withDefault(Math.max(2, Runtime.getRuntime().availableProcessors()))
+                .getValue();
+        final int maxSize = ConfigResolver.resolve(configPrefix + "maxSize")
+                .as(Integer.class)
+                .withDefault(coreSize)
+                .getValue();
+        final long keepAlive = ConfigResolver.resolve(configPrefix + "keepAlive.value")
+                .as(Long.class)
+                .withDefault(0L)
+                .getValue();
+        final String keepAliveUnit = ConfigResolver.resolve(configPrefix + "keepAlive.unit")
+                .as(String.class)
+                .withDefault("MILLISECONDS")
+                .getValue();
+
+        final String queueType = ConfigResolver.resolve(configPrefix + "queue.type")
+                .as(String.class)
+                .withDefault("LINKED")
+                .getValue();
+        final BlockingQueue<Runnable> queue;
+        if ("ARRAY".equalsIgnoreCase(queueType))
+        {
+            final int size = ConfigResolver.resolve(configPrefix + "queue.size")
+                    .as(Integer.class)
+                    .withDefault(1024)
+                    .getValue();
+            final boolean fair = ConfigResolver.resolve(configPrefix + "queue.fair")
+                    .as(Boolean.class)
+                    .withDefault(false)
+                    .getValue();
+            queue = new ArrayBlockingQueue<Runnable>(size, fair);
+        }
+        else if ("SYNCHRONOUS".equalsIgnoreCase(queueType))
+        {
+            final boolean fair = ConfigResolver.resolve(configPrefix + "queue.fair")
+                    .as(Boolean.class)
+                    .withDefault(false)
+                    .getValue();
+            queue = new SynchronousQueue<Runnable>(fair);
+        }
+        else
+        {
+            final int capacity = ConfigResolver.resolve(configPrefix + "queue.capacity")
+                    .as(Integer.class)
+                    .withDefault(Integer.MAX_VALUE)
+                    .getValue();
+            queue = new LinkedBlockingQueue<Runnable>(capacity);
+        }
+
+        final String threadFactoryName = ConfigResolver.getPropertyValue(
+                configPrefix + "threadFactory.name");
+        final ThreadFactory threadFactory;
+        if (threadFactoryName != null)
+        {
+            threadFactory = lookupByName(threadFactoryName, ThreadFactory.class);
+        }
+        else
+        {
+            threadFactory = Executors.defaultThreadFactory();
+        }
+
+        final String rejectedHandlerName = ConfigResolver.getPropertyValue(
+                configPrefix + "rejectedExecutionHandler.name");
+        final RejectedExecutionHandler rejectedHandler;
+        if (rejectedHandlerName != null)
+        {
+            rejectedHandler = lookupByName(rejectedHandlerName, RejectedExecutionHandler.class);
+        }
+        else
+        {
+            final String rejectionPolicy = ConfigResolver.resolve(configPrefix + "rejectionPolicy")
+                    .as(String.class)
+                    .withDefault("ABORT")
+                    .getValue();
+            rejectedHandler = createRejectedExecutionHandler(name, rejectionPolicy);
+        }
+
+        final LongAdder rejectionCounter = new LongAdder();
+        rejections.put(name, rejectionCounter);
+
+        return new ThreadPoolExecutor(
+                coreSize, maxSize,
+                keepAlive, TimeUnit.valueOf(keepAliveUnit),
+                queue, threadFactory, new CountingRejectedExecutionHandler(rejectedHandler, rejectionCounter));
+    }
+
+    private RejectedExecutionHandler createRejectedExecutionHandler(final String name, final String rejectionPolicy)
+    {
+        if ("CALLER_RUNS".equalsIgnoreCase(rejectionPolicy))
+        {
+            return new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+        if ("DISCARD".equalsIgnoreCase(rejectionPolicy))
+        {
+            return new ThreadPoolExecutor.DiscardPolicy();
+        }
+        if ("DISCARD_OLDEST".equalsIgnoreCase(rejectionPolicy))
+        {
+            return new ThreadPoolExecutor.DiscardOldestPolicy();
+        }
+        if ("ABORT".equalsIgnoreCase(rejectionPolicy))
+        {
+            return new ThreadPoolExecutor.AbortPolicy();
+        }
+        throw new IllegalArgumentException(
+                "Unknown rejectionPolicy '" + rejectionPolicy + "' for the pool '" + name + "'");
+    }
+
+    /**
+     * Virtual threads are only available with Java 21+, thus the factory method gets looked up dynamically.
+     *
+     * @return the new executor or {@code null} if the JVM doesn't support virtual threads
+     */
+    private ExecutorService createVirtualThreadPool(final String name)
+    {
+        try
+        {
+            final Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return ExecutorService.class.cast(factoryMethod.invoke(null));
+        }
+        catch (final NoSuchMethodException e)
+        {
+            LOG.warning("Virtual threads are not supported by this JVM, the pool '" + name +
+                    "' falls back to " + TYPE_THREAD_POOL);
+            return null;
+        }
+        catch (final IllegalAccessException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        catch (final InvocationTargetException e)
+        {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     private <T> T lookupByName(final String name, final Class<T> type)
     {
         final Set<Bean<?>> tfb = beanManager.getBeans(name);
@@ -247,5 +428,24 @@ public class ThreadPoolManager
         }
         return type.cast(beanManager.getReference(bean, type, ctx));
     }
-}
 
+    private static final class CountingRejectedExecutionHandler implements RejectedExecutionHandler
+    {
+        private final RejectedExecutionHandler delegate;
+        private final LongAdder rejectionCounter;
+
+        private CountingRejectedExecutionHandler(final RejectedExecutionHandler delegate,
+                                                 final LongAdder rejectionCounter)
+        {
+            this.delegate = delegate;
+            this.rejectionCounter = rejectionCounter;
+        }
+
+        @Override
+        public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor)
+        {
+            rejectionCounter.increment();
+            delegate.rejectedExecution(runnable, executor);
+        }
+    }
+}
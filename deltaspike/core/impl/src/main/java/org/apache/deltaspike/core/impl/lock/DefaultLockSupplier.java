@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.lock;
+
+import org.apache.deltaspike.core.api.lock.Locked;
+import org.apache.deltaspike.core.api.lock.StampedReadWriteLock;
+import org.apache.deltaspike.core.api.lock.StripedReadWriteLock;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import static org.apache.deltaspike.core.api.lock.Locked.Operation.WRITE;
+
+/**
+ * Acquires the lock of a single {@link Locked} method.
+ * Everything which can be evaluated upfront gets resolved once when the supplier gets created.
+ */
+class DefaultLockSupplier implements LockSupplier
+{
+    private final Method method;
+    private final long timeout;
+    private final LockStatistics statistics;
+
+    // the lock for non-striped locks
+    private final Lock lock;
+
+    // only set for striped locks
+    private final StripedReadWriteLock stripedLock;
+    private final int keyParameterIndex;
+    private final boolean write;
+
+    // only set for optimistic reads
+    private final StampedLock optimisticLock;
+
+    DefaultLockSupplier(Method method, ReadWriteLock readWriteLock, Locked.Operation operation,
+                        long timeout, int keyParameterIndex, LockStatistics statistics)
+    {
+        this.method = method;
+        this.timeout = timeout;
+        this.statistics = statistics;
+        this.write = operation == WRITE;
+        this.lock = write ? readWriteLock.writeLock() : readWriteLock.readLock();
+
+        if (readWriteLock instanceof StripedReadWriteLock)
+        {
+            this.stripedLock = (StripedReadWriteLock) readWriteLock;
+            this.keyParameterIndex = keyParameterIndex;
+        }
+        else
+        {
+            this.stripedLock = null;
+            this.keyParameterIndex = -1;
+        }
+
+        if (operation == Locked.Operation.OPTIMISTIC_READ && readWriteLock instanceof StampedReadWriteLock)
+        {
+            this.optimisticLock = ((StampedReadWriteLock) readWriteLock).getStampedLock();
+        }
+        else
+        {
+            this.optimisticLock = null;
+        }
+    }
+
+    @Override
+    public Lock get(InvocationContext ic)
+    {
+        final Lock currentLock = stripedLock == null ? lock : selectStripe(ic);
+        final long start = statistics == null ? 0L : System.nanoTime();
+
+        if (timeout > 0)
+        {
+            try
+            {
+                if (!currentLock.tryLock(timeout, TimeUnit.MILLISECONDS))
+                {
+                    throw new IllegalStateException("Can't lock for " + method + " in " + timeout + "ms");
+                }
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.interrupted();
+                throw new IllegalStateException("Locking interrupted", e);
+            }
+        }
+        else
+        {
+            currentLock.lock();
+        }
+
+        if (statistics != null)
+        {
+            statistics.recordWait(System.nanoTime() - start);
+        }
+        return currentLock;
+    }
+
+    private Lock selectStripe(InvocationContext ic)
+    {
+        final Object key = keyParameterIndex < 0 ? null : ic.getParameters()[keyParameterIndex];
+        final ReadWriteLock stripe = stripedLock.getStripe(key);
+        return write ? stripe.writeLock() : stripe.readLock();
+    }
+
+    @Override
+    public StampedLock getOptimisticLock()
+    {
+        return optimisticLock;
+    }
+
+    @Override
+    public LockStatistics getStatistics()
+    {
+        return statistics;
+    }
+}
@@ -24,6 +24,7 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
 
 @Dependent
 public class DefaultLockedStrategy implements LockedStrategy
@@ -34,7 +35,42 @@ public class DefaultLockedStrategy implements LockedStrategy
     @Override
     public Object execute(InvocationContext ic) throws Exception
     {
-        final Lock lock = lockSupplierStorage.getLockSupplier(ic).get();
+        final LockSupplier lockSupplier = lockSupplierStorage.getLockSupplier(ic);
+        final LockStatistics statistics = lockSupplier.getStatistics();
+
+        final StampedLock optimisticLock = lockSupplier.getOptimisticLock();
+        if (optimisticLock != null)
+        {
+            final long stamp = optimisticLock.tryOptimisticRead();
+            if (stamp != 0L)
+            {
+                try
+                {
+                    final Object result = ic.proceed();
+                    if (optimisticLock.validate(stamp))
+                    {
+                        return result;
+                    }
+                }
+                catch (Exception e)
+                {
+                    // the exception might be caused by inconsistent state, only trust it if no write happened
+                    if (optimisticLock.validate(stamp))
+                    {
+                        throw e;
+                    }
+                }
+            }
+
+            // a write happened meanwhile, so we need to read again while holding the read lock
+            if (statistics != null)
+            {
+                statistics.recordOptimisticReadFailure();
+            }
+        }
+
+        final Lock lock = lockSupplier.get(ic);
+        final long lockedAt = statistics == null ? 0L : System.nanoTime();
         try
         {
             return ic.proceed();
@@ -42,6 +78,11 @@ public class DefaultLockedStrategy implements LockedStrategy
         finally
         {
             lock.unlock();
+
+            if (statistics != null)
+            {
+                statistics.recordHold(System.nanoTime() - lockedAt);
+            }
         }
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.lock;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wait and hold time counters of a single {@link org.apache.deltaspike.core.api.lock.Locked} method.
+ * Only recorded if {@code deltaspike.lock.statistics.enabled} is set to {@code true}.
+ */
+public class LockStatistics
+{
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder holdNanos = new LongAdder();
+    private final LongAccumulator maxHoldNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder optimisticReadFailures = new LongAdder();
+
+    void recordWait(long nanos)
+    {
+        acquisitions.increment();
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulate(nanos);
+    }
+
+    void recordHold(long nanos)
+    {
+        holdNanos.add(nanos);
+        maxHoldNanos.accumulate(nanos);
+    }
+
+    void recordOptimisticReadFailure()
+    {
+        optimisticReadFailures.increment();
+    }
+
+    /**
+     * @return how often the lock got acquired
+     */
+    public long getAcquisitions()
+    {
+        return acquisitions.sum();
+    }
+
+    public long getTotalWaitNanos()
+    {
+        return waitNanos.sum();
+    }
+
+    public long getMaxWaitNanos()
+    {
+        return maxWaitNanos.get();
+    }
+
+    public long getTotalHoldNanos()
+    {
+        return holdNanos.sum();
+    }
+
+    public long getMaxHoldNanos()
+    {
+        return maxHoldNanos.get();
+    }
+
+    /**
+     * @return how often an optimistic read had to be repeated while holding the read lock
+     */
+    public long getOptimisticReadFailures()
+    {
+        return optimisticReadFailures.sum();
+    }
+}
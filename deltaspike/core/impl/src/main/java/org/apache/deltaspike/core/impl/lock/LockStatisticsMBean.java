@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.lock;
+
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.api.jmx.Table;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the {@link LockStatistics} of all the {@link org.apache.deltaspike.core.api.lock.Locked} methods via JMX.
+ * All the durations are in microseconds.
+ */
+@ApplicationScoped
+@MBean(name = "Locks", description = "Statistics of all @Locked methods")
+public class LockStatisticsMBean
+{
+    @Inject
+    private LockSupplierStorage lockSupplierStorage;
+
+    @JmxManaged(description = "acquisitions, total and max wait, total and max hold time in microseconds " +
+        "and optimistic read failures per method")
+    private Table statistics;
+
+    public Table getStatistics()
+    {
+        Table table = new Table().withColumns("method", "acquisitions", "totalWait", "maxWait",
+            "totalHold", "maxHold", "optimisticReadFailures");
+        for (Map.Entry<Method, LockStatistics> entry : lockSupplierStorage.getStatistics().entrySet())
+        {
+            Method method = entry.getKey();
+            LockStatistics lockStatistics = entry.getValue();
+            table.withLine(
+                method.getDeclaringClass().getName() + "#" + method.getName(),
+                Long.toString(lockStatistics.getAcquisitions()),
+                toMicros(lockStatistics.getTotalWaitNanos()),
+                toMicros(lockStatistics.getMaxWaitNanos()),
+                toMicros(lockStatistics.getTotalHoldNanos()),
+                toMicros(lockStatistics.getMaxHoldNanos()),
+                Long.toString(lockStatistics.getOptimisticReadFailures()));
+        }
+        return table;
+    }
+
+    private static String toMicros(long nanos)
+    {
+        return Long.toString(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
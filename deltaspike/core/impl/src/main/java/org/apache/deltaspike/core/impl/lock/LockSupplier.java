@@ -18,9 +18,26 @@
  */
 package org.apache.deltaspike.core.impl.lock;
 
+import javax.interceptor.InvocationContext;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
 
 interface LockSupplier
 {
-    Lock get();
+    /**
+     * Acquires the lock for the given invocation.
+     *
+     * @return the acquired lock
+     */
+    Lock get(InvocationContext ic);
+
+    /**
+     * @return the lock used for optimistic reads or {@code null} if the method doesn't use optimistic reads
+     */
+    StampedLock getOptimisticLock();
+
+    /**
+     * @return the statistics of the locked method or {@code null} if statistics are disabled
+     */
+    LockStatistics getStatistics();
 }
@@ -18,26 +18,28 @@
  */
 package org.apache.deltaspike.core.impl.lock;
 
+import org.apache.deltaspike.core.api.config.base.CoreBaseConfig;
+import org.apache.deltaspike.core.api.lock.LockKey;
 import org.apache.deltaspike.core.api.lock.Locked;
 import org.apache.deltaspike.core.impl.util.AnnotatedMethods;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Typed;
 import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import static org.apache.deltaspike.core.api.lock.Locked.Operation.READ;
-
 @ApplicationScoped
 @Typed(LockSupplierStorage.class)
 public class LockSupplierStorage implements Locked.LockFactory
@@ -47,6 +49,8 @@ public class LockSupplierStorage implements Locked.LockFactory
     // read or write
     private final ConcurrentMap<Method, LockSupplier> lockSuppliers = new ConcurrentHashMap<Method, LockSupplier>();
 
+    private final ConcurrentMap<Method, LockStatistics> statistics = new ConcurrentHashMap<Method, LockStatistics>();
+
     @Inject
     private BeanManager beanManager;
 
@@ -72,55 +76,49 @@ public class LockSupplierStorage implements Locked.LockFactory
                                             config.factory())),
                                     Locked.LockFactory.class, null)) : this;
 
-            final ReadWriteLock writeLock = factory.newLock(annotatedMethod, config.fair());
+            final ReadWriteLock readWriteLock = factory.newLock(annotatedMethod, config.fair());
             final long timeout = config.timeoutUnit().toMillis(config.timeout());
-            final Lock lock = config.operation() == READ ? writeLock.readLock() : writeLock.writeLock();
+            final LockStatistics lockStatistics = CoreBaseConfig.LockCustomization.STATISTICS_ENABLED ?
+                    new LockStatistics() : null;
 
-            if (timeout > 0)
-            {
-                operation = new LockSupplier()
-                {
-                    @Override
-                    public Lock get()
-                    {
-                        try
-                        {
-                            if (!lock.tryLock(timeout, TimeUnit.MILLISECONDS))
-                            {
-                                throw new IllegalStateException("Can't lock for " + key + " in " + timeout + "ms");
-                            }
-                        }
-                        catch (final InterruptedException e)
-                        {
-                            Thread.interrupted();
-                            throw new IllegalStateException("Locking interrupted", e);
-                        }
-                        return lock;
-                    }
-                };
-            }
-            else
-            {
-                operation = new LockSupplier()
-                {
-                    @Override
-                    public Lock get()
-                    {
-                        lock.lock();
-                        return lock;
-                    }
-                };
-            }
+            operation = new DefaultLockSupplier(key, readWriteLock, config.operation(), timeout,
+                    findKeyParameterIndex(annotatedMethod), lockStatistics);
 
             final LockSupplier existing = lockSuppliers.putIfAbsent(key, operation);
             if (existing != null)
             {
                 operation = existing;
             }
+            else if (lockStatistics != null)
+            {
+                statistics.put(key, lockStatistics);
+            }
         }
         return operation;
     }
 
+    /**
+     * @return the wait and hold time statistics per {@link Locked} method
+     *         if {@code deltaspike.lock.statistics.enabled} is set to {@code true}
+     */
+    public Map<Method, LockStatistics> getStatistics()
+    {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private int findKeyParameterIndex(final AnnotatedMethod<?> annotatedMethod)
+    {
+        final List<? extends AnnotatedParameter<?>> parameters = annotatedMethod.getParameters();
+        for (final AnnotatedParameter<?> parameter : parameters)
+        {
+            if (parameter.isAnnotationPresent(LockKey.class))
+            {
+                return parameter.getPosition();
+            }
+        }
+        return parameters.isEmpty() ? -1 : 0;
+    }
+
     @Override
     public ReadWriteLock newLock(final AnnotatedMethod<?> method, final boolean fair)
     {
@@ -20,12 +20,15 @@ package org.apache.deltaspike.core.impl.message;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Typed;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.deltaspike.core.api.literal.AnyLiteral;
 import org.apache.deltaspike.core.api.message.LocaleResolver;
@@ -35,6 +38,7 @@ import org.apache.deltaspike.core.api.message.MessageInterpolator;
 import org.apache.deltaspike.core.api.message.MessageResolver;
 import org.apache.deltaspike.core.api.message.MessageContextConfig;
 import org.apache.deltaspike.core.api.message.MessageTemplate;
+import org.apache.deltaspike.core.api.provider.BeanManagerProvider;
 import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.core.util.ClassUtils;
 
@@ -48,9 +52,14 @@ public class MessageBundleInvocationHandler implements InvocationHandler, Serial
 {
     private static final long serialVersionUID = -8980912335543392357L;
 
+    private static final Serializable[] NO_ARGUMENTS = new Serializable[0];
+
     @Inject
     private MessageContext baseMessageContext = null;
 
+    private transient volatile ConcurrentMap<Method, MessageBundleMethod> messageBundleMethods =
+        new ConcurrentHashMap<Method, MessageBundleMethod>();
+
     /**
      * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object,
      *      java.lang.reflect.Method, java.lang.Object[])
@@ -82,43 +91,25 @@ public class MessageBundleInvocationHandler implements InvocationHandler, Serial
             return null;
         }
 
-        final MessageTemplate messageTemplate = method.getAnnotation(MessageTemplate.class);
-
-        String messageTemplateValue;
-
-        if (messageTemplate != null)
-        {
-            messageTemplateValue = messageTemplate.value();
-        }
-        else
-        {
-            messageTemplateValue = "{" + method.getName() + "}";
-        }
+        MessageBundleMethod messageBundleMethod = getMessageBundleMethod(method);
 
         MessageContext messageContext = resolveMessageContextFromArguments(args);
-        List<Serializable> arguments = resolveMessageArguments(args);
+        Serializable[] arguments = resolveMessageArguments(args);
 
         if (messageContext == null)
         {
             messageContext = baseMessageContext.clone();
-
-            MessageContextConfig messageContextConfig =
-                method.getDeclaringClass().getAnnotation(MessageContextConfig.class);
-
-            if (messageContextConfig != null)
-            {
-                applyMessageContextConfig(messageContext, messageContextConfig);
-            }
+            messageBundleMethod.applyMessageContextConfig(messageContext);
         }
 
-        String messageBundleName = method.getDeclaringClass().getName();
+        messageContext.messageSource(messageBundleMethod.messageBundleName);
 
         Message message =  messageContext
-                .messageSource(messageBundleName).message()
-                .template(messageTemplateValue)
-                .argument(arguments.toArray(new Serializable[arguments.size()]));
+                .message()
+                .template(messageBundleMethod.messageTemplate)
+                .argument(arguments);
 
-        if (String.class.isAssignableFrom(method.getReturnType()))
+        if (messageBundleMethod.returnsString)
         {
             return message.toString();
         }
@@ -126,63 +117,109 @@ public class MessageBundleInvocationHandler implements InvocationHandler, Serial
         return message;
     }
 
-    private void applyMessageContextConfig(MessageContext messageContext, MessageContextConfig messageContextConfig)
+    /**
+     * The annotations and the beans configured via {@link MessageContextConfig} only get evaluated once per method.
+     * The contextual references of those beans still get resolved for each invocation.
+     */
+    private MessageBundleMethod getMessageBundleMethod(Method method)
     {
-        if (!MessageResolver.class.equals(messageContextConfig.messageResolver()))
+        ConcurrentMap<Method, MessageBundleMethod> cachedMessageBundleMethods = messageBundleMethods;
+        if (cachedMessageBundleMethods == null)
         {
-            Class<? extends MessageResolver> messageResolverClass =
-                    ClassUtils.tryToLoadClassForName(messageContextConfig.messageResolver().getName());
+            // lost after a serialisation
+            cachedMessageBundleMethods = new ConcurrentHashMap<Method, MessageBundleMethod>();
+            messageBundleMethods = cachedMessageBundleMethods;
+        }
 
-            messageContext.messageResolver(
-                    BeanProvider.getContextualReference(messageResolverClass, new AnyLiteral()));
+        MessageBundleMethod messageBundleMethod = cachedMessageBundleMethods.get(method);
+        if (messageBundleMethod == null)
+        {
+            messageBundleMethod = createMessageBundleMethod(method);
+            cachedMessageBundleMethods.putIfAbsent(method, messageBundleMethod);
         }
+        return messageBundleMethod;
+    }
+
+    private MessageBundleMethod createMessageBundleMethod(Method method)
+    {
+        final MessageTemplate messageTemplate = method.getAnnotation(MessageTemplate.class);
 
-        if (!MessageInterpolator.class.equals(messageContextConfig.messageInterpolator()))
+        String messageTemplateValue;
+
+        if (messageTemplate != null)
         {
-            Class<? extends MessageInterpolator> messageInterpolatorClass =
-                    ClassUtils.tryToLoadClassForName(messageContextConfig.messageInterpolator().getName());
+            messageTemplateValue = messageTemplate.value();
+        }
+        else
+        {
+            messageTemplateValue = "{" + method.getName() + "}";
+        }
+
+        MessageContextConfig messageContextConfig =
+            method.getDeclaringClass().getAnnotation(MessageContextConfig.class);
+
+        String messageBundleName = method.getDeclaringClass().getName();
+        boolean returnsString = String.class.isAssignableFrom(method.getReturnType());
 
-            messageContext.messageInterpolator(
-                    BeanProvider.getContextualReference(messageInterpolatorClass, new AnyLiteral()));
+        if (messageContextConfig == null)
+        {
+            return new MessageBundleMethod(messageTemplateValue, messageBundleName, returnsString,
+                    null, null, null, null);
         }
 
-        if (!LocaleResolver.class.equals(messageContextConfig.localeResolver()))
+        return new MessageBundleMethod(messageTemplateValue, messageBundleName, returnsString,
+                resolveConfiguredBean(MessageResolver.class, messageContextConfig.messageResolver()),
+                resolveConfiguredBean(MessageInterpolator.class, messageContextConfig.messageInterpolator()),
+                resolveConfiguredBean(LocaleResolver.class, messageContextConfig.localeResolver()),
+                messageContextConfig.messageSource());
+    }
+
+    /**
+     * @return the Bean of the configured class or <code>null</code> if the default of the given type should be used
+     */
+    private <T> ConfiguredBean<T> resolveConfiguredBean(Class<T> defaultType, Class<? extends T> configuredClass)
+    {
+        if (defaultType.equals(configuredClass))
         {
-            Class<? extends LocaleResolver> localeResolverClass =
-                    ClassUtils.tryToLoadClassForName(messageContextConfig.localeResolver().getName());
+            return null;
+        }
+
+        Class<T> beanClass = ClassUtils.tryToLoadClassForName(configuredClass.getName(), defaultType);
+
+        BeanManager beanManager = BeanManagerProvider.getInstance().getBeanManager();
+        Set<Bean<?>> beans = beanManager.getBeans(beanClass, new AnyLiteral());
 
-            messageContext.localeResolver(
-                    BeanProvider.getContextualReference(localeResolverClass, new AnyLiteral()));
+        if (beans == null || beans.isEmpty())
+        {
+            throw new IllegalStateException("Could not find beans for Type=" + beanClass);
         }
-        
-        String[] messageSources = messageContextConfig.messageSource();
-        messageContext.messageSource(messageSources);
 
+        @SuppressWarnings("unchecked")
+        Bean<T> bean = (Bean<T>) beanManager.resolve(beans);
+        return new ConfiguredBean<T>(beanClass, bean);
     }
 
-    private List<Serializable> resolveMessageArguments(Object[] args)
+    private Serializable[] resolveMessageArguments(Object[] args)
     {
-        List<Serializable> arguments = new ArrayList<Serializable>();
-        if (args != null && args.length > 0)
+        if (args == null || args.length == 0)
         {
-            for (int i = 0; i < args.length; i++)
+            return NO_ARGUMENTS;
+        }
+
+        int offset = resolveMessageContextFromArguments(args) != null ? 1 : 0;
+        Serializable[] arguments = new Serializable[args.length - offset];
+        for (int i = offset; i < args.length; i++)
+        {
+            Object arg = args[i];
+
+            if (arg instanceof Serializable)
             {
-                Object arg = args[i];
-
-                if (i == 0 && arg != null && MessageContext.class.isAssignableFrom(arg.getClass()))
-                {
-                    continue;
-                }
-
-                if (arg instanceof Serializable)
-                {
-                    arguments.add((Serializable) arg);
-                }
-                else
-                {
-                    // for non-serializable objects we perform an immediate toString() instead
-                    arguments.add(arg == null ? null : arg.toString());
-                }
+                arguments[i - offset] = (Serializable) arg;
+            }
+            else
+            {
+                // for non-serializable objects we perform an immediate toString() instead
+                arguments[i - offset] = arg == null ? null : arg.toString();
             }
         }
 
@@ -200,4 +237,74 @@ public class MessageBundleInvocationHandler implements InvocationHandler, Serial
         return null;
     }
 
+    private static final class MessageBundleMethod
+    {
+        private final String messageTemplate;
+        private final String messageBundleName;
+        private final boolean returnsString;
+
+        private final ConfiguredBean<MessageResolver> messageResolver;
+        private final ConfiguredBean<MessageInterpolator> messageInterpolator;
+        private final ConfiguredBean<LocaleResolver> localeResolver;
+        private final String[] messageSources;
+
+        private MessageBundleMethod(String messageTemplate, String messageBundleName, boolean returnsString,
+                                    ConfiguredBean<MessageResolver> messageResolver,
+                                    ConfiguredBean<MessageInterpolator> messageInterpolator,
+                                    ConfiguredBean<LocaleResolver> localeResolver,
+                                    String[] messageSources)
+        {
+            this.messageTemplate = messageTemplate;
+            this.messageBundleName = messageBundleName;
+            this.returnsString = returnsString;
+            this.messageResolver = messageResolver;
+            this.messageInterpolator = messageInterpolator;
+            this.localeResolver = localeResolver;
+            this.messageSources = messageSources;
+        }
+
+        private void applyMessageContextConfig(MessageContext messageContext)
+        {
+            if (messageResolver != null)
+            {
+                messageContext.messageResolver(messageResolver.getContextualReference());
+            }
+
+            if (messageInterpolator != null)
+            {
+                messageContext.messageInterpolator(messageInterpolator.getContextualReference());
+            }
+
+            if (localeResolver != null)
+            {
+                messageContext.localeResolver(localeResolver.getContextualReference());
+            }
+
+            if (messageSources != null)
+            {
+                messageContext.messageSource(messageSources);
+            }
+        }
+    }
+
+    /**
+     * Keeps the resolved Bean only, the contextual reference gets created for each usage.
+     * Thus &#064;Dependent and stateful beans behave the same way as without the cache.
+     */
+    private static final class ConfiguredBean<T>
+    {
+        private final Class<T> beanClass;
+        private final Bean<T> bean;
+
+        private ConfiguredBean(Class<T> beanClass, Bean<T> bean)
+        {
+            this.beanClass = beanClass;
+            this.bean = bean;
+        }
+
+        private T getContextualReference()
+        {
+            return BeanProvider.getContextualReference(beanClass, bean);
+        }
+    }
 }
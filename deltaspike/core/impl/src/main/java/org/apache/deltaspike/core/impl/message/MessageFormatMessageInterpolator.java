@@ -23,6 +23,8 @@ import javax.enterprise.inject.Alternative;
 import java.io.Serializable;
 import java.util.Locale;
 import java.text.MessageFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.deltaspike.core.api.message.MessageInterpolator;
 
@@ -33,6 +35,9 @@ import org.apache.deltaspike.core.api.message.MessageInterpolator;
  * Please note that for some EE containers you might need to add this &lt;alternative&gt>
  * to all JARs and classpath entries beanx.xml files.
  *
+ * The parsed MessageFormats get cached per Locale and template. Since a MessageFormat is not thread-safe,
+ * every invocation formats with a clone of the cached instance, which is far cheaper than parsing the template.
+ *
  * {@inheritDoc}
  */
 @ApplicationScoped
@@ -41,10 +46,52 @@ public class MessageFormatMessageInterpolator implements MessageInterpolator, Se
 {
     private static final long serialVersionUID = -8854087197813424812L;
 
+    /**
+     * Templates might also get built dynamically, thus we limit the number of cached MessageFormats.
+     */
+    private static final int MAX_CACHED_FORMATS_PER_LOCALE = 1024;
+
+    private final ConcurrentMap<Locale, ConcurrentMap<String, MessageFormat>> messageFormats =
+        new ConcurrentHashMap<Locale, ConcurrentMap<String, MessageFormat>>();
+
     @Override
     public String interpolate(String messageTemplate, Serializable[] arguments, Locale locale)
     {
-        MessageFormat messageFormat = new MessageFormat(messageTemplate, locale);
+        MessageFormat messageFormat = getMessageFormat(messageTemplate, locale);
         return messageFormat.format(arguments);
     }
+
+    private MessageFormat getMessageFormat(String messageTemplate, Locale locale)
+    {
+        if (locale == null)
+        {
+            return new MessageFormat(messageTemplate, locale);
+        }
+
+        ConcurrentMap<String, MessageFormat> messageFormatsForLocale = messageFormats.get(locale);
+        if (messageFormatsForLocale == null)
+        {
+            messageFormatsForLocale = new ConcurrentHashMap<String, MessageFormat>();
+            ConcurrentMap<String, MessageFormat> existing =
+                messageFormats.putIfAbsent(locale, messageFormatsForLocale);
+            if (existing != null)
+            {
+                messageFormatsForLocale = existing;
+            }
+        }
+
+        MessageFormat cachedMessageFormat = messageFormatsForLocale.get(messageTemplate);
+        if (cachedMessageFormat == null)
+        {
+            MessageFormat messageFormat = new MessageFormat(messageTemplate, locale);
+            if (messageFormatsForLocale.size() < MAX_CACHED_FORMATS_PER_LOCALE)
+            {
+                // the new instance gets used directly, the cached one only gets cloned
+                messageFormatsForLocale.putIfAbsent(messageTemplate, (MessageFormat) messageFormat.clone());
+            }
+            return messageFormat;
+        }
+
+        return (MessageFormat) cachedMessageFormat.clone();
+    }
 }
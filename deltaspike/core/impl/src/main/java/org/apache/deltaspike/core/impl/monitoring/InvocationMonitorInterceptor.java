@@ -26,6 +26,7 @@ import javax.interceptor.AroundInvoke;
 import javax.interceptor.Interceptor;
 import javax.interceptor.InvocationContext;
 import java.io.Serializable;
+import java.lang.reflect.Method;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,20 +39,27 @@ public class InvocationMonitorInterceptor implements Serializable
     @Inject
     private RequestInvocationCounter requestInvocationCounter;
 
+    @Inject
+    private InvocationStatistics invocationStatistics;
+
     @AroundInvoke
     public Object track(InvocationContext ic) throws Exception
     {
         long start = System.nanoTime();
         Object retVal = ic.proceed();
         long end = System.nanoTime();
+
+        Method method = ic.getMethod();
+        invocationStatistics.record(method, end - start);
+
         try
         {
-            requestInvocationCounter.count(ic.getTarget().getClass().getName(), ic.getMethod().getName(), end - start);
+            requestInvocationCounter.count(ic.getTarget().getClass().getName(), method.getName(), end - start);
         }
         catch (ContextNotActiveException cnae)
         {
-            logger.log(Level.FINE, "could not monitor invocatino to {} due to RequestContext not being active",
-                ic.getMethod().toString());
+            logger.log(Level.FINE, "could not monitor invocation to {0} due to RequestContext not being active",
+                method);
         }
 
         return retVal;
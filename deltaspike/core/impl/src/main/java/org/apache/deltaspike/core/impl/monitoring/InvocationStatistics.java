@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Aggregates the invocations of all {@link org.apache.deltaspike.core.api.monitoring.InvocationMonitored} methods
+ * across all requests and threads.
+ *
+ * In contrast to {@link RequestInvocationCounter} this doesn't need an active RequestContext.
+ * Recording an invocation neither builds Strings nor allocates anything once the slot of the method exists.
+ */
+@ApplicationScoped
+public class InvocationStatistics
+{
+    private final ConcurrentMap<Method, MethodStatistics> methodStatistics =
+        new ConcurrentHashMap<Method, MethodStatistics>();
+
+    /**
+     * @param method the invoked method
+     * @param durationInNanos duration of the method invocation in nano time
+     */
+    public void record(Method method, long durationInNanos)
+    {
+        MethodStatistics statistics = methodStatistics.get(method);
+        if (statistics == null)
+        {
+            statistics = new MethodStatistics(method);
+            MethodStatistics existing = methodStatistics.putIfAbsent(method, statistics);
+            if (existing != null)
+            {
+                statistics = existing;
+            }
+        }
+        statistics.record(durationInNanos);
+    }
+
+    /**
+     * @return the statistics of the given method or {@code null} if it didn't get invoked so far
+     */
+    public MethodStatistics getMethodStatistics(Method method)
+    {
+        return methodStatistics.get(method);
+    }
+
+    public Collection<MethodStatistics> getMethodStatistics()
+    {
+        return Collections.unmodifiableCollection(methodStatistics.values());
+    }
+
+    public void reset()
+    {
+        for (MethodStatistics statistics : methodStatistics.values())
+        {
+            statistics.reset();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.api.jmx.Table;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the {@link InvocationStatistics} via JMX.
+ * All the durations are in microseconds.
+ */
+@ApplicationScoped
+@MBean(name = "InvocationMonitor", description = "Statistics of all @InvocationMonitored methods")
+public class InvocationStatisticsMBean
+{
+    @Inject
+    private InvocationStatistics invocationStatistics;
+
+    @JmxManaged(description = "invocations, mean, p50, p99, p999 and max duration in microseconds per method")
+    private Table statistics;
+
+    public Table getStatistics()
+    {
+        Table table = new Table().withColumns("method", "invocations", "mean", "p50", "p99", "p999", "max");
+        for (MethodStatistics methodStatistics : invocationStatistics.getMethodStatistics())
+        {
+            Method method = methodStatistics.getMethod();
+            table.withLine(
+                method.getDeclaringClass().getName() + "#" + method.getName(),
+                Long.toString(methodStatistics.getInvocations()),
+                toMicros(methodStatistics.getMeanDurationInNanos()),
+                toMicros(methodStatistics.getDurationAtQuantileInNanos(0.5)),
+                toMicros(methodStatistics.getDurationAtQuantileInNanos(0.99)),
+                toMicros(methodStatistics.getDurationAtQuantileInNanos(0.999)),
+                toMicros(methodStatistics.getMaxDurationInNanos()));
+        }
+        return table;
+    }
+
+    @JmxManaged(description = "resets all the statistics")
+    public void reset()
+    {
+        invocationStatistics.reset();
+    }
+
+    private static String toMicros(long nanos)
+    {
+        return Long.toString(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
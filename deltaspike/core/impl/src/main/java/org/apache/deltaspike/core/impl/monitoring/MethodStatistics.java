@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of all the monitored invocations of a single method.
+ */
+public class MethodStatistics
+{
+    private final Method method;
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder totalDuration = new LongAdder();
+    private final LongAccumulator maxDuration = new LongAccumulator(Math::max, 0L);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    MethodStatistics(Method method)
+    {
+        this.method = method;
+    }
+
+    void record(long durationInNanos)
+    {
+        invocations.increment();
+        totalDuration.add(durationInNanos);
+        maxDuration.accumulate(durationInNanos);
+        histogram.record(durationInNanos);
+    }
+
+    void reset()
+    {
+        invocations.reset();
+        totalDuration.reset();
+        maxDuration.reset();
+        histogram.reset();
+    }
+
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    public long getInvocations()
+    {
+        return invocations.sum();
+    }
+
+    public long getTotalDurationInNanos()
+    {
+        return totalDuration.sum();
+    }
+
+    public long getMeanDurationInNanos()
+    {
+        long count = invocations.sum();
+        return count == 0 ? 0 : totalDuration.sum() / count;
+    }
+
+    public long getMaxDurationInNanos()
+    {
+        return maxDuration.get();
+    }
+
+    /**
+     * @see LatencyHistogram#getValueAtQuantile(double)
+     */
+    public long getDurationAtQuantileInNanos(double quantile)
+    {
+        return histogram.getValueAtQuantile(quantile);
+    }
+}
@@ -40,30 +40,35 @@ public class RequestInvocationCounter
 
 
     /**
-     * Counter for all method invocations
-     * key = fully qualified method name (includes class)
-     * value = Integer with value
-     */
-    private Map<String, AtomicInteger> methodInvocations = new HashMap<String, AtomicInteger>();
-
-    /**
-     * Duration of all method invocations
-     * key = fully qualified method name (includes class)
-     * value = Integer with value
-     */
-    private Map<String, AtomicLong> methodDurations = new HashMap<String, AtomicLong>();
-
-    /**
-     * Counter for all class invocations
+     * Counters for all invocations
      * key = fully qualified class name
-     * value = Integer with value
+     * value = the counters of the class and its methods
      */
-    private Map<String, AtomicInteger> classInvocations  = new HashMap<String, AtomicInteger>();
+    private Map<String, ClassCounter> classCounters = new HashMap<String, ClassCounter>();
 
 
     @PreDestroy
     public void postUsage()
     {
+        // the keys get only built once per request and not for every single invocation
+        Map<String, AtomicInteger> methodInvocations = new HashMap<String, AtomicInteger>();
+        Map<String, AtomicLong> methodDurations = new HashMap<String, AtomicLong>();
+        Map<String, AtomicInteger> classInvocations  = new HashMap<String, AtomicInteger>();
+
+        for (Map.Entry<String, ClassCounter> classEntry : classCounters.entrySet())
+        {
+            String className = classEntry.getKey();
+            ClassCounter classCounter = classEntry.getValue();
+            classInvocations.put(className, classCounter.invocations);
+
+            for (Map.Entry<String, MethodCounter> methodEntry : classCounter.methodCounters.entrySet())
+            {
+                String methodKey = className + "#" + methodEntry.getKey();
+                methodInvocations.put(methodKey, methodEntry.getValue().invocations);
+                methodDurations.put(methodKey, methodEntry.getValue().duration);
+            }
+        }
+
         mre.fire(new MonitorResultEvent(methodInvocations, classInvocations, methodDurations));
     }
 
@@ -75,31 +80,37 @@ public class RequestInvocationCounter
      */
     public void count(String className, String methodName, long duration)
     {
-        AtomicInteger classCount = classInvocations.get(className);
-        if (classCount == null)
+        ClassCounter classCounter = classCounters.get(className);
+        if (classCounter == null)
         {
-            classCount = new AtomicInteger(0);
-            classInvocations.put(className, classCount);
+            classCounter = new ClassCounter();
+            classCounters.put(className, classCounter);
         }
-        classCount.incrementAndGet();
+        classCounter.invocations.incrementAndGet();
 
-
-        String methodKey = className + "#" + methodName;
-
-        AtomicInteger methCount = methodInvocations.get(methodKey);
-        if (methCount == null)
+        MethodCounter methodCounter = classCounter.methodCounters.get(methodName);
+        if (methodCounter == null)
         {
-            methCount = new AtomicInteger(0);
-            methodInvocations.put(methodKey, methCount);
+            methodCounter = new MethodCounter();
+            classCounter.methodCounters.put(methodName, methodCounter);
         }
-        methCount.incrementAndGet();
+        methodCounter.invocations.incrementAndGet();
+        methodCounter.duration.addAndGet(duration);
+    }
 
-        AtomicLong methDur = methodDurations.get(methodKey);
-        if (methDur == null)
-        {
-            methDur = new AtomicLong(0);
-            methodDurations.put(methodKey, methDur);
-        }
-        methDur.addAndGet(duration);
+    private static class ClassCounter
+    {
+        private final AtomicInteger invocations = new AtomicInteger(0);
+
+        /**
+         * key = method name
+         */
+        private final Map<String, MethodCounter> methodCounters = new HashMap<String, MethodCounter>();
+    }
+
+    private static class MethodCounter
+    {
+        private final AtomicInteger invocations = new AtomicInteger(0);
+        private final AtomicLong duration = new AtomicLong(0);
     }
 }
@@ -18,66 +18,9 @@
  */
 package org.apache.deltaspike.core.impl.throttling;
 
-import org.apache.deltaspike.core.util.ExceptionUtils;
-
 import javax.interceptor.InvocationContext;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 
-class Invoker
+interface Invoker
 {
-    private final int weight;
-    private final Semaphore semaphore;
-    private final long timeout;
-
-    Invoker(final Semaphore semaphore, final int weight, final long timeout)
-    {
-        this.semaphore = semaphore;
-        this.weight = weight;
-        this.timeout = timeout;
-    }
-
-    public Object invoke(final InvocationContext context) throws Exception
-    {
-        if (timeout > 0)
-        {
-            try
-            {
-                if (!semaphore.tryAcquire(weight, timeout, TimeUnit.MILLISECONDS))
-                {
-                    throw new IllegalStateException(
-                        "Can't acquire " + weight + " permits for " + context.getMethod() + " in " + timeout + "ms");
-                }
-            }
-            catch (final InterruptedException e)
-            {
-                return onInterruption(e);
-            }
-        }
-        else
-        {
-            try
-            {
-                semaphore.acquire(weight);
-            }
-            catch (final InterruptedException e)
-            {
-                return onInterruption(e);
-            }
-        }
-        try
-        {
-            return context.proceed();
-        }
-        finally
-        {
-            semaphore.release(weight);
-        }
-    }
-
-    private static Semaphore onInterruption(final InterruptedException e)
-    {
-        Thread.interrupted();
-        throw ExceptionUtils.throwAsRuntimeException(e);
-    }
+    Object invoke(InvocationContext context) throws Exception;
 }
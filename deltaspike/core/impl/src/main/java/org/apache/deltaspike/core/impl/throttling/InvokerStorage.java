@@ -40,6 +40,7 @@ import java.util.concurrent.Semaphore;
 public class InvokerStorage implements Throttling.SemaphoreFactory
 {
     private final ConcurrentMap<String, Semaphore> semaphores = new ConcurrentHashMap<String, Semaphore>();
+    private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<String, RateLimiter>();
     private final ConcurrentMap<Method, Invoker> providers = new ConcurrentHashMap<Method, Invoker>();
 
     @Inject
@@ -66,23 +67,32 @@ public class InvokerStorage implements Throttling.SemaphoreFactory
                 sharedConfig = annotatedType.getAnnotation(Throttling.class);
             }
 
-            final Throttling.SemaphoreFactory factory =
-                    sharedConfig != null && sharedConfig.factory() != Throttling.SemaphoreFactory.class ?
-                            Throttling.SemaphoreFactory.class.cast(
-                                    beanManager.getReference(beanManager.resolve(
-                                            beanManager.getBeans(
-                                                    sharedConfig.factory())),
-                                            Throttling.SemaphoreFactory.class, null)) : this;
-
-            final Semaphore semaphore = factory.newSemaphore(
-                    annotatedMethod,
-                    sharedConfig != null && !sharedConfig.name().isEmpty() ?
-                            sharedConfig.name() : declaringClass.getName(),
-                    sharedConfig != null && sharedConfig.fair(),
-                    sharedConfig != null ? sharedConfig.permits() : 1);
+            final String name = sharedConfig != null && !sharedConfig.name().isEmpty() ?
+                    sharedConfig.name() : declaringClass.getName();
             final long timeout = config.timeoutUnit().toMillis(config.timeout());
             final int weigth = config.weight();
-            i = new Invoker(semaphore, weigth, timeout);
+
+            if (sharedConfig != null && sharedConfig.mode() == Throttling.Mode.RATE)
+            {
+                i = new RateLimitingInvoker(getOrCreateRateLimiter(name, sharedConfig), weigth, timeout);
+            }
+            else
+            {
+                final Throttling.SemaphoreFactory factory =
+                        sharedConfig != null && sharedConfig.factory() != Throttling.SemaphoreFactory.class ?
+                                Throttling.SemaphoreFactory.class.cast(
+                                        beanManager.getReference(beanManager.resolve(
+                                                beanManager.getBeans(
+                                                        sharedConfig.factory())),
+                                                Throttling.SemaphoreFactory.class, null)) : this;
+
+                final Semaphore semaphore = factory.newSemaphore(
+                        annotatedMethod,
+                        name,
+                        sharedConfig != null && sharedConfig.fair(),
+                        sharedConfig != null ? sharedConfig.permits() : 1);
+                i = new SemaphoreInvoker(semaphore, weigth, timeout);
+            }
             final Invoker existing = providers.putIfAbsent(ic.getMethod(), i);
             if (existing != null)
             {
@@ -92,6 +102,22 @@ public class InvokerStorage implements Throttling.SemaphoreFactory
         return i;
     }
 
+    private RateLimiter getOrCreateRateLimiter(final String name, final Throttling sharedConfig)
+    {
+        RateLimiter rateLimiter = rateLimiters.get(name);
+        if (rateLimiter == null)
+        {
+            rateLimiter = new RateLimiter(name, sharedConfig.permits(),
+                    sharedConfig.periodUnit().toMillis(sharedConfig.period()), sharedConfig.burst());
+            final RateLimiter existing = rateLimiters.putIfAbsent(name, rateLimiter);
+            if (existing != null)
+            {
+                rateLimiter = existing;
+            }
+        }
+        return rateLimiter;
+    }
+
     @Override
     public Semaphore newSemaphore(final AnnotatedMethod<?> method, final String name,
                                   final boolean fair, final int permits)
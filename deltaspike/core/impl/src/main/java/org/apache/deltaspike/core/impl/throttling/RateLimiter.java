@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.throttling;
+
+import org.apache.deltaspike.core.api.config.ConfigResolver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket used for {@link org.apache.deltaspike.core.api.throttling.Throttling.Mode#RATE}.
+ *
+ * Instead of refilling tokens it tracks the time at which the bucket will be full again
+ * (generic cell rate algorithm), thus a reservation is a single CAS without any background refill.
+ * The permits, the period and the burst get re-read from the config (cached for a second),
+ * so they can be changed at runtime.
+ */
+public class RateLimiter
+{
+    private static final String CONFIG_PREFIX = "deltaspike.throttling.";
+
+    private final ConfigResolver.TypedResolver<Integer> permitsConfig;
+    private final ConfigResolver.TypedResolver<Long> periodConfig;
+    private final ConfigResolver.TypedResolver<Integer> burstConfig;
+
+    /**
+     * The nanoTime at which all the reserved permits are consumed.
+     */
+    private final AtomicLong reservedUntil = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param name the bucket name used for the config keys
+     * @param permits the permits granted per period
+     * @param periodInMs the period in milliseconds
+     * @param burst how many permits can be consumed at once, 0 means the same as permits
+     */
+    public RateLimiter(String name, int permits, long periodInMs, int burst)
+    {
+        permitsConfig = ConfigResolver.resolve(CONFIG_PREFIX + name + ".permits")
+                .as(Integer.class)
+                .withCurrentProjectStage(true)
+                .withDefault(permits)
+                .cacheFor(TimeUnit.SECONDS, 1);
+        periodConfig = ConfigResolver.resolve(CONFIG_PREFIX + name + ".period_in_ms")
+                .as(Long.class)
+                .withCurrentProjectStage(true)
+                .withDefault(periodInMs)
+                .cacheFor(TimeUnit.SECONDS, 1);
+        burstConfig = ConfigResolver.resolve(CONFIG_PREFIX + name + ".burst")
+                .as(Integer.class)
+                .withCurrentProjectStage(true)
+                .withDefault(burst)
+                .cacheFor(TimeUnit.SECONDS, 1);
+    }
+
+    /**
+     * Reserves the given number of permits.
+     *
+     * @param weight the number of permits
+     * @param maxWaitNanos how long the caller is willing to wait for the permits, negative for no limit
+     * @return the nanoseconds the caller has to wait before the permits can be used
+     *         or -1 if the permits are not available within maxWaitNanos (nothing got reserved in this case)
+     */
+    public long reserve(int weight, long maxWaitNanos)
+    {
+        final int permits = Math.max(permitsConfig.getValue(), 1);
+        final long intervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(periodConfig.getValue()) / permits, 1L);
+        int burst = burstConfig.getValue();
+        if (burst <= 0)
+        {
+            burst = permits;
+        }
+        final long tolerance = Math.max(burst, weight) * intervalNanos;
+
+        while (true)
+        {
+            final long now = System.nanoTime();
+            final long current = reservedUntil.get();
+            // an idle bucket is full
+            final long next = (current - now > 0 ? current : now) + weight * intervalNanos;
+            final long wait = next - now - tolerance;
+
+            if (wait > 0 && maxWaitNanos >= 0 && wait > maxWaitNanos)
+            {
+                return -1L;
+            }
+            if (reservedUntil.compareAndSet(current, next))
+            {
+                return wait > 0 ? wait : 0L;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.core.impl.throttling;
+
+import org.apache.deltaspike.core.util.ExceptionUtils;
+
+import javax.interceptor.InvocationContext;
+import java.util.concurrent.TimeUnit;
+
+class RateLimitingInvoker implements Invoker
+{
+    private final RateLimiter rateLimiter;
+    private final int weight;
+    private final long timeout;
+
+    RateLimitingInvoker(final RateLimiter rateLimiter, final int weight, final long timeout)
+    {
+        this.rateLimiter = rateLimiter;
+        this.weight = weight;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Object invoke(final InvocationContext context) throws Exception
+    {
+        final long wait = rateLimiter.reserve(weight, timeout > 0 ? TimeUnit.MILLISECONDS.toNanos(timeout) : -1L);
+        if (wait < 0)
+        {
+            throw new IllegalStateException(
+                "Can't acquire " + weight + " permits for " + context.getMethod() + " in " + timeout + "ms");
+        }
+        if (wait > 0)
+        {
+            try
+            {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.interrupted();
+                throw ExceptionUtils.throwAsRuntimeException(e);
+            }
+        }
+        return context.proceed();
+    }
+}
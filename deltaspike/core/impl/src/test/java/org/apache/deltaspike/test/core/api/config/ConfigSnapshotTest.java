@@ -18,6 +18,7 @@
  */
 package org.apache.deltaspike.test.core.api.config;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,6 +36,7 @@ public class ConfigSnapshotTest
     private static final String HOST_KEY = "ds.test.myapp.host";
     private static final String PORT1_KEY = "ds.test.myapp.port1";
     private static final String PORT2_KEY = "ds.test.myapp.port2";
+    private static final String ENV_KEY = "ds.test.myapp.env";
 
     private ConfigResolver.TypedResolver<String> hostCfg;
     private ConfigResolver.TypedResolver<Integer> port1Cfg;
@@ -91,5 +93,104 @@ public class ConfigSnapshotTest
         }
     }
 
+    @Test
+    public void testConfigTxWithChangeDuringResolution()
+    {
+        Config cfg = ConfigResolver.getConfig();
+        ConfigurableTestConfigSource configSource = ConfigurableTestConfigSource.instance();
+        try
+        {
+            Map<String, String> newVals = new HashMap<>();
+            newVals.put(HOST_KEY, "host1");
+            newVals.put(PORT1_KEY, "1");
+            configSource.setValues(newVals);
+
+            hostCfg = cfg.resolve(HOST_KEY);
+            port1Cfg = cfg.resolve(PORT1_KEY).as(Integer.class)
+                .onChange((key, oldValue, newValue) ->
+                {
+                    // the host gets changed after it got already resolved for the snapshot
+                    configSource.setValues(Collections.singletonMap(HOST_KEY, "host" + newValue));
+                });
+
+            ConfigSnapshot configSnapshot = cfg.snapshotFor(hostCfg, port1Cfg);
+
+            assertEquals("host1", hostCfg.getValue(configSnapshot));
+            assertEquals(Integer.valueOf(1), port1Cfg.getValue(configSnapshot));
+
+            configSource.setValues(Collections.singletonMap(PORT1_KEY, "2"));
+            configSnapshot = cfg.snapshotFor(hostCfg, port1Cfg);
+
+            assertEquals("host2", hostCfg.getValue(configSnapshot));
+            assertEquals(Integer.valueOf(2), port1Cfg.getValue(configSnapshot));
+        }
+        finally
+        {
+            configSource.clear();
+        }
+    }
+
+    @Test
+    public void testConfigTxWithChangedParameter()
+    {
+        Config cfg = ConfigResolver.getConfig();
+        ConfigurableTestConfigSource configSource = ConfigurableTestConfigSource.instance();
+        try
+        {
+            Map<String, String> newVals = new HashMap<>();
+            newVals.put(ENV_KEY, "dev");
+            newVals.put(HOST_KEY + ".dev", "devhost");
+            newVals.put(HOST_KEY + ".prod", "prodhost");
+            newVals.put(PORT1_KEY, "1");
+            configSource.setValues(newVals);
+
+            hostCfg = cfg.resolve(HOST_KEY).parameterizedBy(ENV_KEY);
+            port1Cfg = cfg.resolve(PORT1_KEY).as(Integer.class)
+                .onChange((key, oldValue, newValue) ->
+                {
+                    // the parameter of the host gets changed after the host got already resolved for the snapshot
+                    configSource.setValues(Collections.singletonMap(ENV_KEY, "prod"));
+                });
+
+            ConfigSnapshot configSnapshot = cfg.snapshotFor(hostCfg, port1Cfg);
+
+            assertEquals("prodhost", hostCfg.getValue(configSnapshot));
+            assertEquals("prodhost", hostCfg.getValue());
+        }
+        finally
+        {
+            configSource.clear();
+        }
+    }
+
+    @Test
+    public void testConfigTxWithPermanentChanges()
+    {
+        Config cfg = ConfigResolver.getConfig();
+        ConfigurableTestConfigSource configSource = ConfigurableTestConfigSource.instance();
+        try
+        {
+            Map<String, String> newVals = new HashMap<>();
+            newVals.put(HOST_KEY, "host1");
+            newVals.put(PORT1_KEY, "1");
+            configSource.setValues(newVals);
+
+            hostCfg = cfg.resolve(HOST_KEY);
+            port1Cfg = cfg.resolve(PORT1_KEY).as(Integer.class)
+                .onChange((key, oldValue, newValue) ->
+                {
+                    // every resolution changes the value again
+                    configSource.setValues(Collections.singletonMap(PORT1_KEY, String.valueOf(newValue + 1)));
+                });
 
+            ConfigSnapshot configSnapshot = cfg.snapshotFor(hostCfg, port1Cfg);
+
+            assertEquals("host1", hostCfg.getValue(configSnapshot));
+            assertEquals(Integer.valueOf(configSource.getPropertyValue(PORT1_KEY)), port1Cfg.getValue(configSnapshot));
+        }
+        finally
+        {
+            configSource.clear();
+        }
+    }
 }
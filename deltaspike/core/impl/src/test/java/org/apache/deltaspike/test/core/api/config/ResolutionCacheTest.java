@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.api.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.deltaspike.core.api.config.ConfigResolver;
+import org.apache.deltaspike.core.impl.config.ConfigImpl;
+import org.apache.deltaspike.core.impl.config.MapConfigSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ResolutionCacheTest
+{
+    private static final String KEY = "ds.test.resolutioncache.key";
+
+    private ChangeReportingConfigSource configSource;
+    private ConfigImpl config;
+
+    @Before
+    public void setUp()
+    {
+        configSource = new ChangeReportingConfigSource();
+        configSource.getProperties().put(ConfigImpl.RESOLUTION_CACHE_ENABLED_KEY, "true");
+
+        config = new ConfigImpl(getClass().getClassLoader());
+        config.addConfigSources(Collections.singletonList(configSource));
+    }
+
+    @Test
+    public void testCachedValueGetsInvalidatedOnChange()
+    {
+        assertNull(config.resolve(KEY).withCurrentProjectStage(false).getValue());
+
+        configSource.setValue(KEY, "value1");
+        assertEquals("value1", config.resolve(KEY).withCurrentProjectStage(false).getValue());
+
+        // a change which doesn't get reported must not be visible
+        configSource.getProperties().put(KEY, "unreported");
+        assertEquals("value1", config.resolve(KEY).withCurrentProjectStage(false).getValue());
+
+        configSource.setValue(KEY, "value2");
+        assertEquals("value2", config.resolve(KEY).withCurrentProjectStage(false).getValue());
+    }
+
+    @Test
+    public void testResolvedKeyGetsCached()
+    {
+        configSource.setValue(KEY, "value");
+
+        for (int i = 0; i < 2; i++)
+        {
+            ConfigResolver.TypedResolver<String> resolver = config.resolve(KEY).withCurrentProjectStage(false);
+            assertEquals("value", resolver.getValue());
+            assertEquals(KEY, resolver.getResolvedKey());
+        }
+    }
+
+    private static class ChangeReportingConfigSource extends MapConfigSource
+    {
+        private Consumer<Set<String>> reportAttributeChange;
+
+        ChangeReportingConfigSource()
+        {
+            super(new ConcurrentHashMap<String, String>());
+        }
+
+        void setValue(String key, String value)
+        {
+            Map<String, String> properties = getProperties();
+            properties.put(key, value);
+            reportAttributeChange.accept(Collections.singleton(key));
+        }
+
+        @Override
+        public String getConfigName()
+        {
+            return "resolution-cache-test";
+        }
+
+        @Override
+        public void setOnAttributeChange(Consumer<Set<String>> reportAttributeChange)
+        {
+            this.reportAttributeChange = reportAttributeChange;
+        }
+    }
+}
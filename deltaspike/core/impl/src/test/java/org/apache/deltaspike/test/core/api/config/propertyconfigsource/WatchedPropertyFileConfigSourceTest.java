@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.api.config.propertyconfigsource;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.deltaspike.core.impl.config.PropertyFileConfigSource;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Test for the {@link PropertyFileConfigSource#RELOAD_MODE_WATCH} mode
+ */
+public class WatchedPropertyFileConfigSourceTest
+{
+    private static final String KEY = "deltaspike.test.config.watched";
+
+    /**
+     * Same period as the debounce of the PropertyFileWatcher.
+     */
+    private static final long DEBOUNCE_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    @Test
+    public void testChangedFileGetsPickedUp() throws Exception
+    {
+        File tempFile = File.createTempFile("deltaspike-watched", ".properties");
+        tempFile.deleteOnExit();
+        writeConfig(tempFile, "initial");
+
+        PropertyFileConfigSource configSource = PropertyFileConfigSource.create(tempFile.toURI().toURL());
+        try
+        {
+            final AtomicReference<Set<String>> changedKeys = new AtomicReference<>();
+            configSource.setOnAttributeChange(changedKeys::set);
+
+            Assert.assertEquals("initial", configSource.getPropertyValue(KEY));
+
+            writeConfig(tempFile, "changed");
+
+            // some WatchService implementations fall back to polling the file system
+            long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            while (!"changed".equals(configSource.getPropertyValue(KEY)) && System.currentTimeMillis() < timeout)
+            {
+                Thread.sleep(50L);
+            }
+
+            Assert.assertEquals("changed", configSource.getPropertyValue(KEY));
+            Assert.assertTrue(changedKeys.get().contains(KEY));
+        }
+        finally
+        {
+            configSource.close();
+        }
+    }
+
+    @Test
+    public void testTruncatedFileDoesNotGetPublished() throws Exception
+    {
+        File tempFile = File.createTempFile("deltaspike-watched", ".properties");
+        tempFile.deleteOnExit();
+        writeConfig(tempFile, "initial");
+
+        final PropertyFileConfigSource configSource = PropertyFileConfigSource.create(tempFile.toURI().toURL());
+        try
+        {
+            // every reload which changes the config gets recorded with the published value
+            final List<String> publishedValues = new CopyOnWriteArrayList<>();
+            configSource.setOnAttributeChange(changedKeys -> publishedValues.add(configSource.getPropertyValue(KEY)));
+
+            // like an editor which truncates the file before it writes the new content
+            long writeStart = System.nanoTime();
+            new FileWriter(tempFile).close();
+            writeConfig(tempFile, "changed");
+
+            // only a write which takes longer than the debounce period may publish the truncated file
+            Assume.assumeTrue(System.nanoTime() - writeStart < DEBOUNCE_NANOS);
+
+            long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            while (publishedValues.isEmpty() && System.currentTimeMillis() < timeout)
+            {
+                Thread.sleep(50L);
+            }
+
+            Assert.assertEquals(Collections.singletonList("changed"), publishedValues);
+        }
+        finally
+        {
+            configSource.close();
+        }
+    }
+
+    @Test
+    public void testConstructedConfigSourceStartsWatchingOnFirstAccess() throws Exception
+    {
+        File tempFile = File.createTempFile("deltaspike-watched", ".properties");
+        tempFile.deleteOnExit();
+        writeConfig(tempFile, "initial");
+
+        PropertyFileConfigSource configSource = new PropertyFileConfigSource(tempFile.toURI().toURL());
+        try
+        {
+            Assert.assertEquals("initial", configSource.getPropertyValue(KEY));
+
+            writeConfig(tempFile, "changed");
+
+            long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            while (!"changed".equals(configSource.getPropertyValue(KEY)) && System.currentTimeMillis() < timeout)
+            {
+                Thread.sleep(50L);
+            }
+
+            Assert.assertEquals("changed", configSource.getPropertyValue(KEY));
+        }
+        finally
+        {
+            configSource.close();
+        }
+    }
+
+    private void writeConfig(File file, String value) throws IOException
+    {
+        FileWriter fw = new FileWriter(file);
+        fw.write(PropertyFileConfigSource.RELOAD_MODE + "=" + PropertyFileConfigSource.RELOAD_MODE_WATCH + "\n");
+        fw.write(KEY + "=" + value);
+        fw.close();
+    }
+}
@@ -95,4 +95,14 @@ public class MessageFormattedMessageTest
     {
         assertEquals("At null on null, project deltaspike had 10 commits.", message.commitsInProject(null, "deltaspike", 10));
     }
+
+    @Test
+    public void testRepeatedMessageWithDifferentArguments()
+    {
+        // the second invocation reuses the already parsed MessageFormat
+        assertEquals("The income since 42 days is 12.34", message.incomeSinceDays(42, 12.34f));
+        assertEquals("The income since 7 days is 1.5", message.incomeSinceDays(7, 1.5f));
+        assertEquals("Welcome to DeltaSpike", message.welcomeTo("DeltaSpike"));
+        assertEquals("Welcome to CDI", message.welcomeTo("CDI"));
+    }
 }
@@ -45,6 +45,8 @@ import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 @RunWith(Arquillian.class)
@@ -111,4 +113,20 @@ public class HandlerComparatorTest
 
         assertThat(handlers.size(), is(4));
     }
+
+    @Test
+    public void assertResolvedHandlersGetReused()
+    {
+        Set<Annotation> qualifiers = new HashSet<Annotation>();
+        qualifiers.add(new CatchQualifierLiteral());
+
+        List<HandlerMethod<? extends Throwable>> handlers =
+                storage.getHandlersForException(NullPointerException.class, bm, qualifiers, false);
+
+        Set<Annotation> equalQualifiers = new HashSet<Annotation>();
+        equalQualifiers.add(new CatchQualifierLiteral());
+
+        assertSame(handlers, storage.getHandlersForException(NullPointerException.class, bm, equalQualifiers, false));
+        assertNotSame(handlers, storage.getHandlersForException(NullPointerException.class, bm, qualifiers, true));
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.deltaspike.test.core.impl.future;
 
 import org.apache.deltaspike.core.api.config.ConfigResolver;
 import org.apache.deltaspike.core.impl.config.PropertiesConfigSource;
+import org.apache.deltaspike.core.impl.future.PoolStatistics;
 import org.apache.deltaspike.core.impl.future.ThreadPoolManager;
 import org.apache.deltaspike.core.spi.config.ConfigSource;
 import org.jboss.arquillian.container.test.api.Deployment;
@@ -35,8 +36,11 @@ import javax.inject.Inject;
 import java.util.Collections;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.junit.Assert.assertEquals;
@@ -89,6 +93,74 @@ public class ThreadPoolManagerTest
         assertUsable(custom);
     }
 
+    @Test
+    public void forkJoinPool() throws ExecutionException, InterruptedException
+    {
+        addConfig("forkJoinPool", "futureable.pool.forkJoin.type", "FORK_JOIN",
+                "futureable.pool.forkJoin.parallelism", "3");
+        final ExecutorService forkJoin = manager.find("forkJoin");
+        assertSame(forkJoin, manager.find("forkJoin"));
+        assertEquals(3, ForkJoinPool.class.cast(forkJoin).getParallelism());
+        assertUsable(forkJoin);
+        assertEquals(ThreadPoolManager.TYPE_FORK_JOIN, manager.getStatistics("forkJoin").getType());
+    }
+
+    @Test
+    public void callerRunsPool() throws ExecutionException, InterruptedException
+    {
+        addConfig("callerRunsPool", "futureable.pool.callerRuns.coreSize", "1",
+                "futureable.pool.callerRuns.queue.type", "SYNCHRONOUS",
+                "futureable.pool.callerRuns.rejectionPolicy", "CALLER_RUNS");
+        final ExecutorService callerRuns = manager.find("callerRuns");
+
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final Future<String> blocking = callerRuns.submit(new Callable<String>()
+        {
+            @Override
+            public String call() throws Exception
+            {
+                blocker.await();
+                return "ok";
+            }
+        });
+
+        // the only thread is busy, thus the caller has to run the task itself
+        final Thread caller = Thread.currentThread();
+        assertEquals(Boolean.TRUE, callerRuns.submit(new Callable<Boolean>()
+        {
+            @Override
+            public Boolean call() throws Exception
+            {
+                return Thread.currentThread() == caller;
+            }
+        }).get());
+
+        blocker.countDown();
+        assertEquals("ok", blocking.get());
+
+        final PoolStatistics statistics = manager.getStatistics("callerRuns");
+        assertEquals(ThreadPoolManager.TYPE_THREAD_POOL, statistics.getType());
+        assertEquals(1, statistics.getRejections());
+        assertEquals(0, statistics.getQueueDepth());
+    }
+
+    private void addConfig(final String configName, final String... keyValues)
+    {
+        final Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2)
+        {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        ConfigResolver.addConfigSources(Collections.<ConfigSource>singletonList(new PropertiesConfigSource(properties)
+        {
+            @Override
+            public String getConfigName()
+            {
+                return configName;
+            }
+        }));
+    }
+
     private void assertUsable(final ExecutorService pool) throws InterruptedException, ExecutionException
     {
         assertEquals("ok", pool.submit(new Callable<String>()
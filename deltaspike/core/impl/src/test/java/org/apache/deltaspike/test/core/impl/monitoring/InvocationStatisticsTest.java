@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.monitoring;
+
+import org.apache.deltaspike.core.impl.monitoring.InvocationStatistics;
+import org.apache.deltaspike.core.impl.monitoring.LatencyHistogram;
+import org.apache.deltaspike.core.impl.monitoring.MethodStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+public class InvocationStatisticsTest
+{
+    @Test
+    public void testHistogramPercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0.5));
+
+        for (long i = 1; i <= 1000; i++)
+        {
+            histogram.record(i * 1000);
+        }
+
+        assertWithinPrecision(500000, histogram.getValueAtQuantile(0.5));
+        assertWithinPrecision(990000, histogram.getValueAtQuantile(0.99));
+        assertWithinPrecision(999000, histogram.getValueAtQuantile(0.999));
+        assertWithinPrecision(1000000, histogram.getValueAtQuantile(1.0));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0.99));
+    }
+
+    @Test
+    public void testHistogramExtremeValues()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        histogram.record(3);
+        histogram.record(Long.MAX_VALUE);
+
+        Assert.assertEquals(0, histogram.getValueAtQuantile(0.0));
+        Assert.assertEquals(3, histogram.getValueAtQuantile(0.5));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    public void testStatisticsPerMethod() throws Exception
+    {
+        InvocationStatistics invocationStatistics = new InvocationStatistics();
+        Method toString = Object.class.getMethod("toString");
+        Method hashCode = Object.class.getMethod("hashCode");
+
+        invocationStatistics.record(toString, 100);
+        invocationStatistics.record(toString, 300);
+        invocationStatistics.record(hashCode, 50);
+
+        MethodStatistics toStringStatistics = invocationStatistics.getMethodStatistics(toString);
+        Assert.assertEquals(2, toStringStatistics.getInvocations());
+        Assert.assertEquals(400, toStringStatistics.getTotalDurationInNanos());
+        Assert.assertEquals(200, toStringStatistics.getMeanDurationInNanos());
+        Assert.assertEquals(300, toStringStatistics.getMaxDurationInNanos());
+        Assert.assertEquals(1, invocationStatistics.getMethodStatistics(hashCode).getInvocations());
+        Assert.assertEquals(2, invocationStatistics.getMethodStatistics().size());
+
+        invocationStatistics.reset();
+        Assert.assertEquals(0, toStringStatistics.getInvocations());
+        Assert.assertEquals(0, toStringStatistics.getMaxDurationInNanos());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual)
+    {
+        // the histogram keeps 4 significant bits, thus the relative error is below 1/16
+        Assert.assertTrue("expected ~" + expected + " but was " + actual,
+            actual >= expected && actual <= expected + expected / 16);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.core.impl.throttling;
+
+import org.apache.deltaspike.core.impl.throttling.RateLimiter;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest
+{
+    @Test
+    public void burstThenWait()
+    {
+        final RateLimiter rateLimiter = new RateLimiter("ds.test.ratelimiter.burst", 2, 60000, 0);
+
+        assertEquals(0L, rateLimiter.reserve(1, 0));
+        assertEquals(0L, rateLimiter.reserve(1, 0));
+
+        // the bucket is empty and we don't want to wait
+        assertEquals(-1L, rateLimiter.reserve(1, 0));
+
+        // the next permit is available after half of the period
+        final long wait = rateLimiter.reserve(1, -1);
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(20));
+        assertTrue(wait <= TimeUnit.SECONDS.toNanos(30));
+    }
+
+    @Test
+    public void weightedReservation()
+    {
+        final RateLimiter rateLimiter = new RateLimiter("ds.test.ratelimiter.weight", 10, 60000, 0);
+
+        assertEquals(0L, rateLimiter.reserve(8, 0));
+        assertEquals(-1L, rateLimiter.reserve(3, 0));
+        assertEquals(0L, rateLimiter.reserve(2, 0));
+    }
+}
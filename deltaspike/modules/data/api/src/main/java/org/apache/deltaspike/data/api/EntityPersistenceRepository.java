@@ -71,6 +71,30 @@ public interface EntityPersistenceRepository<E, PK extends Serializable> extends
      */
     void attachAndRemove(E entity);
 
+    /**
+     * {@link #save(Object)}s all the given entities. The persistence context gets flushed
+     * and cleared every {@code batchSize} entities (see
+     * {@link org.apache.deltaspike.jpa.api.entitymanager.EntityManagerConfig#batchSize()}),
+     * and flushed once more at the end. Thus previously loaded entities get detached,
+     * as do merged entities of all but the last batch.
+     * @param entities          Entities to save.
+     */
+    void saveAll(Iterable<E> entities);
+
+    /**
+     * {@link #remove(Object)}s all the given managed entities, flushing and clearing
+     * the persistence context every {@code batchSize} entities.
+     * @param entities          Entities to remove.
+     */
+    void removeAll(Iterable<E> entities);
+
+    /**
+     * {@link #attachAndRemove(Object)}s all the given entities, flushing and clearing
+     * the persistence context every {@code batchSize} entities.
+     * @param entities          Entities to remove.
+     */
+    void attachAndRemoveAll(Iterable<E> entities);
+
     /**
      * Convenience access to {@link javax.persistence.EntityManager#refresh(Object)}.
      * @param entity            Entity to refresh.
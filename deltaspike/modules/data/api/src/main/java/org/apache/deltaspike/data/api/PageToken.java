@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Points to the position after the last entity of a page in keyset (seek) pagination.
+ * Holds the values of the sort attributes of this entity, in the order the sort attributes
+ * got defined on the {@link QueryResult}.
+ *
+ * @see QueryResult#withPageToken(PageToken)
+ * @see QueryResult#nextPageToken(java.util.List)
+ */
+public final class PageToken implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] values;
+
+    private PageToken(Object[] values)
+    {
+        this.values = values;
+    }
+
+    /**
+     * Create a token from the sort attribute values of the last seen entity.
+     *
+     * @param values Values of the sort attributes, none of them may be null.
+     * @return The page token.
+     */
+    public static PageToken of(Object... values)
+    {
+        if (values == null || values.length == 0)
+        {
+            throw new IllegalArgumentException("A page token needs at least one value");
+        }
+        for (Object value : values)
+        {
+            if (value == null)
+            {
+                throw new IllegalArgumentException("Sort attribute values of a page token must not be null");
+            }
+        }
+        return new PageToken(values.clone());
+    }
+
+    public Object[] getValues()
+    {
+        return values.clone();
+    }
+
+    public int size()
+    {
+        return values.length;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof PageToken))
+        {
+            return false;
+        }
+        return Arrays.equals(values, ((PageToken) o).values);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PageToken" + Arrays.toString(values);
+    }
+
+}
@@ -243,7 +243,8 @@ public interface QueryResult<E>
     QueryResult<E> previousPage();
 
     /**
-     * Count the number of pages.
+     * Count the number of pages. If the result list of the current page was fetched before
+     * and is shorter than the page size, it is the last page and no count query is executed.
      *
      * @return Page count.
      */
@@ -263,4 +264,30 @@ public interface QueryResult<E>
      */
     int pageSize();
 
+    /**
+     * Restrict the query result to the entities following the given page token
+     * (keyset or seek pagination). The query gets rewritten to
+     * {@code where (sort attributes) > (token values)} based on the attributes and
+     * directions defined with {@link #orderAsc(String)} and {@link #orderDesc(String)},
+     * so fetching a deep page costs the same as fetching the first one.
+     * <p/>
+     * The sort attributes have to be non-null and should end with a unique attribute
+     * (e.g. the id) to get a stable order. Replaces any offset defined by {@link #toPage(int)}
+     * or {@link #firstResult(int)}. Combine it with {@link #withPageSize(int)} to limit the page.
+     * Only supported for JPQL queries.
+     *
+     * @param token Token of the previous page, or {@code null} to start from the first page.
+     * @return Fluent API: the result instance.
+     */
+    QueryResult<E> withPageToken(PageToken token);
+
+    /**
+     * Create the token pointing after the last entity of the given page, based on the
+     * sort attributes of this query result.
+     *
+     * @param page A page previously fetched with this query result.
+     * @return The token to fetch the following page, or {@code null} if the page is empty.
+     */
+    PageToken nextPageToken(List<E> page);
+
 }
\ No newline at end of file
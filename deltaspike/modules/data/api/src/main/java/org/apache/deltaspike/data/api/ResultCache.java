@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the result of a query method, keyed by the method parameters. Subsequent calls with equal
+ * parameters return the cached result without looking up an EntityManager or executing the query.
+ * <p>
+ * The cached results of all methods of the repository entity are evicted when an entity is saved or
+ * removed through the repository, or when a modifying query of the entity is executed, and again once
+ * the writing transaction completed. The writing transaction itself bypasses the cache, and no results
+ * of the entity are cached while it is running. Changes made otherwise (e.g. directly on the
+ * EntityManager or by another application) are visible once the cached result expired.
+ * <p>
+ * Only results without entities are cached, e.g. scalars, DTOs or projections, since managed entities
+ * belong to the persistence context of the caller. Methods declaring an entity result are rejected,
+ * results which contain entities at runtime are not cached. Ignored for methods returning a
+ * {@link QueryResult} or a {@link java.util.stream.Stream}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ResultCache
+{
+    /**
+     * Time a cached result is valid.
+     * @return time to live, in {@link #timeUnit()}
+     */
+    long timeToLive() default 60;
+
+    /**
+     * Unit of {@link #timeToLive()}.
+     * @return time unit
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * Maximum number of cached results of the method.
+     * @return max size
+     */
+    int maxSize() default 1000;
+}
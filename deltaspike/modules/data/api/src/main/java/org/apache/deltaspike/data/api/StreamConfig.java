@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures how the result of a query method returning a {@link java.util.stream.Stream}
+ * is fetched. The stream reads the result lazily if the JPA provider supports it (JPA 2.2).
+ * <p>
+ * The underlying cursor is closed once the stream is fully consumed or closed. Streams which
+ * are not consumed to the end should be used in a try-with-resources block.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StreamConfig
+{
+    /**
+     * Number of rows fetched from the database in one round trip. Defaults to the value of
+     * {@code deltaspike.data.stream.fetch_size}, or the provider default if not configured.
+     * @return fetch size
+     */
+    int fetchSize() default 0;
+
+    /**
+     * Load the streamed entities read only, changes to them are not flushed.
+     * @return read only flag
+     */
+    boolean readOnly() default false;
+
+    /**
+     * Detach the streamed entities from the persistence context after the given number of
+     * elements was consumed, which keeps the persistence context small for large results.
+     * Streamed entities should not be used any more after consuming further elements.
+     * Defaults to {@code 0}, which keeps all entities managed.
+     * @return number of elements after which the consumed entities get detached
+     */
+    int detachInterval() default 0;
+}
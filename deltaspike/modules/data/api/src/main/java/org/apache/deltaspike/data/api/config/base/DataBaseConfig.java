@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.api.config.base;
+
+import org.apache.deltaspike.core.api.config.ConfigResolver;
+import org.apache.deltaspike.core.api.config.base.DeltaSpikeBaseConfig;
+
+public interface DataBaseConfig extends DeltaSpikeBaseConfig
+{
+    interface Batch
+    {
+        /**
+         * Can also be set for a single repository by appending the class name of the repository,
+         * e.g. {@code deltaspike.data.batch.size.org.acme.PersonRepository=500}.
+         */
+        String SIZE_KEY = "deltaspike.data.batch.size";
+
+        Integer SIZE = ConfigResolver.resolve(SIZE_KEY)
+                .as(Integer.class)
+                .withCurrentProjectStage(true)
+                .getValue();
+    }
+
+    interface Streaming
+    {
+        /**
+         * Default fetch size of query methods returning a stream, if not defined by
+         * {@link org.apache.deltaspike.data.api.StreamConfig#fetchSize()}.
+         */
+        Integer FETCH_SIZE = ConfigResolver.resolve("deltaspike.data.stream.fetch_size")
+                .as(Integer.class)
+                .withCurrentProjectStage(true)
+                .getValue();
+    }
+}
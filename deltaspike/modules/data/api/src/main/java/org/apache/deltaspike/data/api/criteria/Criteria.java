@@ -194,6 +194,15 @@ public interface Criteria<C, R>
      */
     Criteria<C, R> distinct();
 
+    /**
+     * Compile the structure of the criteria to a parameterized query template which is
+     * reused by all templated criteria of the same shape. Further executions only bind
+     * the values instead of building the whole query again.
+     * Criteria with selections are always built from scratch.
+     * @return              Fluent API: Criteria instance.
+     */
+    Criteria<C, R> templated();
+
     /**
      * Equals predicate.
      * @param att           The attribute to compare with.
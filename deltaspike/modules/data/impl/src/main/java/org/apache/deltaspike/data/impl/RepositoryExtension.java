@@ -25,6 +25,7 @@ import java.util.logging.Logger;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.BeforeBeanDiscovery;
 import javax.enterprise.inject.spi.BeforeShutdown;
 import javax.enterprise.inject.spi.Extension;
@@ -35,6 +36,8 @@ import org.apache.deltaspike.core.util.ClassDeactivationUtils;
 import org.apache.deltaspike.data.api.AbstractEntityRepository;
 import org.apache.deltaspike.data.api.AbstractFullEntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.data.impl.audit.AuditEntityListener;
+import org.apache.deltaspike.data.impl.criteria.CriteriaQueryTemplate;
 
 /**
  * The main extension class for Repositories, based on PartialBeans. Handles following events:<br/>
@@ -127,8 +130,11 @@ public class RepositoryExtension implements Extension, Deactivatable
         return result;
     }
     
-    protected void cleanup(@Observes BeforeShutdown beforeShutdown)
+    protected void cleanup(@Observes BeforeShutdown beforeShutdown, BeanManager beanManager)
     {
+        AuditEntityListener.clearCaches(beanManager);
+        CriteriaQueryTemplate.clear();
+
         //we can reset it in any case,
         //because every application produced a copy as application-scoped bean (see RepositoryComponentsFactory)
         REPOSITORY_CLASSES.clear();
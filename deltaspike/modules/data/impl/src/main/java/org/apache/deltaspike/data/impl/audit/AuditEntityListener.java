@@ -19,7 +19,10 @@
 package org.apache.deltaspike.data.impl.audit;
 
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.persistence.PrePersist;
@@ -30,16 +33,30 @@ import org.apache.deltaspike.core.api.provider.BeanManagerProvider;
 public class AuditEntityListener
 {
 
+    /**
+     * The listener beans get looked up once per BeanManager (i.e. per application).
+     * The contextual references get resolved per entity write to respect the scope of the listeners.
+     */
+    private static final ConcurrentMap<BeanManager, AuditListenerBeans> LISTENER_BEANS =
+            new ConcurrentHashMap<BeanManager, AuditListenerBeans>();
+
     @PrePersist
     public void persist(Object entity)
     {
         BeanManager beanManager = BeanManagerProvider.getInstance().getBeanManager();
-        Set<Bean<?>> beans = beanManager.getBeans(PrePersistAuditListener.class);
-        for (Bean<?> bean : beans)
+        for (Bean<?> bean : getListenerBeans(beanManager).prePersistBeans)
         {
-            PrePersistAuditListener result = (PrePersistAuditListener) beanManager.getReference(
-                    bean, PrePersistAuditListener.class, beanManager.createCreationalContext(bean));
-            result.prePersist(entity);
+            CreationalContext<?> creationalContext = beanManager.createCreationalContext(bean);
+            try
+            {
+                PrePersistAuditListener result = (PrePersistAuditListener) beanManager.getReference(
+                        bean, PrePersistAuditListener.class, creationalContext);
+                result.prePersist(entity);
+            }
+            finally
+            {
+                creationalContext.release();
+            }
         }
     }
 
@@ -47,12 +64,55 @@ public class AuditEntityListener
     public void update(Object entity)
     {
         BeanManager beanManager = BeanManagerProvider.getInstance().getBeanManager();
-        Set<Bean<?>> beans = beanManager.getBeans(PreUpdateAuditListener.class);
-        for (Bean<?> bean : beans)
+        for (Bean<?> bean : getListenerBeans(beanManager).preUpdateBeans)
+        {
+            CreationalContext<?> creationalContext = beanManager.createCreationalContext(bean);
+            try
+            {
+                PreUpdateAuditListener result = (PreUpdateAuditListener) beanManager.getReference(
+                        bean, PreUpdateAuditListener.class, creationalContext);
+                result.preUpdate(entity);
+            }
+            finally
+            {
+                creationalContext.release();
+            }
+        }
+    }
+
+    /**
+     * Drops the listener beans of the given BeanManager as well as the cached audited properties of the entities.
+     */
+    public static void clearCaches(BeanManager beanManager)
+    {
+        LISTENER_BEANS.remove(beanManager);
+        AuditProvider.clearAuditedProperties();
+    }
+
+    private static AuditListenerBeans getListenerBeans(BeanManager beanManager)
+    {
+        AuditListenerBeans listenerBeans = LISTENER_BEANS.get(beanManager);
+        if (listenerBeans == null)
+        {
+            listenerBeans = new AuditListenerBeans(beanManager);
+            AuditListenerBeans existing = LISTENER_BEANS.putIfAbsent(beanManager, listenerBeans);
+            if (existing != null)
+            {
+                listenerBeans = existing;
+            }
+        }
+        return listenerBeans;
+    }
+
+    private static final class AuditListenerBeans
+    {
+        private final Set<Bean<?>> prePersistBeans;
+        private final Set<Bean<?>> preUpdateBeans;
+
+        private AuditListenerBeans(BeanManager beanManager)
         {
-            PreUpdateAuditListener result = (PreUpdateAuditListener) beanManager.getReference(
-                    bean, PreUpdateAuditListener.class, beanManager.createCreationalContext(bean));
-            result.preUpdate(entity);
+            this.prePersistBeans = beanManager.getBeans(PrePersistAuditListener.class);
+            this.preUpdateBeans = beanManager.getBeans(PreUpdateAuditListener.class);
         }
     }
 
@@ -19,41 +19,93 @@
 package org.apache.deltaspike.data.impl.audit;
 
 import java.lang.annotation.Annotation;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 import org.apache.deltaspike.data.impl.property.Property;
 import org.apache.deltaspike.data.impl.property.query.AnnotatedPropertyCriteria;
 import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
-import org.apache.deltaspike.data.impl.property.query.PropertyQuery;
 
 abstract class AuditProvider implements PrePersistAuditListener, PreUpdateAuditListener
 {
 
     protected static final Logger log = Logger.getLogger(AuditProvider.class.getName());
 
-    String propertyName(Object entity, Property<Object> property)
+    /**
+     * The audit properties per annotation and entity class, the class scan is only done once per entity class.
+     * Gets cleared at shutdown by the RepositoryExtension.
+     */
+    private static final ConcurrentMap<Class<? extends Annotation>, ConcurrentMap<Class<?>, List<AuditedProperty>>>
+            AUDITED_PROPERTIES = new ConcurrentHashMap<>();
+
+    String propertyName(Object entity, AuditedProperty property)
     {
         return entity.getClass().getSimpleName() + "." + property.getName();
     }
 
-    List<Property<Object>> getProperties(
+    List<AuditedProperty> getProperties(
             Object entity,
             Class<? extends Annotation> createdAnnotation,
             Class<? extends Annotation> modifiedAnnotation,
             boolean create)
     {
-        List<Property<Object>> properties = new LinkedList<>();
-        PropertyQuery<Object> query = PropertyQueries.createQuery(entity.getClass())
-                .addCriteria(new AnnotatedPropertyCriteria(modifiedAnnotation));
-        properties.addAll(query.getWritableResultList());
-        if (create)
+        List<AuditedProperty> modified = getProperties(entity.getClass(), modifiedAnnotation);
+        if (!create)
+        {
+            return modified;
+        }
+        List<AuditedProperty> created = getProperties(entity.getClass(), createdAnnotation);
+        if (created.isEmpty())
+        {
+            return modified;
+        }
+        if (modified.isEmpty())
         {
-            query = PropertyQueries.<Object> createQuery(entity.getClass())
-                    .addCriteria(new AnnotatedPropertyCriteria(createdAnnotation));
-            properties.addAll(query.getWritableResultList());
+            return created;
         }
+        List<AuditedProperty> properties = new ArrayList<>(modified.size() + created.size());
+        properties.addAll(modified);
+        properties.addAll(created);
         return properties;
     }
+
+    private static List<AuditedProperty> getProperties(Class<?> entityClass, Class<? extends Annotation> annotation)
+    {
+        ConcurrentMap<Class<?>, List<AuditedProperty>> byEntityClass = AUDITED_PROPERTIES.get(annotation);
+        if (byEntityClass == null)
+        {
+            byEntityClass = new ConcurrentHashMap<>();
+            ConcurrentMap<Class<?>, List<AuditedProperty>> existing =
+                    AUDITED_PROPERTIES.putIfAbsent(annotation, byEntityClass);
+            if (existing != null)
+            {
+                byEntityClass = existing;
+            }
+        }
+
+        List<AuditedProperty> properties = byEntityClass.get(entityClass);
+        if (properties == null)
+        {
+            List<Property<Object>> found = PropertyQueries.<Object> createQuery(entityClass)
+                    .addCriteria(new AnnotatedPropertyCriteria(annotation))
+                    .getWritableResultList();
+            properties = new ArrayList<>(found.size());
+            for (Property<Object> property : found)
+            {
+                properties.add(new AuditedProperty(property));
+            }
+            properties = Collections.unmodifiableList(properties);
+            byEntityClass.putIfAbsent(entityClass, properties);
+        }
+        return properties;
+    }
+
+    static void clearAuditedProperties()
+    {
+        AUDITED_PROPERTIES.clear();
+    }
 }
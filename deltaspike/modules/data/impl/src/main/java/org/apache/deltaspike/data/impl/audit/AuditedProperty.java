@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.audit;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.apache.deltaspike.data.impl.property.FieldProperty;
+import org.apache.deltaspike.data.impl.property.MethodProperty;
+import org.apache.deltaspike.data.impl.property.Property;
+import org.apache.deltaspike.data.impl.property.Reflections;
+
+/**
+ * A writable audit property of an entity class with a {@link MethodHandle} based setter.
+ */
+class AuditedProperty
+{
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Property<Object> property;
+    private final MethodHandle setter;
+
+    AuditedProperty(Property<Object> property)
+    {
+        this.property = property;
+        this.setter = createSetter(property);
+    }
+
+    Property<Object> getProperty()
+    {
+        return property;
+    }
+
+    String getName()
+    {
+        return property.getName();
+    }
+
+    Class<Object> getJavaClass()
+    {
+        return property.getJavaClass();
+    }
+
+    boolean isAnnotationPresent(Class<? extends Annotation> annotation)
+    {
+        return property.getAnnotatedElement().isAnnotationPresent(annotation);
+    }
+
+    <A extends Annotation> A getAnnotation(Class<A> annotation)
+    {
+        return property.getAnnotatedElement().getAnnotation(annotation);
+    }
+
+    void setValue(Object entity, Object value)
+    {
+        if (setter == null)
+        {
+            property.setValue(entity, value);
+            return;
+        }
+        try
+        {
+            setter.invokeExact(entity, value);
+        }
+        catch (RuntimeException e)
+        {
+            throw e;
+        }
+        catch (Error e)
+        {
+            throw e;
+        }
+        catch (Throwable t)
+        {
+            throw new RuntimeException(t);
+        }
+    }
+
+    private static MethodHandle createSetter(Property<Object> property)
+    {
+        try
+        {
+            MethodHandle handle = null;
+            if (property instanceof FieldProperty)
+            {
+                Field field = ((FieldProperty<Object>) property).getAnnotatedElement();
+                handle = MethodHandles.lookup().unreflectSetter(Reflections.setAccessible(field));
+            }
+            else if (property instanceof MethodProperty)
+            {
+                Method setterMethod = ((MethodProperty<Object>) property).getSetterMethod();
+                if (setterMethod != null)
+                {
+                    handle = MethodHandles.lookup().unreflect(Reflections.setAccessible(setterMethod));
+                }
+            }
+            return handle == null ? null : handle.asType(SETTER_TYPE);
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            // e.g. restricted by a SecurityManager, the reflection based setter is used instead
+            return null;
+        }
+    }
+
+}
@@ -51,13 +51,13 @@ class PrincipalProvider extends AuditProvider
 
     private void updatePrincipal(Object entity, boolean create)
     {
-        for (Property<Object> property : getProperties(entity, CreatedBy.class, ModifiedBy.class, create))
+        for (AuditedProperty property : getProperties(entity, CreatedBy.class, ModifiedBy.class, create))
         {
             setProperty(entity, property, create);
         }
     }
 
-    private void setProperty(Object entity, Property<Object> property, boolean create)
+    private void setProperty(Object entity, AuditedProperty property, boolean create)
     {
         try
         {
@@ -65,7 +65,7 @@ class PrincipalProvider extends AuditProvider
             {
                 return;
             }
-            Object value = resolvePrincipal(entity, property);
+            Object value = resolvePrincipal(entity, property.getProperty());
             property.setValue(entity, value);
             log.log(Level.FINER, "Updated {0} with {1}", new Object[] { propertyName(entity, property), value });
         }
@@ -76,11 +76,11 @@ class PrincipalProvider extends AuditProvider
         }
     }
 
-    private boolean isCorrectContext(Property<Object> property, boolean create)
+    private boolean isCorrectContext(AuditedProperty property, boolean create)
     {
-        if (create && property.getAnnotatedElement().isAnnotationPresent(ModifiedBy.class))
+        if (create && property.isAnnotationPresent(ModifiedBy.class))
         {
-            ModifiedBy annotation = property.getAnnotatedElement().getAnnotation(ModifiedBy.class);
+            ModifiedBy annotation = property.getAnnotation(ModifiedBy.class);
             if (!annotation.onCreate())
             {
                 return false;
@@ -101,7 +101,7 @@ class PrincipalProvider extends AuditProvider
             return result;
         }
         throw new IllegalArgumentException("Principal " + (beans.isEmpty() ? "not found" : "not unique") +
-                " for " + propertyName(entity, property));
+                " for " + entity.getClass().getSimpleName() + "." + property.getName());
     }
 
 }
@@ -24,7 +24,6 @@ import java.util.logging.Level;
 
 import org.apache.deltaspike.data.api.audit.CreatedOn;
 import org.apache.deltaspike.data.api.audit.ModifiedOn;
-import org.apache.deltaspike.data.impl.property.Property;
 
 /**
  * Set timestamps on marked properties.
@@ -47,13 +46,13 @@ class TimestampsProvider extends AuditProvider
     private void updateTimestamps(Object entity, boolean create)
     {
         long systime = System.currentTimeMillis();
-        for (Property<Object> property : getProperties(entity, CreatedOn.class, ModifiedOn.class, create))
+        for (AuditedProperty property : getProperties(entity, CreatedOn.class, ModifiedOn.class, create))
         {
             setProperty(entity, property, systime, create);
         }
     }
 
-    private void setProperty(Object entity, Property<Object> property, long systime, boolean create)
+    private void setProperty(Object entity, AuditedProperty property, long systime, boolean create)
     {
         try
         {
@@ -72,11 +71,11 @@ class TimestampsProvider extends AuditProvider
         }
     }
 
-    private boolean isCorrectContext(Property<Object> property, boolean create)
+    private boolean isCorrectContext(AuditedProperty property, boolean create)
     {
-        if (create && property.getAnnotatedElement().isAnnotationPresent(ModifiedOn.class))
+        if (create && property.isAnnotationPresent(ModifiedOn.class))
         {
-            ModifiedOn annotation = property.getAnnotatedElement().getAnnotation(ModifiedOn.class);
+            ModifiedOn annotation = property.getAnnotation(ModifiedOn.class);
             if (!annotation.onCreate())
             {
                 return false;
@@ -33,7 +33,9 @@ public class MethodQueryBuilder extends QueryBuilder
     public Object execute(CdiQueryInvocationContext context)
     {
         Query jpaQuery = createJpaQuery(context);
-        return context.executeQuery(jpaQuery);
+        Object result = context.executeQuery(jpaQuery);
+        Projection projection = context.getRepositoryMethodMetadata().getProjection();
+        return projection == null ? result : projection.mapResult(result);
     }
 
     private Query createJpaQuery(CdiQueryInvocationContext context)
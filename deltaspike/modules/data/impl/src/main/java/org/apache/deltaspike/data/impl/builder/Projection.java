@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder;
+
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.deltaspike.data.impl.meta.RepositoryMetadata;
+import org.apache.deltaspike.data.impl.property.query.NamedPropertyCriteria;
+import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
+
+/**
+ * Projection of a method expression to a DTO instead of the entity. Only the projected
+ * attributes are selected, the results are neither managed nor dirty checked.
+ * <p/>
+ * DTO classes need a public constructor whose parameters are mapped to entity attributes by
+ * {@link ConstructorProperties} or by their names (compiled with {@code -parameters}), which results in a
+ * {@code select new} query. Interfaces are backed by the selected values of their getters and must not
+ * declare default methods.
+ */
+public final class Projection
+{
+
+    private final Class<?> type;
+    private final List<String> properties;
+    private final boolean constructor;
+
+    private Projection(Class<?> type, List<String> properties, boolean constructor)
+    {
+        this.type = type;
+        this.properties = properties;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Creates the projection for the result type of a repository method.
+     *
+     * @return The projection, or {@code null} if the method returns entities or simple values.
+     * @throws MethodExpressionException if the DTO cannot be mapped to the entity attributes.
+     */
+    public static Projection of(RepositoryMetadata repo, Method method)
+    {
+        Class<?> entityClass = repo.getEntityMetadata().getEntityClass();
+        Class<?> type = resultType(method);
+        if (type == null || type.isPrimitive() || type.isArray() || type.isEnum()
+                || type.getName().startsWith("java.") || type.getName().startsWith("javax.")
+                || type.isAssignableFrom(entityClass) || entityClass.isAssignableFrom(type))
+        {
+            return null;
+        }
+
+        List<String> properties = type.isInterface() ? getterProperties(type) : constructorProperties(type);
+        if (properties == null || properties.isEmpty())
+        {
+            throw new MethodExpressionException(type.getName(), repo.getRepositoryClass(), method.getName());
+        }
+        for (String property : properties)
+        {
+            if (PropertyQueries.createQuery(entityClass)
+                    .addCriteria(new NamedPropertyCriteria(property)).getFirstResult() == null)
+            {
+                throw new MethodExpressionException(property, repo.getRepositoryClass(), method.getName());
+            }
+        }
+        return new Projection(type, properties, !type.isInterface());
+    }
+
+    public String selectQuery(String entityName)
+    {
+        StringBuilder builder = new StringBuilder("select ");
+        if (constructor)
+        {
+            builder.append("new ").append(type.getName()).append("(");
+        }
+        for (int i = 0; i < properties.size(); i++)
+        {
+            if (i > 0)
+            {
+                builder.append(", ");
+            }
+            builder.append(QueryBuilder.ENTITY_NAME).append(".").append(properties.get(i));
+        }
+        if (constructor)
+        {
+            builder.append(")");
+        }
+        return builder.append(" from ").append(entityName).append(" ").append(QueryBuilder.ENTITY_NAME)
+                .toString();
+    }
+
+    /**
+     * Maps the query result to the projection type. Constructor projections are already
+     * created by the JPA provider.
+     */
+    public Object mapResult(Object result)
+    {
+        if (constructor || result == null)
+        {
+            return result;
+        }
+        if (result instanceof List)
+        {
+            List<Object> mapped = new ArrayList<Object>(((List<?>) result).size());
+            for (Object row : (List<?>) result)
+            {
+                mapped.add(mapRow(row));
+            }
+            return mapped;
+        }
+        if (result instanceof Stream)
+        {
+            return ((Stream<?>) result).map(this::mapRow);
+        }
+        if (result instanceof Optional)
+        {
+            return ((Optional<?>) result).map(this::mapRow);
+        }
+        return mapRow(result);
+    }
+
+    public Class<?> getType()
+    {
+        return type;
+    }
+
+    public List<String> getProperties()
+    {
+        return properties;
+    }
+
+    private Object mapRow(Object row)
+    {
+        if (row == null)
+        {
+            return null;
+        }
+        Object[] values = row instanceof Object[] ? (Object[]) row : new Object[] { row };
+        Map<String, Object> byProperty = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < properties.size(); i++)
+        {
+            byProperty.put(properties.get(i), values[i]);
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                new ProjectionInvocationHandler(type, byProperty));
+    }
+
+    private static Class<?> resultType(Method method)
+    {
+        Class<?> returnType = method.getReturnType();
+        if (Collection.class.isAssignableFrom(returnType) || Stream.class.isAssignableFrom(returnType)
+                || Optional.class.isAssignableFrom(returnType))
+        {
+            Type genericType = method.getGenericReturnType();
+            if (genericType instanceof ParameterizedType)
+            {
+                Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+                return argument instanceof Class ? (Class<?>) argument : null;
+            }
+            return null;
+        }
+        return returnType;
+    }
+
+    private static List<String> getterProperties(Class<?> type)
+    {
+        List<String> result = new ArrayList<String>();
+        for (Method method : type.getMethods())
+        {
+            if (Modifier.isStatic(method.getModifiers()))
+            {
+                continue;
+            }
+            // default methods might call getters of attributes which are not selected
+            if (method.isDefault())
+            {
+                return null;
+            }
+            String property = propertyName(method);
+            if (property == null)
+            {
+                return null;
+            }
+            result.add(property);
+        }
+        // getMethods() has no defined order, keep the queries stable
+        result.sort(Comparator.naturalOrder());
+        return result;
+    }
+
+    private static String propertyName(Method method)
+    {
+        String name = method.getName();
+        if (method.getParameterTypes().length > 0 || Void.TYPE.equals(method.getReturnType()))
+        {
+            return null;
+        }
+        int prefix = name.startsWith("get") ? 3 : name.startsWith("is") ? 2 : 0;
+        if (prefix == 0 || name.length() == prefix)
+        {
+            return null;
+        }
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static List<String> constructorProperties(Class<?> type)
+    {
+        if (Modifier.isAbstract(type.getModifiers())
+                || (type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers())))
+        {
+            return null;
+        }
+        Constructor<?>[] constructors = type.getConstructors();
+        Arrays.sort(constructors, new Comparator<Constructor<?>>()
+        {
+            @Override
+            public int compare(Constructor<?> c1, Constructor<?> c2)
+            {
+                return c2.getParameterCount() - c1.getParameterCount();
+            }
+        });
+        for (Constructor<?> constructor : constructors)
+        {
+            if (constructor.getParameterCount() == 0)
+            {
+                continue;
+            }
+            List<String> names = parameterNames(constructor);
+            if (names != null)
+            {
+                return names;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> parameterNames(Constructor<?> constructor)
+    {
+        ConstructorProperties mapping = constructor.getAnnotation(ConstructorProperties.class);
+        if (mapping != null)
+        {
+            return mapping.value().length == constructor.getParameterCount() ? Arrays.asList(mapping.value()) : null;
+        }
+        List<String> result = new ArrayList<String>();
+        for (Parameter parameter : constructor.getParameters())
+        {
+            if (!parameter.isNamePresent())
+            {
+                return null;
+            }
+            result.add(parameter.getName());
+        }
+        return result;
+    }
+
+    private static final class ProjectionInvocationHandler implements InvocationHandler
+    {
+        private final Class<?> type;
+        private final Map<String, Object> values;
+
+        ProjectionInvocationHandler(Class<?> type, Map<String, Object> values)
+        {
+            this.type = type;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            if ("equals".equals(method.getName()) && method.getParameterTypes().length == 1)
+            {
+                return args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof ProjectionInvocationHandler
+                        && values.equals(((ProjectionInvocationHandler) Proxy.getInvocationHandler(args[0])).values);
+            }
+            if ("hashCode".equals(method.getName()) && method.getParameterTypes().length == 0)
+            {
+                return values.hashCode();
+            }
+            if ("toString".equals(method.getName()) && method.getParameterTypes().length == 0)
+            {
+                return type.getSimpleName() + values;
+            }
+            return values.get(propertyName(method));
+        }
+    }
+
+}
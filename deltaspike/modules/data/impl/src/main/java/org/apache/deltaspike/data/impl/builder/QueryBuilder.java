@@ -34,6 +34,7 @@ public abstract class QueryBuilder
     public static final String QUERY_SELECT = "select e from {0} e";
     public static final String QUERY_COUNT = "select count(e) from {0} e";
     public static final String QUERY_DELETE = "delete from {0} e";
+    public static final String QUERY_UPDATE = "update {0} e";
     public static final String ENTITY_NAME = "e";
 
     public static String selectQuery(String entityName)
@@ -46,6 +47,11 @@ public abstract class QueryBuilder
         return MessageFormat.format(QUERY_DELETE, entityName);
     }
 
+    public static String updateQuery(String entityName)
+    {
+        return MessageFormat.format(QUERY_UPDATE, entityName);
+    }
+
     public static String countQuery(String entityName)
     {
         return MessageFormat.format(QUERY_COUNT, entityName);
@@ -26,7 +26,6 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.apache.deltaspike.data.api.QueryResult;
-import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
 import org.apache.deltaspike.data.impl.meta.RepositoryMethodType;
 import org.apache.deltaspike.data.impl.meta.RepositoryMethodMetadata;
 
@@ -56,9 +55,13 @@ public class QueryBuilderFactory
         }
     }
 
-    public QueryBuilder build(RepositoryMethodMetadata methodMetadata, CdiQueryInvocationContext context)
+    /**
+     * Creates the builder of a repository method. The builders are stateless, so the result
+     * can be kept in the method metadata.
+     */
+    public QueryBuilder build(RepositoryMethodMetadata methodMetadata)
     {
-        QueryBuilder builder = getQueryBuilder(context.getRepositoryMethodMetadata().getMethodType());
+        QueryBuilder builder = getQueryBuilder(methodMetadata.getMethodType());
 
         if (QueryResult.class.equals(methodMetadata.getMethod().getReturnType()))
         {
@@ -27,6 +27,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.deltaspike.data.impl.builder.MethodExpressionException;
+import org.apache.deltaspike.data.impl.builder.Projection;
 import org.apache.deltaspike.data.impl.builder.QueryBuilder;
 import org.apache.deltaspike.data.impl.builder.QueryBuilderContext;
 import org.apache.deltaspike.data.impl.meta.RepositoryMethodPrefix;
@@ -45,19 +46,36 @@ public class QueryRoot extends QueryPart
 
     private final String entityName;
     private final RepositoryMethodPrefix methodPrefix;
+    private final Projection projection;
 
+    private UpdateQueryPart updatePart;
     private String jpqlQuery;
     private List<ParameterUpdate> paramUpdates;
 
     protected QueryRoot(String entityName, RepositoryMethodPrefix methodPrefix)
+    {
+        this(entityName, methodPrefix, null);
+    }
+
+    protected QueryRoot(String entityName, RepositoryMethodPrefix methodPrefix, Projection projection)
     {
         this.entityName = entityName;
         this.methodPrefix = methodPrefix;
+        this.projection = projection;
     }
 
     public static QueryRoot create(String method, RepositoryMetadata repo, RepositoryMethodPrefix prefix)
     {
-        QueryRoot root = new QueryRoot(repo.getEntityMetadata().getEntityName(), prefix);
+        return create(method, repo, prefix, null);
+    }
+
+    /**
+     * Creates the query tree of a method expression selecting the given projection instead of the entity.
+     */
+    public static QueryRoot create(String method, RepositoryMetadata repo, RepositoryMethodPrefix prefix,
+            Projection projection)
+    {
+        QueryRoot root = new QueryRoot(repo.getEntityMetadata().getEntityName(), prefix, projection);
         root.build(method, method, repo);
         root.createJpql();
         return root;
@@ -76,6 +94,11 @@ public class QueryRoot extends QueryPart
     @Override
     protected QueryPart build(String queryPart, String method, RepositoryMetadata repo)
     {
+        if (methodPrefix.isUpdate())
+        {
+            updatePart = new UpdateQueryPart();
+            updatePart.build(methodPrefix.getUpdateProperties(), method, repo);
+        }
         String[] orderByParts = splitByKeyword(queryPart, "OrderBy");
         if (hasQueryConditions(orderByParts))
         {
@@ -107,10 +130,19 @@ public class QueryRoot extends QueryPart
         {
             ctx.append(QueryBuilder.deleteQuery(entityName));
         }
+        else if (methodPrefix.isUpdate())
+        {
+            ctx.append(QueryBuilder.updateQuery(entityName));
+            updatePart.buildQuery(ctx);
+        }
         else if (methodPrefix.isCount())
         {
             ctx.append(QueryBuilder.countQuery(entityName));
         }
+        else if (projection != null)
+        {
+            ctx.append(projection.selectQuery(entityName));
+        }
         else
         {
             ctx.append(QueryBuilder.selectQuery(entityName));
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.part;
+
+import static org.apache.deltaspike.data.impl.util.QueryUtils.splitByKeyword;
+import static org.apache.deltaspike.data.impl.util.QueryUtils.uncapitalize;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.deltaspike.data.impl.builder.QueryBuilder;
+import org.apache.deltaspike.data.impl.builder.QueryBuilderContext;
+import org.apache.deltaspike.data.impl.meta.RepositoryMetadata;
+
+/**
+ * Set clause of a bulk update method expression. The new values are the first method
+ * parameters, followed by the parameters of the where clause.
+ */
+class UpdateQueryPart extends BasePropertyQueryPart
+{
+
+    private final List<String> properties = new LinkedList<String>();
+
+    @Override
+    protected QueryPart build(String queryPart, String method, RepositoryMetadata repo)
+    {
+        for (String property : splitByKeyword(queryPart, "And"))
+        {
+            String name = uncapitalize(property);
+            validate(name, method, repo);
+            properties.add(rewriteSeparator(name));
+        }
+        return this;
+    }
+
+    @Override
+    protected QueryPart buildQuery(QueryBuilderContext ctx)
+    {
+        ctx.append(" set ");
+        for (Iterator<String> it = properties.iterator(); it.hasNext();)
+        {
+            ctx.append(QueryBuilder.ENTITY_NAME).append(".").append(it.next())
+                    .append(" = ?").append(String.valueOf(ctx.increment()));
+            if (it.hasNext())
+            {
+                ctx.append(", ");
+            }
+        }
+        return this;
+    }
+
+}
@@ -19,15 +19,17 @@
 package org.apache.deltaspike.data.impl.builder.postprocessor;
 
 import static org.apache.deltaspike.core.util.StringUtils.isNotEmpty;
-import static org.apache.deltaspike.data.impl.util.QueryUtils.nullSafeValue;
+import static org.apache.deltaspike.data.impl.util.QueryUtils.indexOfKeyword;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 import javax.persistence.Query;
 
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
 import org.apache.deltaspike.data.impl.handler.JpaQueryPostProcessor;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethodMetadata;
 import org.apache.deltaspike.data.impl.param.Parameters;
 import org.apache.deltaspike.data.impl.util.jpa.QueryStringExtractorFactory;
 
@@ -36,102 +38,113 @@ public class CountQueryPostProcessor implements JpaQueryPostProcessor
 
     private static final Logger log = Logger.getLogger(CountQueryPostProcessor.class.getName());
 
+    private static final Pattern JOIN_FETCH = Pattern.compile("\\bjoin\\s+fetch\\b", Pattern.CASE_INSENSITIVE);
+
     private final QueryStringExtractorFactory factory = new QueryStringExtractorFactory();
 
     @Override
     public Query postProcess(CdiQueryInvocationContext context, Query query)
     {
         String queryString = getQueryString(context, query);
-        QueryExtraction extract = new QueryExtraction(queryString);
-        String count = extract.rewriteToCount();
-        log.log(Level.FINER, "Rewrote query {0} to {1}", new Object[] { queryString, count });
+        RepositoryMethodMetadata methodMetadata = context.getRepositoryMethodMetadata();
+        String count = methodMetadata.getCountQuery(queryString);
+        if (count == null)
+        {
+            count = rewriteToCount(queryString);
+            methodMetadata.setCountQuery(queryString, count);
+            log.log(Level.FINER, "Rewrote query {0} to {1}", new Object[] { queryString, count });
+        }
         Query result = context.getEntityManager().createQuery(count);
         Parameters params = context.getParams();
         params.applyTo(result);
         return result;
     }
 
-    private String getQueryString(CdiQueryInvocationContext context, Query query)
+    /**
+     * Rewrite a JPQL select query to count its results. Only the top level clauses of the query
+     * are considered, i.e. string literals and sub queries are left untouched.
+     */
+    public static String rewriteToCount(String query)
     {
-        if (isNotEmpty(context.getQueryString()))
+        int selectIndex = indexOfKeyword(query, "select");
+        int fromIndex = indexOfKeyword(query, "from");
+        if (fromIndex < 0)
         {
-            return context.getQueryString();
+            throw new IllegalArgumentException("Cannot create count query for " + query);
         }
-        return factory.extract(query);
+        int orderByIndex = indexOfKeyword(query, "order");
+        int end = orderByIndex > fromIndex ? orderByIndex : query.length();
+
+        String remainder = query.substring(fromIndex, end).trim();
+        String alias = extractAlias(remainder);
+        String selection = selectIndex >= 0 ? query.substring(selectIndex + "select".length(), fromIndex).trim() : "";
+
+        return new StringBuilder()
+                .append("select count(")
+                .append(countExpression(selection, alias))
+                .append(") ")
+                .append(JOIN_FETCH.matcher(remainder).replaceAll("join"))
+                .toString();
     }
 
-    private static class QueryExtraction
+    private static String countExpression(String selection, String alias)
     {
-
-        private String select;
-        private String from;
-        private String where;
-
-        private String entityName;
-        private final String query;
-
-        public QueryExtraction(String query)
-        {
-            this.query = query;
-        }
-
-        public String rewriteToCount()
+        // multiple selections and constructor expressions cannot be counted directly
+        if (selection.isEmpty() || indexOfKeyword(selection, "new") == 0 || hasTopLevelComma(selection))
         {
-            splitQuery();
-            extractEntityName();
-            return rewrite();
+            return alias;
         }
+        return selection;
+    }
 
-        private String rewrite()
+    private static String extractAlias(String fromClause)
+    {
+        // from Entity [as] alias [, ...] [join ...] [where ...]
+        String[] tokens = fromClause.split("[\\s,]+");
+        int aliasIndex = tokens.length > 3 && "as".equalsIgnoreCase(tokens[2]) ? 3 : 2;
+        if (tokens.length > aliasIndex && !isClauseKeyword(tokens[aliasIndex]))
         {
-            return new StringBuilder()
-                    .append("select count(")
-                        .append(nullSafeValue(select, entityName))
-                    .append(") ")
-                    .append(from)
-                    .append(nullSafeValue(where))
-                    .toString();
+            return tokens[aliasIndex];
         }
+        return "*";
+    }
 
-        private void extractEntityName()
-        {
-            String[] split = from.split(" ");
-            if (split.length > 1)
-            {
-                entityName = split[split.length - 1];
-            }
-            else
-            {
-                entityName = "*";
-            }
-        }
+    private static boolean isClauseKeyword(String token)
+    {
+        String lower = token.toLowerCase();
+        return lower.equals("where") || lower.equals("join") || lower.equals("inner") || lower.equals("left")
+                || lower.equals("group") || lower.equals("having");
+    }
 
-        private void splitQuery()
+    private static boolean hasTopLevelComma(String selection)
+    {
+        int depth = 0;
+        for (int i = 0; i < selection.length(); i++)
         {
-            String lower = query.toLowerCase();
-            int selectIndex = lower.indexOf("select");
-            int fromIndex = lower.indexOf("from");
-            int whereIndex = lower.indexOf("where");
-            int orderByIndex = lower.indexOf("order by");
-            if (selectIndex >= 0)
+            char c = selection.charAt(i);
+            if (c == '(')
             {
-                select = query.substring("select".length(), fromIndex);
+                depth++;
             }
-            if (whereIndex >= 0)
+            else if (c == ')')
             {
-                from = query.substring(fromIndex, whereIndex);
-                where = query.substring(whereIndex);
-                if (orderByIndex > 0)
-                {
-                    where = where.substring(0, orderByIndex - whereIndex);
-                }
+                depth--;
             }
-            else
+            else if (c == ',' && depth == 0)
             {
-                from = query.substring(fromIndex);
+                return true;
             }
         }
+        return false;
+    }
 
+    private String getQueryString(CdiQueryInvocationContext context, Query query)
+    {
+        if (isNotEmpty(context.getQueryString()))
+        {
+            return context.getQueryString();
+        }
+        return factory.extract(query);
     }
 
 }
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import static org.apache.deltaspike.data.impl.util.QueryUtils.indexOfKeyword;
+import static org.apache.deltaspike.data.impl.util.QueryUtils.maxPositionalParameter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.Query;
+
+import org.apache.deltaspike.data.api.PageToken;
+import org.apache.deltaspike.data.impl.builder.OrderDirection;
+import org.apache.deltaspike.data.impl.builder.QueryBuilder;
+import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.handler.JpaQueryPostProcessor;
+import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+import org.apache.deltaspike.data.impl.property.Property;
+import org.apache.deltaspike.data.impl.property.query.NamedPropertyCriteria;
+import org.apache.deltaspike.data.impl.property.query.PropertyQueries;
+
+/**
+ * Keyset (seek) pagination: restricts the query to the entities following the {@link PageToken}
+ * in the order defined by the {@link OrderByQueryStringPostProcessor}s of the same query, i.e.
+ * {@code where (a, b) > (:a, :b)} expanded to {@code (a > :a or (a = :a and b > :b))}.
+ */
+public class KeysetQueryPostProcessor implements QueryStringPostProcessor, JpaQueryPostProcessor
+{
+
+    private static final String PARAMETER_PREFIX = "ds_keyset";
+    private static final String[] CLAUSES_AFTER_WHERE = { "group", "having", "order" };
+
+    private final PageToken token;
+    private final List<QueryStringPostProcessor> queryStringPostProcessors;
+
+    private int firstPosition;
+
+    public KeysetQueryPostProcessor(PageToken token, List<QueryStringPostProcessor> queryStringPostProcessors)
+    {
+        this.token = token;
+        this.queryStringPostProcessors = queryStringPostProcessors;
+    }
+
+    @Override
+    public String postProcess(String queryString)
+    {
+        List<OrderByQueryStringPostProcessor> sortKeys = sortKeys(queryStringPostProcessors);
+        if (sortKeys.isEmpty())
+        {
+            throw new IllegalStateException("Keyset pagination requires a sort order, use orderAsc or orderDesc");
+        }
+        if (sortKeys.size() != token.size())
+        {
+            throw new IllegalArgumentException(token + " does not match the " + sortKeys.size()
+                    + " sort attributes of the query");
+        }
+
+        // positional and named parameters must not be mixed
+        int maxPosition = maxPositionalParameter(queryString);
+        firstPosition = maxPosition > 0 ? maxPosition + 1 : 0;
+
+        String condition = keysetCondition(sortKeys);
+        int where = indexOfKeyword(queryString, "where");
+        int end = endOfWhereClause(queryString, where);
+
+        StringBuilder result = new StringBuilder();
+        if (where < 0)
+        {
+            result.append(queryString.substring(0, end).trim()).append(" where ").append(condition);
+        }
+        else
+        {
+            result.append(queryString.substring(0, where))
+                    .append("where (").append(queryString.substring(where + "where".length(), end).trim())
+                    .append(") and ").append(condition);
+        }
+        String tail = queryString.substring(end).trim();
+        if (tail.length() > 0)
+        {
+            result.append(" ").append(tail);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public Query postProcess(CdiQueryInvocationContext context, Query query)
+    {
+        Object[] values = token.getValues();
+        for (int i = 0; i < values.length; i++)
+        {
+            if (firstPosition > 0)
+            {
+                query.setParameter(firstPosition + i, values[i]);
+            }
+            else
+            {
+                query.setParameter(PARAMETER_PREFIX + i, values[i]);
+            }
+        }
+        // the keyset replaces any offset, also the one of a @FirstResult parameter
+        query.setFirstResult(0);
+        return query;
+    }
+
+    /**
+     * Read the values of the sort attributes from the given entity.
+     */
+    public static PageToken createToken(Object entity, List<QueryStringPostProcessor> queryStringPostProcessors)
+    {
+        List<OrderByQueryStringPostProcessor> sortKeys = sortKeys(queryStringPostProcessors);
+        if (sortKeys.isEmpty())
+        {
+            throw new IllegalStateException("Keyset pagination requires a sort order, use orderAsc or orderDesc");
+        }
+        Object[] values = new Object[sortKeys.size()];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = readAttribute(entity, sortKeys.get(i));
+        }
+        return PageToken.of(values);
+    }
+
+    private static List<OrderByQueryStringPostProcessor> sortKeys(List<QueryStringPostProcessor> processors)
+    {
+        List<OrderByQueryStringPostProcessor> result = new ArrayList<OrderByQueryStringPostProcessor>();
+        for (QueryStringPostProcessor processor : processors)
+        {
+            if (processor instanceof OrderByQueryStringPostProcessor)
+            {
+                result.add((OrderByQueryStringPostProcessor) processor);
+            }
+        }
+        return result;
+    }
+
+    private static Object readAttribute(Object entity, OrderByQueryStringPostProcessor sortKey)
+    {
+        String[] path = sortKey.getAttribute().split("\\.");
+        // without the entity name the attribute is prefixed with the alias of the query
+        int start = !sortKey.isAppendEntityName() && path.length > 1 ? 1 : 0;
+        Object current = entity;
+        for (int i = start; i < path.length && current != null; i++)
+        {
+            Property<Object> property = PropertyQueries.<Object> createQuery(current.getClass())
+                    .addCriteria(new NamedPropertyCriteria(path[i]))
+                    .getFirstResult();
+            if (property == null)
+            {
+                throw new IllegalStateException("Cannot read sort attribute " + sortKey.getAttribute()
+                        + " from " + entity.getClass().getName());
+            }
+            current = property.getValue(current);
+        }
+        return current;
+    }
+
+    private String keysetCondition(List<OrderByQueryStringPostProcessor> sortKeys)
+    {
+        StringBuilder condition = new StringBuilder("(");
+        for (int i = 0; i < sortKeys.size(); i++)
+        {
+            if (i > 0)
+            {
+                condition.append(" or ");
+            }
+            condition.append("(");
+            for (int j = 0; j < i; j++)
+            {
+                condition.append(expression(sortKeys.get(j))).append(" = ").append(parameter(j)).append(" and ");
+            }
+            OrderByQueryStringPostProcessor sortKey = sortKeys.get(i);
+            condition.append(expression(sortKey))
+                    .append(sortKey.getDirection() == OrderDirection.ASC ? " > " : " < ")
+                    .append(parameter(i))
+                    .append(")");
+        }
+        return condition.append(")").toString();
+    }
+
+    private String expression(OrderByQueryStringPostProcessor sortKey)
+    {
+        if (sortKey.isAppendEntityName())
+        {
+            return QueryBuilder.ENTITY_NAME + "." + sortKey.getAttribute();
+        }
+        return sortKey.getAttribute();
+    }
+
+    private String parameter(int index)
+    {
+        if (firstPosition > 0)
+        {
+            return "?" + (firstPosition + index);
+        }
+        return ":" + PARAMETER_PREFIX + index;
+    }
+
+    private static int endOfWhereClause(String queryString, int where)
+    {
+        int end = queryString.length();
+        for (String clause : CLAUSES_AFTER_WHERE)
+        {
+            int index = indexOfKeyword(queryString, clause);
+            if (index > where && index < end)
+            {
+                end = index;
+            }
+        }
+        return end;
+    }
+
+}
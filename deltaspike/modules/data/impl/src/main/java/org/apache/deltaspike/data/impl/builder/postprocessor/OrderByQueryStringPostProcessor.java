@@ -87,4 +87,19 @@ public class OrderByQueryStringPostProcessor implements QueryStringPostProcessor
         direction = direction.change();
     }
 
+    public String getAttribute()
+    {
+        return attribute;
+    }
+
+    public OrderDirection getDirection()
+    {
+        return direction;
+    }
+
+    public boolean isAppendEntityName()
+    {
+        return appendEntityName;
+    }
+
 }
@@ -27,6 +27,7 @@ import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.metamodel.SingularAttribute;
 
+import org.apache.deltaspike.data.api.PageToken;
 import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.impl.builder.OrderDirection;
 import org.apache.deltaspike.data.impl.builder.QueryBuilder;
@@ -34,10 +35,12 @@ import org.apache.deltaspike.data.impl.builder.postprocessor.CountQueryPostProce
 import org.apache.deltaspike.data.impl.builder.postprocessor.FirstResultPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.FlushModePostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.HintPostProcessor;
+import org.apache.deltaspike.data.impl.builder.postprocessor.KeysetQueryPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.LockModePostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.MaxResultPostProcessor;
 import org.apache.deltaspike.data.impl.builder.postprocessor.OrderByQueryStringPostProcessor;
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
+import org.apache.deltaspike.data.impl.handler.JpaQueryPostProcessor;
 import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
 
 public class DefaultQueryResult<T> implements QueryResult<T>
@@ -48,6 +51,12 @@ public class DefaultQueryResult<T> implements QueryResult<T>
 
     private int page = 0;
     private int pageSize = 10;
+    private KeysetQueryPostProcessor keyset;
+
+    // the page and the size of the last result list fetched with the page API, -1 if unknown
+    private int fetchedPage = -1;
+    private int fetchedPageResults;
+    private boolean pagedByOffset = true;
 
     public DefaultQueryResult(QueryBuilder builder, CdiQueryInvocationContext context)
     {
@@ -169,14 +178,15 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     {
         context.addJpaQueryPostProcessor(new MaxResultPostProcessor(max));
         pageSize = max;
+        fetchedPage = -1;
         return this;
     }
 
     @Override
     public QueryResult<T> firstResult(int first)
     {
-        context.addJpaQueryPostProcessor(new FirstResultPostProcessor(first));
-        return this;
+        pagedByOffset = false;
+        return addFirstResult(first);
     }
 
     @Override
@@ -204,7 +214,13 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @SuppressWarnings("unchecked")
     public List<T> getResultList()
     {
-        return ((Query) builder.executeQuery(context)).getResultList();
+        List<T> result = ((Query) builder.executeQuery(context)).getResultList();
+        if (pagedByOffset && keyset == null)
+        {
+            fetchedPage = page;
+            fetchedPageResults = result.size();
+        }
+        return result;
     }
 
     @Override
@@ -237,6 +253,9 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     @Override
     public long count()
     {
+        // counting all the entities, not only the ones after the page token
+        KeysetQueryPostProcessor currentKeyset = keyset;
+        removeKeyset();
         CountQueryPostProcessor counter = new CountQueryPostProcessor();
         context.addJpaQueryPostProcessor(counter);
         try
@@ -255,6 +274,7 @@ public class DefaultQueryResult<T> implements QueryResult<T>
         finally
         {
             context.removeJpaQueryPostProcessor(counter);
+            addKeyset(currentKeyset);
         }
     }
 
@@ -268,26 +288,32 @@ public class DefaultQueryResult<T> implements QueryResult<T>
     public QueryResult<T> toPage(int page)
     {
         this.page = page;
-        return firstResult(pageSize * page);
+        return toOffset(pageSize * page);
     }
 
     @Override
     public QueryResult<T> nextPage()
     {
         page = page + 1;
-        return firstResult(pageSize * page);
+        return toOffset(pageSize * page);
     }
 
     @Override
     public QueryResult<T> previousPage()
     {
         page = page > 0 ? page - 1 : page;
-        return firstResult(pageSize * page);
+        return toOffset(pageSize * page);
     }
 
     @Override
     public int countPages()
     {
+        // a short current page is the last one, thus there is no need to count
+        if (fetchedPage == page && fetchedPageResults < pageSize && (fetchedPageResults > 0 || page == 0)
+                && !context.getParams().hasFirstResult())
+        {
+            return fetchedPageResults > 0 ? page + 1 : 0;
+        }
         return (int) Math.ceil((double) count() / pageSize);
     }
 
@@ -303,6 +329,71 @@ public class DefaultQueryResult<T> implements QueryResult<T>
         return pageSize;
     }
 
+    @Override
+    public QueryResult<T> withPageToken(PageToken token)
+    {
+        for (Iterator<JpaQueryPostProcessor> it = context.getJpaQueryPostProcessors().iterator(); it.hasNext();)
+        {
+            if (it.next() instanceof FirstResultPostProcessor)
+            {
+                it.remove();
+            }
+        }
+        page = 0;
+        fetchedPage = -1;
+        pagedByOffset = true;
+        removeKeyset();
+        if (token != null)
+        {
+            addKeyset(new KeysetQueryPostProcessor(token, context.getQueryStringPostProcessors()));
+        }
+        return this;
+    }
+
+    @Override
+    public PageToken nextPageToken(List<T> page)
+    {
+        if (page == null || page.isEmpty())
+        {
+            return null;
+        }
+        return KeysetQueryPostProcessor.createToken(page.get(page.size() - 1),
+                context.getQueryStringPostProcessors());
+    }
+
+    private QueryResult<T> toOffset(int first)
+    {
+        pagedByOffset = true;
+        return addFirstResult(first);
+    }
+
+    private QueryResult<T> addFirstResult(int first)
+    {
+        context.addJpaQueryPostProcessor(new FirstResultPostProcessor(first));
+        fetchedPage = -1;
+        return this;
+    }
+
+    private void addKeyset(KeysetQueryPostProcessor processor)
+    {
+        keyset = processor;
+        if (processor != null)
+        {
+            context.addQueryStringPostProcessor(processor);
+            context.addJpaQueryPostProcessor(processor);
+        }
+    }
+
+    private void removeKeyset()
+    {
+        if (keyset != null)
+        {
+            context.getQueryStringPostProcessors().remove(keyset);
+            context.removeJpaQueryPostProcessor(keyset);
+            keyset = null;
+        }
+    }
+
     private <X> QueryResult<T> changeOrder(ChangeOrder changeOrder)
     {
         for (QueryStringPostProcessor processor : context.getQueryStringPostProcessors())
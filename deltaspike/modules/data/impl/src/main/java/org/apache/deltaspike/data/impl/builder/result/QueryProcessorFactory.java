@@ -21,6 +21,7 @@ package org.apache.deltaspike.data.impl.builder.result;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 
@@ -32,6 +33,8 @@ import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.QueryInvocationException;
 import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.SingleResultType;
+import org.apache.deltaspike.data.api.StreamConfig;
+import org.apache.deltaspike.data.api.config.base.DataBaseConfig;
 import org.apache.deltaspike.data.impl.handler.CdiQueryInvocationContext;
 import org.apache.deltaspike.data.impl.meta.RepositoryMethodMetadata;
 
@@ -83,9 +86,11 @@ public class QueryProcessorFactory
     {
         boolean matchesType = Void.TYPE.equals(methodMetadata.getMethod().getReturnType()) ||
                 int.class.equals(methodMetadata.getMethod().getReturnType()) ||
-                Integer.class.equals(methodMetadata.getMethod().getReturnType());
+                Integer.class.equals(methodMetadata.getMethod().getReturnType()) ||
+                long.class.equals(methodMetadata.getMethod().getReturnType()) ||
+                Long.class.equals(methodMetadata.getMethod().getReturnType());
         return (methodMetadata.getMethod().isAnnotationPresent(Modifying.class) && matchesType)
-                || methodMetadata.getMethodPrefix().isDelete();
+                || methodMetadata.getMethodPrefix().isModifying();
     }
 
     private static final class ListResultQueryProcessor implements QueryProcessor
@@ -108,16 +113,35 @@ public class QueryProcessorFactory
 
     private static final class StreamResultQueryProcessor implements QueryProcessor
     {
+        private static final String[] FETCH_SIZE_HINTS =
+        {
+            "org.hibernate.fetchSize", "eclipselink.jdbc.fetch-size", "openjpa.FetchPlan.FetchBatchSize"
+        };
+        private static final String[] READ_ONLY_HINTS =
+        {
+            "org.hibernate.readOnly", "eclipselink.read-only"
+        };
+
         // will be cached per @ApplicationScoped
-        private boolean initialized;
-        private Method getResultStreamMethod;
+        private volatile boolean initialized;
+        private volatile Method getResultStreamMethod;
         
         @Override
         public Object executeQuery(Query query, CdiQueryInvocationContext context)
+        {
+            StreamConfig config = context.getRepositoryMethodMetadata().getStreamConfig();
+            applyHints(query, config);
+
+            Stream<?> result = resultStream(query, context);
+            int detachInterval = config == null ? 0 : config.detachInterval();
+            return ResultStreamIterator.stream(result, context.getEntityManager(), context.getEntityClass(),
+                    detachInterval);
+        }
+
+        private Stream<?> resultStream(Query query, CdiQueryInvocationContext context)
         {
             if (initialized == false)
             {
-                initialized = true;
                 try
                 {
                     // take the query.getClass() instead of Query.class
@@ -128,14 +152,16 @@ public class QueryProcessorFactory
                 {
                     // ignore
                 }
+                initialized = true;
             }
 
-            if (getResultStreamMethod != null)
+            Method method = getResultStreamMethod;
+            if (method != null)
             {
                 try
                 {
                     // delegate to JPA 2.2, which is probably optimized and fetches the data lazy
-                    return getResultStreamMethod.invoke(query);
+                    return (Stream<?>) method.invoke(query);
                 }
                 catch (Exception e)
                 {
@@ -145,6 +171,29 @@ public class QueryProcessorFactory
             
             return query.getResultList().stream();
         }
+
+        private void applyHints(Query query, StreamConfig config)
+        {
+            int fetchSize = config != null && config.fetchSize() > 0 ? config.fetchSize() : 0;
+            if (fetchSize == 0 && DataBaseConfig.Streaming.FETCH_SIZE != null)
+            {
+                fetchSize = DataBaseConfig.Streaming.FETCH_SIZE;
+            }
+            if (fetchSize > 0)
+            {
+                for (String hint : FETCH_SIZE_HINTS)
+                {
+                    query.setHint(hint, fetchSize);
+                }
+            }
+            if (config != null && config.readOnly())
+            {
+                for (String hint : READ_ONLY_HINTS)
+                {
+                    query.setHint(hint, Boolean.TRUE);
+                }
+            }
+        }
     }
 
     private static final class SingleResultQueryProcessor implements QueryProcessor
@@ -189,7 +238,13 @@ public class QueryProcessorFactory
         @Override
         public Object executeQuery(Query query, CdiQueryInvocationContext context)
         {
-            return query.executeUpdate();
+            int updated = query.executeUpdate();
+            Class<?> returnType = context.getMethod().getReturnType();
+            if (long.class.equals(returnType) || Long.class.equals(returnType))
+            {
+                return (long) updated;
+            }
+            return updated;
         }
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.result;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Iterates over the result stream of the JPA provider. Detaches the consumed entities
+ * periodically and closes the provider stream once the last element has been read.
+ */
+class ResultStreamIterator implements Iterator<Object>
+{
+
+    private final Stream<?> result;
+    private final Iterator<?> iterator;
+    private final EntityManager entityManager;
+    private final Class<?> entityClass;
+    private final int detachInterval;
+    private final List<Object> consumed;
+
+    ResultStreamIterator(Stream<?> result, EntityManager entityManager, Class<?> entityClass, int detachInterval)
+    {
+        this.result = result;
+        this.iterator = result.iterator();
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.detachInterval = detachInterval;
+        this.consumed = new ArrayList<Object>(Math.max(detachInterval, 0));
+    }
+
+    static Stream<Object> stream(Stream<?> result, EntityManager entityManager, Class<?> entityClass,
+            int detachInterval)
+    {
+        ResultStreamIterator iterator = new ResultStreamIterator(result, entityManager, entityClass, detachInterval);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (iterator.hasNext())
+        {
+            return true;
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public Object next()
+    {
+        if (detachInterval > 0 && consumed.size() >= detachInterval)
+        {
+            detach();
+        }
+        Object next = iterator.next();
+        if (detachInterval > 0 && entityClass.isInstance(next))
+        {
+            consumed.add(next);
+        }
+        return next;
+    }
+
+    void close()
+    {
+        detach();
+        result.close();
+    }
+
+    private void detach()
+    {
+        for (Object entity : consumed)
+        {
+            entityManager.detach(entity);
+        }
+        consumed.clear();
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.criteria;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+
+/**
+ * A criteria query compiled with parameters instead of literal values. Templates are shared
+ * by all criteria of the same shape on the same persistence unit. As a {@link CriteriaQuery}
+ * is mutable and not thread-safe, a compiled query is only borrowed to create a new query and
+ * bind the values. A few idle compiled queries are kept per template.
+ */
+public final class CriteriaQueryTemplate<R>
+{
+
+    static final int MAX_TEMPLATES = 256;
+
+    static final int MAX_IDLE_QUERIES = 4;
+
+    private static final ConcurrentMap<EntityManagerFactory, ConcurrentMap<String, CriteriaQueryTemplate<?>>>
+            TEMPLATES = new ConcurrentHashMap<EntityManagerFactory, ConcurrentMap<String, CriteriaQueryTemplate<?>>>();
+
+    private final Queue<CompiledQuery<R>> idleQueries = new ConcurrentLinkedQueue<CompiledQuery<R>>();
+    private final AtomicInteger idleQueryCount = new AtomicInteger();
+
+    CriteriaQueryTemplate()
+    {
+    }
+
+    /**
+     * @return an idle compiled query, or {@code null} if a new one has to be compiled
+     */
+    CompiledQuery<R> borrow()
+    {
+        CompiledQuery<R> compiled = idleQueries.poll();
+        if (compiled != null)
+        {
+            idleQueryCount.decrementAndGet();
+        }
+        return compiled;
+    }
+
+    /**
+     * Keeps the compiled query for the next execution, unless there are enough idle ones already.
+     */
+    void release(CompiledQuery<R> compiled)
+    {
+        if (idleQueryCount.incrementAndGet() <= MAX_IDLE_QUERIES)
+        {
+            idleQueries.offer(compiled);
+        }
+        else
+        {
+            idleQueryCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of templates of the given persistence unit
+     */
+    static int count(EntityManagerFactory factory)
+    {
+        ConcurrentMap<String, CriteriaQueryTemplate<?>> templates = TEMPLATES.get(factory);
+        return templates == null ? 0 : templates.size();
+    }
+
+    /**
+     * @return the template which is registered for the key, or {@code null} if the persistence unit
+     *         has too many templates already
+     */
+    @SuppressWarnings("unchecked")
+    static <R> CriteriaQueryTemplate<R> getOrCreate(EntityManagerFactory factory, String key)
+    {
+        ConcurrentMap<String, CriteriaQueryTemplate<?>> templates = TEMPLATES.get(factory);
+        if (templates == null)
+        {
+            removeClosedFactories();
+            templates = new ConcurrentHashMap<String, CriteriaQueryTemplate<?>>();
+            ConcurrentMap<String, CriteriaQueryTemplate<?>> existing = TEMPLATES.putIfAbsent(factory, templates);
+            if (existing != null)
+            {
+                templates = existing;
+            }
+        }
+        CriteriaQueryTemplate<?> template = templates.get(key);
+        if (template == null)
+        {
+            if (templates.size() >= MAX_TEMPLATES)
+            {
+                return null;
+            }
+            template = new CriteriaQueryTemplate<R>();
+            CriteriaQueryTemplate<?> existing = templates.putIfAbsent(key, template);
+            if (existing != null)
+            {
+                template = existing;
+            }
+        }
+        return (CriteriaQueryTemplate<R>) template;
+    }
+
+    /**
+     * Drops all the templates, they reference the metamodel of the persistence units.
+     */
+    public static void clear()
+    {
+        TEMPLATES.clear();
+    }
+
+    private static void removeClosedFactories()
+    {
+        Iterator<EntityManagerFactory> factories = TEMPLATES.keySet().iterator();
+        while (factories.hasNext())
+        {
+            if (!factories.next().isOpen())
+            {
+                factories.remove();
+            }
+        }
+    }
+
+    static final class CompiledQuery<R>
+    {
+        private final CriteriaQuery<R> query;
+        private final List<ParameterExpression<?>> parameters;
+
+        CompiledQuery(CriteriaQuery<R> query, List<ParameterExpression<?>> parameters)
+        {
+            this.query = query;
+            this.parameters = parameters;
+        }
+
+        @SuppressWarnings("unchecked")
+        TypedQuery<R> createQuery(EntityManager entityManager, List<Object> values)
+        {
+            TypedQuery<R> result = entityManager.createQuery(query);
+            for (int i = 0; i < parameters.size(); i++)
+            {
+                result.setParameter((ParameterExpression<Object>) parameters.get(i), values.get(i));
+            }
+            return result;
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -47,6 +48,8 @@ import org.apache.deltaspike.data.api.criteria.Criteria;
 import org.apache.deltaspike.data.api.criteria.QuerySelection;
 import org.apache.deltaspike.data.impl.builder.OrderDirection;
 import org.apache.deltaspike.data.impl.criteria.predicate.Between;
+import org.apache.deltaspike.data.impl.criteria.predicate.CriteriaParameters;
+import org.apache.deltaspike.data.impl.criteria.predicate.CriteriaShape;
 import org.apache.deltaspike.data.impl.criteria.predicate.Eq;
 import org.apache.deltaspike.data.impl.criteria.predicate.EqIgnoreCase;
 import org.apache.deltaspike.data.impl.criteria.predicate.FetchBuilder;
@@ -80,6 +83,7 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
     private JoinType joinType;
     private final boolean ignoreNull = true;
     private boolean distinct = false;
+    private boolean templated = false;
 
     private final OrderBy<C> orderByProcessor = new OrderBy<C>();
     private final List<PredicateBuilder<C>> builders = new LinkedList<PredicateBuilder<C>>();
@@ -140,26 +144,15 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
     {
         try
         {
-            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-            CriteriaQuery<R> query = createCriteriaQuery(builder);
-            From<C, C> root = query.from(entityClass);
-            if (selections.size() == 1)
+            if (templated && selections.isEmpty())
             {
-                Selection<?>[] selections = prepareSelections(query, builder, root);
-                query.select((Selection<? extends R>) selections[0]);
+                TypedQuery<R> query = createTemplateQuery();
+                if (query != null)
+                {
+                    return query;
+                }
             }
-            if (selections.size() > 1)
-            {
-                query.multiselect(prepareSelections(query, builder, root));
-            }
-            List<Predicate> predicates = predicates(builder, root);
-            query.distinct(distinct);
-            if (!predicates.isEmpty())
-            {
-                query.where(predicates.toArray(new Predicate[predicates.size()]));
-            }
-            applyProcessors(query, builder, root);
-            return (TypedQuery<R>) entityManager.createQuery(query);
+            return entityManager.createQuery(createCriteriaQuery(CriteriaParameters.LITERALS));
         }
         catch (RuntimeException e)
         {
@@ -265,12 +258,20 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
         return this;
     }
 
+    @Override
+    public Criteria<C, R> templated()
+    {
+        templated = true;
+        return this;
+    }
+
     @Override
     public <N> Criteria<C, N> select(Class<N> resultClass, QuerySelection<? super C, ?>... selection)
     {
         QueryCriteria<C, N> result = new QueryCriteria<C, N>(entityClass, resultClass, entityManager, joinType);
         result.builders.addAll(this.builders);
         result.distinct = this.distinct;
+        result.templated = this.templated;
         result.processors.addAll(this.processors);
         result.selections.addAll(Arrays.asList(selection));
         return result;
@@ -284,16 +285,60 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
 
     @Override
     public List<Predicate> predicates(CriteriaBuilder builder, Path<C> path)
+    {
+        return predicates(builder, path, CriteriaParameters.LITERALS);
+    }
+
+    public List<Predicate> predicates(CriteriaBuilder builder, Path<C> path, CriteriaParameters parameters)
     {
         List<Predicate> predicates = new LinkedList<Predicate>();
         for (PredicateBuilder<C> pbuilder : builders)
         {
-            List<Predicate> p = pbuilder.build(builder, path);
+            List<Predicate> p = pbuilder.build(builder, path, parameters);
             predicates.addAll(p);
         }
         return predicates;
     }
 
+    /**
+     * Append the structure and the values of the predicates to the given shape.
+     *
+     * @return {@code false} if a predicate can not be part of a query template.
+     */
+    public boolean describe(CriteriaShape shape)
+    {
+        for (PredicateBuilder<C> pbuilder : builders)
+        {
+            if (!pbuilder.describe(shape))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static <P> List<Predicate> predicates(Criteria<P, ?> criteria, CriteriaBuilder builder, Path<P> path,
+            CriteriaParameters parameters)
+    {
+        if (criteria instanceof QueryCriteria)
+        {
+            return ((QueryCriteria<P, ?>) criteria).predicates(builder, path, parameters);
+        }
+        return criteria.predicates(builder, path);
+    }
+
+    public static boolean describe(Criteria<?, ?> criteria, CriteriaShape shape)
+    {
+        if (!(criteria instanceof QueryCriteria))
+        {
+            return false;
+        }
+        shape.append('(');
+        boolean describable = ((QueryCriteria<?, ?>) criteria).describe(shape);
+        shape.append(')');
+        return describable;
+    }
+
     // --------------------------------------------------------------------
     // Package criteria methods
     // --------------------------------------------------------------------
@@ -352,9 +397,60 @@ public class QueryCriteria<C, R> implements Criteria<C, R>
         return result.toArray(new Selection<?>[] {});
     }
 
-    private CriteriaQuery<R> createCriteriaQuery(CriteriaBuilder builder)
+    @SuppressWarnings("unchecked")
+    private CriteriaQuery<R> createCriteriaQuery(CriteriaParameters parameters)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(resultClass);
+        From<C, C> root = query.from(entityClass);
+        if (selections.size() == 1)
+        {
+            Selection<?>[] selections = prepareSelections(query, builder, root);
+            query.select((Selection<? extends R>) selections[0]);
+        }
+        if (selections.size() > 1)
+        {
+            query.multiselect(prepareSelections(query, builder, root));
+        }
+        List<Predicate> predicates = predicates(builder, root, parameters);
+        query.distinct(distinct);
+        if (!predicates.isEmpty())
+        {
+            query.where(predicates.toArray(new Predicate[predicates.size()]));
+        }
+        applyProcessors(query, builder, root);
+        return query;
+    }
+
+    private TypedQuery<R> createTemplateQuery()
     {
-        return builder.createQuery(resultClass);
+        CriteriaShape shape = new CriteriaShape()
+                .append(entityClass.getName())
+                .append(resultClass.getName())
+                .append(distinct);
+        if (!describe(shape) || !processors.isEmpty())
+        {
+            return null;
+        }
+        orderByProcessor.describe(shape);
+
+        EntityManagerFactory factory = entityManager.getEntityManagerFactory();
+        CriteriaQueryTemplate<R> template = CriteriaQueryTemplate.getOrCreate(factory, shape.getKey());
+        if (template == null)
+        {
+            // too many shapes, building the query directly is cheaper
+            return null;
+        }
+        CriteriaQueryTemplate.CompiledQuery<R> compiled = template.borrow();
+        if (compiled == null)
+        {
+            CriteriaParameters parameters = new CriteriaParameters();
+            compiled = new CriteriaQueryTemplate.CompiledQuery<R>(createCriteriaQuery(parameters),
+                    parameters.getParameters());
+        }
+        TypedQuery<R> query = compiled.createQuery(entityManager, shape.getValues());
+        template.release(compiled);
+        return query;
     }
 
     // --------------------------------------------------------------------
@@ -38,9 +38,18 @@ public class Between<E, V extends Comparable<? super V>> extends SingleValueBuil
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
-        return Arrays.asList(builder.between(path.get(getAtt()), getValue(), upper));
+        return Arrays.asList(builder.between(path.get(getAtt()), queryValue(builder, parameters),
+                parameters.value(builder, getAtt().getJavaType(), upper)));
+    }
+
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        super.describe(shape);
+        shape.value(upper);
+        return true;
     }
 
 }
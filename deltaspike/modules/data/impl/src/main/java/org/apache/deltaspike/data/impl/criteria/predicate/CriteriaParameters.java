@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.criteria.predicate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.ParameterExpression;
+
+/**
+ * Creates the value expressions of the predicates. Values are literals, unless the criteria gets
+ * compiled to a query template. Then they become parameters which are bound on each execution.
+ */
+public class CriteriaParameters
+{
+
+    public static final CriteriaParameters LITERALS = new CriteriaParameters(false);
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<Class<?>, Class<?>>();
+
+    static
+    {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+    }
+
+    private final boolean parameterized;
+    private final List<ParameterExpression<?>> parameters = new ArrayList<ParameterExpression<?>>();
+
+    public CriteriaParameters()
+    {
+        this(true);
+    }
+
+    private CriteriaParameters(boolean parameterized)
+    {
+        this.parameterized = parameterized;
+    }
+
+    public <V> Expression<V> value(CriteriaBuilder builder, Class<V> type, V value)
+    {
+        if (!parameterized)
+        {
+            return builder.literal(value);
+        }
+        ParameterExpression<V> parameter = builder.parameter(wrap(type));
+        parameters.add(parameter);
+        return parameter;
+    }
+
+    public List<ParameterExpression<?>> getParameters()
+    {
+        return parameters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Class<V> wrap(Class<V> type)
+    {
+        return type.isPrimitive() ? (Class<V>) WRAPPERS.get(type) : type;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.criteria.predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structure of a criteria, used as key of its query template. The values are
+ * collected in the order their parameters get created by {@link CriteriaParameters}.
+ */
+public class CriteriaShape
+{
+
+    private final StringBuilder key = new StringBuilder();
+    private final List<Object> values = new ArrayList<Object>();
+
+    public CriteriaShape append(Object token)
+    {
+        key.append(token).append(' ');
+        return this;
+    }
+
+    public CriteriaShape value(Object value)
+    {
+        values.add(value);
+        return append('?');
+    }
+
+    public String getKey()
+    {
+        return key.toString();
+    }
+
+    public List<Object> getValues()
+    {
+        return values;
+    }
+
+}
@@ -35,9 +35,9 @@ public class Eq<E, V> extends SingleValueBuilder<E, V>
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
-        return Arrays.asList(builder.equal(path.get(getAtt()), getValue()));
+        return Arrays.asList(builder.equal(path.get(getAtt()), queryValue(builder, parameters)));
     }
 
 }
@@ -35,9 +35,16 @@ public class EqIgnoreCase<E> extends SingleValueBuilder<E, String>
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
-        return Arrays.asList(builder.equal(builder.upper(path.<String>get(getAtt())), getValue().toUpperCase()));
+        return Arrays.asList(builder.equal(builder.upper(path.<String>get(getAtt())),
+                queryValue(builder, parameters)));
+    }
+
+    @Override
+    String getQueryValue()
+    {
+        return getValue().toUpperCase();
     }
 
 }
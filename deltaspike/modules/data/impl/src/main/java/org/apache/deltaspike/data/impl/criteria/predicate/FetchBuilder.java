@@ -51,7 +51,7 @@ public class FetchBuilder<P, R, E> implements PredicateBuilder<P>
 
     @SuppressWarnings("rawtypes")
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<P> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<P> path, CriteriaParameters parameters)
     {
         if (singular != null)
         {
@@ -64,6 +64,14 @@ public class FetchBuilder<P, R, E> implements PredicateBuilder<P>
         return Collections.emptyList();
     }
 
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        shape.append(getClass().getName()).append(joinType)
+                .append(singular != null ? singular.getName() : plural.getName());
+        return true;
+    }
+
     SingularAttribute<? super P, R> getSingular()
     {
         return singular;
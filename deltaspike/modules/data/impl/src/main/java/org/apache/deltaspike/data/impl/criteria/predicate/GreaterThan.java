@@ -35,9 +35,9 @@ public class GreaterThan<E, V extends Comparable<? super V>> extends SingleValue
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
-        return Arrays.asList(builder.greaterThan(path.get(getAtt()), getValue()));
+        return Arrays.asList(builder.greaterThan(path.get(getAtt()), queryValue(builder, parameters)));
     }
 
 }
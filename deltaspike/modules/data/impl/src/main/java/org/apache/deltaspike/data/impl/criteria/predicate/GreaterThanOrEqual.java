@@ -35,9 +35,9 @@ public class GreaterThanOrEqual<E, V extends Comparable<? super V>> extends Sing
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
-        return Arrays.asList(builder.greaterThanOrEqualTo(path.get(getAtt()), getValue()));
+        return Arrays.asList(builder.greaterThanOrEqualTo(path.get(getAtt()), queryValue(builder, parameters)));
     }
 
 }
@@ -39,7 +39,7 @@ public class In<P, V> implements PredicateBuilder<P>
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<P> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<P> path, CriteriaParameters parameters)
     {
         Path<V> p = path.get(singular);
         CriteriaBuilder.In<V> in = builder.in(p);
@@ -47,12 +47,26 @@ public class In<P, V> implements PredicateBuilder<P>
         {
             if (value != null)
             {
-                in.value(value);
+                in.value(parameters.value(builder, singular.getJavaType(), value));
             }
         }
         return Arrays.asList((Predicate) in);
     }
 
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        shape.append(getClass().getName()).append(singular.getName());
+        for (V value : values)
+        {
+            if (value != null)
+            {
+                shape.value(value);
+            }
+        }
+        return true;
+    }
+
     SingularAttribute<? super P, V> getSingular()
     {
         return singular;
@@ -26,6 +26,7 @@ import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
+import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.CollectionAttribute;
 import javax.persistence.metamodel.ListAttribute;
 import javax.persistence.metamodel.MapAttribute;
@@ -33,6 +34,7 @@ import javax.persistence.metamodel.SetAttribute;
 import javax.persistence.metamodel.SingularAttribute;
 
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.data.impl.criteria.QueryCriteria;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class JoinBuilder<P, R, E> implements PredicateBuilder<P>
@@ -84,7 +86,7 @@ public class JoinBuilder<P, R, E> implements PredicateBuilder<P>
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<P> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<P> path, CriteriaParameters parameters)
     {
         Join join = null;
         if (singular != null)
@@ -107,7 +109,35 @@ public class JoinBuilder<P, R, E> implements PredicateBuilder<P>
         {
             join = joinMap((From) path);
         }
-        return criteria.predicates(builder, join);
+        return QueryCriteria.predicates(criteria, builder, join, parameters);
+    }
+
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        shape.append(getClass().getName()).append(joinType).append(getAttribute().getName());
+        return QueryCriteria.describe(criteria, shape);
+    }
+
+    private Attribute<? super P, ?> getAttribute()
+    {
+        if (singular != null)
+        {
+            return singular;
+        }
+        else if (list != null)
+        {
+            return list;
+        }
+        else if (collection != null)
+        {
+            return collection;
+        }
+        else if (set != null)
+        {
+            return set;
+        }
+        return map;
     }
 
     private Join joinSingular(From path)
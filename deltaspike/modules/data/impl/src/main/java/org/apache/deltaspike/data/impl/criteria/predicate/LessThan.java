@@ -35,9 +35,9 @@ public class LessThan<E, V extends Comparable<? super V>> extends SingleValueBui
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
-        return Arrays.asList(builder.lessThan(path.get(getAtt()), getValue()));
+        return Arrays.asList(builder.lessThan(path.get(getAtt()), queryValue(builder, parameters)));
     }
 
 }
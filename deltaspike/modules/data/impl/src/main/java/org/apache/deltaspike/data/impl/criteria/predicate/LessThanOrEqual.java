@@ -35,9 +35,9 @@ public class LessThanOrEqual<E, V extends Comparable<? super V>> extends SingleV
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
-        return Arrays.asList(builder.lessThanOrEqualTo(path.get(getAtt()), getValue()));
+        return Arrays.asList(builder.lessThanOrEqualTo(path.get(getAtt()), queryValue(builder, parameters)));
     }
 
 }
@@ -30,6 +30,13 @@ abstract class NoValueBuilder<E, V> implements PredicateBuilder<E>
         this.att = att;
     }
 
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        shape.append(getClass().getName()).append(att.getName());
+        return true;
+    }
+
     SingularAttribute<? super E, V> getAtt()
     {
         return att;
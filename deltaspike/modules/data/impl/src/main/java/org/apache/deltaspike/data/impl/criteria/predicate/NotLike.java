@@ -43,11 +43,24 @@ public class NotLike<E> extends SingleValueBuilder<E, String>
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<E> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<E> path, CriteriaParameters parameters)
     {
         return Arrays.asList(builder.notLike(
                 caseInsensitive ? builder.upper(path.<String>get(getAtt())) : path.get(getAtt()),
-                caseInsensitive ? getValue().toUpperCase() : getValue()));
+                queryValue(builder, parameters)));
+    }
+
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        shape.append(caseInsensitive);
+        return super.describe(shape);
+    }
+
+    @Override
+    String getQueryValue()
+    {
+        return caseInsensitive ? getValue().toUpperCase() : getValue();
     }
 
 }
@@ -27,6 +27,7 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 
 import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.data.impl.criteria.QueryCriteria;
 
 public class OrBuilder<P> implements PredicateBuilder<P>
 {
@@ -39,15 +40,29 @@ public class OrBuilder<P> implements PredicateBuilder<P>
     }
 
     @Override
-    public List<Predicate> build(CriteriaBuilder builder, Path<P> path)
+    public List<Predicate> build(CriteriaBuilder builder, Path<P> path, CriteriaParameters parameters)
     {
         List<Predicate> and = new ArrayList<Predicate>(criteria.length);
         for (Criteria<P, P> c : criteria)
         {
             and.add(builder.and(
-                    c.predicates(builder, path).toArray(new Predicate[0])));
+                    QueryCriteria.predicates(c, builder, path, parameters).toArray(new Predicate[0])));
         }
         return Arrays.asList(builder.or(and.toArray(new Predicate[0])));
     }
 
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        shape.append(getClass().getName());
+        for (Criteria<P, P> c : criteria)
+        {
+            if (!QueryCriteria.describe(c, shape))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
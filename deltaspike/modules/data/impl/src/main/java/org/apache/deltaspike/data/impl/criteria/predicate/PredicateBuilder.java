@@ -27,6 +27,13 @@ import javax.persistence.criteria.Predicate;
 public interface PredicateBuilder<P>
 {
 
-    List<Predicate> build(CriteriaBuilder builder, Path<P> path);
+    List<Predicate> build(CriteriaBuilder builder, Path<P> path, CriteriaParameters parameters);
+
+    /**
+     * Append the structure and the values of the predicate to the shape of its criteria.
+     *
+     * @return {@code false} if the predicate can not be part of a query template.
+     */
+    boolean describe(CriteriaShape shape);
 
 }
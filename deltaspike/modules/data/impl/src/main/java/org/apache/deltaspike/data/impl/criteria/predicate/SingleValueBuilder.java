@@ -18,6 +18,8 @@
  */
 package org.apache.deltaspike.data.impl.criteria.predicate;
 
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.metamodel.SingularAttribute;
 
 abstract class SingleValueBuilder<E, V> extends NoValueBuilder<E, V>
@@ -31,9 +33,30 @@ abstract class SingleValueBuilder<E, V> extends NoValueBuilder<E, V>
         this.value = value;
     }
 
+    @Override
+    public boolean describe(CriteriaShape shape)
+    {
+        super.describe(shape);
+        shape.value(getQueryValue());
+        return true;
+    }
+
     V getValue()
     {
         return value;
     }
 
+    /**
+     * The value as it gets compared in the query.
+     */
+    V getQueryValue()
+    {
+        return value;
+    }
+
+    Expression<V> queryValue(CriteriaBuilder builder, CriteriaParameters parameters)
+    {
+        return parameters.value(builder, getAtt().getJavaType(), getQueryValue());
+    }
+
 }
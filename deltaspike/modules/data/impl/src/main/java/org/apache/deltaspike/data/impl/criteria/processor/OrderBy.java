@@ -25,6 +25,7 @@ import javax.persistence.criteria.Path;
 import javax.persistence.metamodel.SingularAttribute;
 
 import org.apache.deltaspike.data.impl.builder.OrderDirection;
+import org.apache.deltaspike.data.impl.criteria.predicate.CriteriaShape;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -60,6 +61,14 @@ public class OrderBy<P> implements QueryProcessor<P>
         query.orderBy(orders);
     }
 
+    public void describe(CriteriaShape shape)
+    {
+        for (OrderByDefinition<?> orderByDefinition : orderByDefinitions)
+        {
+            shape.append(orderByDefinition.getDir()).append(orderByDefinition.getAtt().getName());
+        }
+    }
+
     private class OrderByDefinition<V>
     {
         private final SingularAttribute<? super P, V> att;
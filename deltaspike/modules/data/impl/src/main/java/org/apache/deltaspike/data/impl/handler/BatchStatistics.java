@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Collects the statistics of the batch operations ({@code saveAll}, {@code removeAll}, ...) per repository.
+ */
+@ApplicationScoped
+public class BatchStatistics
+{
+    private final ConcurrentMap<Class<?>, RepositoryBatchStatistics> repositories =
+            new ConcurrentHashMap<Class<?>, RepositoryBatchStatistics>();
+
+    void record(Class<?> repositoryClass, long entities, long flushes, long durationInNanos)
+    {
+        RepositoryBatchStatistics statistics = repositories.get(repositoryClass);
+        if (statistics == null)
+        {
+            statistics = new RepositoryBatchStatistics(repositoryClass);
+            RepositoryBatchStatistics existing = repositories.putIfAbsent(repositoryClass, statistics);
+            if (existing != null)
+            {
+                statistics = existing;
+            }
+        }
+        statistics.record(entities, flushes, durationInNanos);
+    }
+
+    public RepositoryBatchStatistics getRepositoryStatistics(Class<?> repositoryClass)
+    {
+        return repositories.get(repositoryClass);
+    }
+
+    public Collection<RepositoryBatchStatistics> getRepositoryStatistics()
+    {
+        return repositories.values();
+    }
+
+    public void reset()
+    {
+        repositories.clear();
+    }
+
+    public static class RepositoryBatchStatistics
+    {
+        private final Class<?> repositoryClass;
+
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder entities = new LongAdder();
+        private final LongAdder flushes = new LongAdder();
+        private final LongAdder totalDuration = new LongAdder();
+
+        RepositoryBatchStatistics(Class<?> repositoryClass)
+        {
+            this.repositoryClass = repositoryClass;
+        }
+
+        void record(long entityCount, long flushCount, long durationInNanos)
+        {
+            operations.increment();
+            entities.add(entityCount);
+            flushes.add(flushCount);
+            totalDuration.add(durationInNanos);
+        }
+
+        public Class<?> getRepositoryClass()
+        {
+            return repositoryClass;
+        }
+
+        public long getOperations()
+        {
+            return operations.sum();
+        }
+
+        public long getEntities()
+        {
+            return entities.sum();
+        }
+
+        public long getFlushes()
+        {
+            return flushes.sum();
+        }
+
+        public long getTotalDurationInNanos()
+        {
+            return totalDuration.sum();
+        }
+    }
+}
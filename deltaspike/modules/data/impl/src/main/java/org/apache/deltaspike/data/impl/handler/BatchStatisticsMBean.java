@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.api.jmx.Table;
+import org.apache.deltaspike.data.impl.handler.BatchStatistics.RepositoryBatchStatistics;
+
+/**
+ * Exports the {@link BatchStatistics} via JMX.
+ */
+@ApplicationScoped
+@MBean(name = "RepositoryBatches", description = "Statistics of the batch operations of all repositories")
+public class BatchStatisticsMBean
+{
+    @Inject
+    private BatchStatistics batchStatistics;
+
+    @JmxManaged(description = "operations, entities, flushes and total duration in milliseconds per repository")
+    private Table statistics;
+
+    public Table getStatistics()
+    {
+        Table table = new Table().withColumns("repository", "operations", "entities", "flushes", "duration");
+        for (RepositoryBatchStatistics repository : batchStatistics.getRepositoryStatistics())
+        {
+            table.withLine(
+                repository.getRepositoryClass().getName(),
+                Long.toString(repository.getOperations()),
+                Long.toString(repository.getEntities()),
+                Long.toString(repository.getFlushes()),
+                Long.toString(TimeUnit.NANOSECONDS.toMillis(repository.getTotalDurationInNanos())));
+        }
+        return table;
+    }
+
+    @JmxManaged(description = "resets all the statistics")
+    public void reset()
+    {
+        batchStatistics.reset();
+    }
+}
@@ -273,6 +273,11 @@ public class CdiQueryInvocationContext implements QueryInvocationContext
         return queryPostProcessors;
     }
 
+    public List<JpaQueryPostProcessor> getJpaQueryPostProcessors()
+    {
+        return jpaPostProcessors;
+    }
+
     public boolean hasQueryInOutMapper()
     {
         return repositoryMethodMetadata.getQueryInOutMapperClass() != null;
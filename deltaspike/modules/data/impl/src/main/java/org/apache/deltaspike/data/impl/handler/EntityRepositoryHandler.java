@@ -62,13 +62,26 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
 
     private static final Logger log = Logger.getLogger(EntityRepositoryHandler.class.getName());
 
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final String[] PROVIDER_BATCH_SIZE_PROPERTIES =
+    {
+        "hibernate.jdbc.batch_size", "eclipselink.jdbc.batch-writing.size"
+    };
+
     @Inject
     private CdiQueryInvocationContext context;
 
+    @Inject
+    private BatchStatistics batchStatistics;
+
+    @Inject
+    private QueryResultCache queryResultCache;
+
     @Override
     @RequiresTransaction
     public E save(E entity)
     {
+        queryResultCache.onWrite(entityClass());
         if (context.isNew(entity))
         {
             entityManager().persist(entity);
@@ -95,6 +108,50 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
         return result;
     }
 
+    @Override
+    @RequiresTransaction
+    public void saveAll(Iterable<E> entities)
+    {
+        EntityBatch batch = new EntityBatch();
+        for (E entity : entities)
+        {
+            save(entity);
+            batch.added();
+        }
+        batch.finish();
+    }
+
+    @Override
+    @RequiresTransaction
+    public void removeAll(Iterable<E> entities)
+    {
+        EntityBatch batch = new EntityBatch();
+        for (E entity : entities)
+        {
+            // entities which got detached by a previous batch of this operation are re-attached
+            if (batch.isCleared() && !entityManager().contains(entity))
+            {
+                entity = entityManager().merge(entity);
+            }
+            remove(entity);
+            batch.added();
+        }
+        batch.finish();
+    }
+
+    @Override
+    @RequiresTransaction
+    public void attachAndRemoveAll(Iterable<E> entities)
+    {
+        EntityBatch batch = new EntityBatch();
+        for (E entity : entities)
+        {
+            attachAndRemove(entity);
+            batch.added();
+        }
+        batch.finish();
+    }
+
     @Override
     @RequiresTransaction
     public void refresh(E entity)
@@ -212,6 +269,7 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     @RequiresTransaction
     public void remove(E entity)
     {
+        queryResultCache.onWrite(entityClass());
         entityManager().remove(entity);
     }
 
@@ -219,7 +277,7 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     @RequiresTransaction
     public void removeAndFlush(E entity)
     {
-        entityManager().remove(entity);
+        remove(entity);
         flush();
     }
 
@@ -276,6 +334,34 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     // PRIVATE
     // ----------------------------------------------------------------------------
 
+    private int batchSize()
+    {
+        int batchSize = context.getRepositoryMetadata().getBatchSize();
+        if (batchSize > 0)
+        {
+            return batchSize;
+        }
+
+        // flushing in multiples of the JDBC batch size of the provider keeps its batches full
+        Map<String, Object> properties = entityManager().getProperties();
+        for (String property : PROVIDER_BATCH_SIZE_PROPERTIES)
+        {
+            Object value = properties.get(property);
+            if (value != null)
+            {
+                try
+                {
+                    return Integer.parseInt(value.toString().trim());
+                }
+                catch (NumberFormatException e)
+                {
+                    log.log(Level.FINE, "Ignoring invalid {0}: {1}", new Object[] { property, value });
+                }
+            }
+        }
+        return DEFAULT_BATCH_SIZE;
+    }
+
     private String allQuery()
     {
         return QueryBuilder.selectQuery(entityName());
@@ -406,4 +492,47 @@ public class EntityRepositoryHandler<E, PK extends Serializable>
     {
         return PersistenceUnitUtilDelegateFactory.get(entityManager());
     }
+
+    /**
+     * Flushes and clears the persistence context every {@link #batchSize()} entities,
+     * to keep the memory bounded and to send the statements in JDBC batches.
+     */
+    private final class EntityBatch
+    {
+        private final long start = System.nanoTime();
+        private final int size = batchSize();
+
+        private int pending;
+        private long entities;
+        private long flushes;
+        private boolean cleared;
+
+        void added()
+        {
+            entities++;
+            if (++pending >= size)
+            {
+                entityManager().flush();
+                entityManager().clear();
+                flushes++;
+                pending = 0;
+                cleared = true;
+            }
+        }
+
+        boolean isCleared()
+        {
+            return cleared;
+        }
+
+        void finish()
+        {
+            if (pending > 0)
+            {
+                entityManager().flush();
+                flushes++;
+            }
+            batchStatistics.record(context.getRepositoryClass(), entities, flushes, System.nanoTime() - start);
+        }
+    }
 }
@@ -20,13 +20,11 @@ package org.apache.deltaspike.data.impl.handler;
 
 import org.apache.deltaspike.core.api.provider.BeanProvider;
 import org.apache.deltaspike.core.util.ExceptionUtils;
-import org.apache.deltaspike.core.util.ProxyUtils;
 import org.apache.deltaspike.core.util.interceptor.AbstractInvocationContext;
 import org.apache.deltaspike.core.util.metadata.AnnotationInstanceProvider;
 import org.apache.deltaspike.data.api.QueryInvocationException;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.impl.builder.QueryBuilder;
-import org.apache.deltaspike.data.impl.builder.QueryBuilderFactory;
 import org.apache.deltaspike.data.impl.meta.RepositoryMetadataHandler;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
 import org.apache.deltaspike.jpa.impl.entitymanager.EntityManagerRef;
@@ -43,7 +41,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.enterprise.context.ApplicationScoped;
@@ -59,9 +57,6 @@ public class QueryHandler implements Serializable, InvocationHandler
 {
     private static final Logger log = Logger.getLogger(QueryHandler.class.getName());
 
-    @Inject
-    private QueryBuilderFactory queryBuilderFactory;
-
     @Inject
     private RepositoryMetadataHandler metadataHandler;
 
@@ -83,15 +78,48 @@ public class QueryHandler implements Serializable, InvocationHandler
     @Inject
     private ActiveEntityManagerHolder activeEntityManagerHolder;
 
+    @Inject
+    private QueryResultCache queryResultCache;
+
     @Override
     public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable
     {
-        List<Class<?>> candidates = ProxyUtils.getProxyAndBaseTypes(proxy.getClass());
-        final RepositoryMetadata repositoryMetadata =
-                metadataHandler.lookupMetadata(candidates);
+        final RepositoryMetadata repositoryMetadata = metadataHandler.lookupMetadata(proxy.getClass());
         final RepositoryMethodMetadata repositoryMethodMetadata =
                 metadataHandler.lookupMethodMetadata(repositoryMetadata, method);
 
+        if (repositoryMethodMetadata.getResultCache() != null)
+        {
+            return queryResultCache.execute(repositoryMetadata, repositoryMethodMetadata, args,
+                new Callable<Object>()
+                {
+                    @Override
+                    public Object call() throws Exception
+                    {
+                        try
+                        {
+                            return execute(proxy, method, args, repositoryMetadata, repositoryMethodMetadata);
+                        }
+                        catch (Throwable t)
+                        {
+                            throw ExceptionUtils.throwAsRuntimeException(t);
+                        }
+                    }
+                });
+        }
+
+        Object result = execute(proxy, method, args, repositoryMetadata, repositoryMethodMetadata);
+        if (repositoryMethodMetadata.getModifying() != null || repositoryMethodMetadata.getMethodPrefix().isModifying())
+        {
+            evictResultCache(repositoryMetadata);
+        }
+        return result;
+    }
+
+    private Object execute(final Object proxy, final Method method, final Object[] args,
+            final RepositoryMetadata repositoryMetadata, final RepositoryMethodMetadata repositoryMethodMetadata)
+        throws Throwable
+    {
         if (repositoryMethodMetadata.getTransactional() != null)
         {
             if (repositoryMethodMetadata.getTransactional().qualifier().length > 1)
@@ -147,7 +175,7 @@ public class QueryHandler implements Serializable, InvocationHandler
             queryContext = createContext(proxy, method, args, entityManager,
                     repositoryMetadata, repositoryMethodMetadata);
             
-            QueryBuilder builder = queryBuilderFactory.build(repositoryMethodMetadata, queryContext);
+            QueryBuilder builder = repositoryMethodMetadata.getQueryBuilder();
             Object result = runner.executeQuery(builder, queryContext);
             return result;
         }
@@ -174,6 +202,14 @@ public class QueryHandler implements Serializable, InvocationHandler
         }
     }
 
+    private void evictResultCache(RepositoryMetadata repositoryMetadata)
+    {
+        if (repositoryMetadata.getEntityMetadata() != null)
+        {
+            queryResultCache.onWrite(repositoryMetadata.getEntityMetadata().getEntityClass());
+        }
+    }
+
     private CdiQueryInvocationContext createContext(Object proxy, Method method,
             Object[] args, EntityManager entityManager, RepositoryMetadata repositoryMetadata,
             RepositoryMethodMetadata repositoryMethodMetadata)
@@ -0,0 +1,506 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import javax.naming.InitialContext;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.apache.deltaspike.data.api.ResultCache;
+import org.apache.deltaspike.data.impl.meta.RepositoryMetadata;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethodMetadata;
+import org.apache.deltaspike.data.impl.util.EntityUtils;
+import org.apache.deltaspike.jpa.api.transaction.TransactionScoped;
+
+/**
+ * Holds the results of the repository methods annotated with {@link ResultCache}.
+ * <p>
+ * Writes of an entity are tracked per transaction. While a transaction with writes of an entity is running,
+ * no results of the entity get cached, and the writing transaction itself doesn't use the cache at all.
+ * Once the transaction completed, the results of the entity get evicted again.
+ */
+@ApplicationScoped
+public class QueryResultCache
+{
+    private static final Object NULL_RESULT = new Object();
+
+    private static final String TRANSACTION_SYNC_REGISTRY_JNDI_NAME = "java:comp/TransactionSynchronizationRegistry";
+
+    private final ConcurrentMap<RepositoryMethodMetadata, CachedResults> caches =
+            new ConcurrentHashMap<RepositoryMethodMetadata, CachedResults>();
+
+    // number of running transactions which wrote the entity class
+    private final ConcurrentMap<Class<?>, AtomicInteger> pendingWrites =
+            new ConcurrentHashMap<Class<?>, AtomicInteger>();
+
+    private final ConcurrentMap<Class<?>, Boolean> entityClasses = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    @Inject
+    private BeanManager beanManager;
+
+    @Inject
+    private TransactionWrites transactionWrites;
+
+    private volatile TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+    private volatile boolean transactionSynchronizationRegistryResolved;
+
+    /**
+     * Returns the cached result of the method for the given arguments, or executes the query and caches its result.
+     */
+    public Object execute(RepositoryMetadata repositoryMetadata, RepositoryMethodMetadata methodMetadata,
+            Object[] args, Callable<Object> query) throws Exception
+    {
+        CachedResults results = getResults(repositoryMetadata, methodMetadata);
+        boolean pending = hasPendingWrites(results);
+        if (pending && results.isForAny(getTransactionWrites(false)))
+        {
+            // the current transaction wrote the entity, neither its cached nor its uncommitted results are valid
+            return query.call();
+        }
+
+        CacheKey key = new CacheKey(args);
+        Object result = results.get(key);
+        if (result == null)
+        {
+            long generation = results.getGeneration();
+            result = query.call();
+            if (result == null)
+            {
+                result = NULL_RESULT;
+            }
+            // results read while another transaction writes the entity might be outdated once it commits
+            if (!pending && !containsEntities(result))
+            {
+                results.put(key, result, generation);
+            }
+        }
+        return copy(result);
+    }
+
+    /**
+     * Registers a method annotated with {@link ResultCache} during the bootstrap,
+     * writes are only tracked if there is at least one.
+     */
+    public void register(RepositoryMetadata repositoryMetadata, RepositoryMethodMetadata methodMetadata)
+    {
+        getResults(repositoryMetadata, methodMetadata);
+    }
+
+    /**
+     * Has to be invoked before the given entity class gets written.
+     * The cached results of the entity get evicted immediately and once the current transaction completed.
+     */
+    public void onWrite(Class<?> entityClass)
+    {
+        if (caches.isEmpty())
+        {
+            return;
+        }
+
+        Set<Class<?>> writes = getTransactionWrites(true);
+        if (writes != null && writes.add(entityClass))
+        {
+            getPendingWrites(entityClass).incrementAndGet();
+        }
+        evict(entityClass);
+    }
+
+    /**
+     * Invoked once the transaction which wrote the given entity classes completed.
+     */
+    protected void afterCompletion(Set<Class<?>> writes)
+    {
+        for (Class<?> entityClass : writes)
+        {
+            getPendingWrites(entityClass).decrementAndGet();
+            evict(entityClass);
+        }
+        writes.clear();
+    }
+
+    /**
+     * Evicts the cached results of all methods of repositories for the given entity class.
+     */
+    public void evict(Class<?> entityClass)
+    {
+        for (CachedResults results : caches.values())
+        {
+            if (results.isFor(entityClass))
+            {
+                results.clear();
+            }
+        }
+    }
+
+    public void clear()
+    {
+        for (CachedResults results : caches.values())
+        {
+            results.clear();
+        }
+    }
+
+    /**
+     * @param create whether the writes should get registered for the current transaction if there are none yet
+     * @return the entity classes written by the current transaction
+     *         or {@code null} if there is no transaction which supports completion callbacks
+     */
+    protected Set<Class<?>> getTransactionWrites(boolean create)
+    {
+        TransactionSynchronizationRegistry registry = resolveTransactionSynchronizationRegistry();
+        int status = registry == null ? Status.STATUS_NO_TRANSACTION : registry.getTransactionStatus();
+        if (status == Status.STATUS_ACTIVE || status == Status.STATUS_MARKED_ROLLBACK)
+        {
+            @SuppressWarnings("unchecked")
+            Set<Class<?>> writes = (Set<Class<?>>) registry.getResource(QueryResultCache.class);
+            if (writes == null && create && status == Status.STATUS_ACTIVE)
+            {
+                final Set<Class<?>> newWrites = new HashSet<Class<?>>();
+                registry.putResource(QueryResultCache.class, newWrites);
+                registry.registerInterposedSynchronization(new Synchronization()
+                {
+                    @Override
+                    public void beforeCompletion()
+                    {
+                    }
+
+                    @Override
+                    public void afterCompletion(int status)
+                    {
+                        QueryResultCache.this.afterCompletion(newWrites);
+                    }
+                });
+                writes = newWrites;
+            }
+            return writes;
+        }
+
+        if (isTransactionContextActive())
+        {
+            return transactionWrites.getEntityClasses();
+        }
+        return null;
+    }
+
+    private boolean isTransactionContextActive()
+    {
+        if (beanManager == null)
+        {
+            return false;
+        }
+        try
+        {
+            return beanManager.getContext(TransactionScoped.class).isActive();
+        }
+        catch (ContextNotActiveException e)
+        {
+            return false;
+        }
+    }
+
+    private TransactionSynchronizationRegistry resolveTransactionSynchronizationRegistry()
+    {
+        if (!transactionSynchronizationRegistryResolved)
+        {
+            try
+            {
+                transactionSynchronizationRegistry = (TransactionSynchronizationRegistry)
+                        new InitialContext().lookup(TRANSACTION_SYNC_REGISTRY_JNDI_NAME);
+            }
+            catch (Exception e)
+            {
+                // no JTA available
+                transactionSynchronizationRegistry = null;
+            }
+            transactionSynchronizationRegistryResolved = true;
+        }
+        return transactionSynchronizationRegistry;
+    }
+
+    private AtomicInteger getPendingWrites(Class<?> entityClass)
+    {
+        AtomicInteger writes = pendingWrites.get(entityClass);
+        if (writes == null)
+        {
+            writes = new AtomicInteger();
+            AtomicInteger existing = pendingWrites.putIfAbsent(entityClass, writes);
+            if (existing != null)
+            {
+                writes = existing;
+            }
+        }
+        return writes;
+    }
+
+    private boolean hasPendingWrites(CachedResults results)
+    {
+        for (Map.Entry<Class<?>, AtomicInteger> entry : pendingWrites.entrySet())
+        {
+            if (entry.getValue().get() > 0 && results.isFor(entry.getKey()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Managed entities are bound to the persistence context of the caller, thus they must not be shared.
+     */
+    private boolean containsEntities(Object result)
+    {
+        if (result instanceof Collection)
+        {
+            for (Object element : (Collection<?>) result)
+            {
+                if (containsEntities(element))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (result instanceof Object[])
+        {
+            for (Object element : (Object[]) result)
+            {
+                if (containsEntities(element))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (result instanceof Optional)
+        {
+            return containsEntities(((Optional<?>) result).orElse(null));
+        }
+        return result != null && result != NULL_RESULT && isEntity(result.getClass());
+    }
+
+    private boolean isEntity(Class<?> type)
+    {
+        Boolean entity = entityClasses.get(type);
+        if (entity == null)
+        {
+            entity = Boolean.FALSE;
+            // proxies of lazy loaded entities are subclasses of the entity
+            for (Class<?> current = type; current != null && current != Object.class;
+                    current = current.getSuperclass())
+            {
+                if (EntityUtils.isEntityClass(current))
+                {
+                    entity = Boolean.TRUE;
+                    break;
+                }
+            }
+            entityClasses.putIfAbsent(type, entity);
+        }
+        return entity;
+    }
+
+    private CachedResults getResults(RepositoryMetadata repositoryMetadata, RepositoryMethodMetadata methodMetadata)
+    {
+        CachedResults results = caches.get(methodMetadata);
+        if (results == null)
+        {
+            Class<?> entityClass = repositoryMetadata.getEntityMetadata() == null
+                    ? Object.class : repositoryMetadata.getEntityMetadata().getEntityClass();
+            results = new CachedResults(entityClass, methodMetadata.getResultCache());
+            CachedResults existing = caches.putIfAbsent(methodMetadata, results);
+            if (existing != null)
+            {
+                results = existing;
+            }
+        }
+        return results;
+    }
+
+    private Object copy(Object result)
+    {
+        if (result == NULL_RESULT)
+        {
+            return null;
+        }
+        // callers may modify the returned list
+        if (result instanceof List)
+        {
+            return new ArrayList<Object>((List<?>) result);
+        }
+        return result;
+    }
+
+    private static final class CachedResults
+    {
+        private final Class<?> entityClass;
+        private final long timeToLive;
+        private final int maxSize;
+
+        private final ConcurrentMap<CacheKey, CachedResult> results = new ConcurrentHashMap<CacheKey, CachedResult>();
+        private final AtomicLong generation = new AtomicLong();
+
+        CachedResults(Class<?> entityClass, ResultCache config)
+        {
+            this.entityClass = entityClass;
+            this.timeToLive = config.timeUnit().toNanos(config.timeToLive());
+            this.maxSize = config.maxSize();
+        }
+
+        Object get(CacheKey key)
+        {
+            CachedResult cached = results.get(key);
+            if (cached == null)
+            {
+                return null;
+            }
+            if (cached.isExpired(System.nanoTime()))
+            {
+                results.remove(key, cached);
+                return null;
+            }
+            return cached.value;
+        }
+
+        void put(CacheKey key, Object value, long queryGeneration)
+        {
+            long now = System.nanoTime();
+            if (results.size() >= maxSize)
+            {
+                makeRoom(now);
+            }
+            CachedResult cached = new CachedResult(value, now + timeToLive);
+            results.put(key, cached);
+            // the result might be outdated if the cache got evicted while the query was running
+            if (generation.get() != queryGeneration)
+            {
+                results.remove(key, cached);
+            }
+        }
+
+        void clear()
+        {
+            generation.incrementAndGet();
+            results.clear();
+        }
+
+        long getGeneration()
+        {
+            return generation.get();
+        }
+
+        boolean isFor(Class<?> entityClass)
+        {
+            return this.entityClass.isAssignableFrom(entityClass) || entityClass.isAssignableFrom(this.entityClass);
+        }
+
+        boolean isForAny(Set<Class<?>> entityClasses)
+        {
+            if (entityClasses != null)
+            {
+                for (Class<?> entityClass : entityClasses)
+                {
+                    if (isFor(entityClass))
+                    {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void makeRoom(long now)
+        {
+            Iterator<CachedResult> iterator = results.values().iterator();
+            while (iterator.hasNext())
+            {
+                if (iterator.next().isExpired(now))
+                {
+                    iterator.remove();
+                }
+            }
+            iterator = results.values().iterator();
+            while (results.size() >= maxSize && iterator.hasNext())
+            {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class CachedResult
+    {
+        private final Object value;
+        private final long expiresAt;
+
+        CachedResult(Object value, long expiresAt)
+        {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now)
+        {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private static final class CacheKey
+    {
+        private final Object[] args;
+        private final int hashCode;
+
+        CacheKey(Object[] args)
+        {
+            this.args = args == null ? new Object[0] : args.clone();
+            this.hashCode = Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return obj instanceof CacheKey && Arrays.deepEquals(args, ((CacheKey) obj).args);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.apache.deltaspike.jpa.api.transaction.TransactionScoped;
+
+/**
+ * The entity classes written within a transaction which is controlled by the
+ * {@link org.apache.deltaspike.jpa.spi.transaction.TransactionStrategy}.
+ * Notifies the {@link QueryResultCache} once the transaction completed.
+ */
+@TransactionScoped
+public class TransactionWrites
+{
+    private final Set<Class<?>> entityClasses = new HashSet<Class<?>>();
+
+    @Inject
+    private QueryResultCache queryResultCache;
+
+    public Set<Class<?>> getEntityClasses()
+    {
+        return entityClasses;
+    }
+
+    @PreDestroy
+    protected void afterCompletion()
+    {
+        if (!entityClasses.isEmpty())
+        {
+            queryResultCache.afterCompletion(entityClasses);
+        }
+    }
+}
@@ -21,11 +21,13 @@ package org.apache.deltaspike.data.impl.meta;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
+import org.apache.deltaspike.core.util.ProxyUtils;
 import org.apache.deltaspike.data.impl.RepositoryExtension;
 
 @ApplicationScoped
@@ -33,6 +35,8 @@ public class RepositoryMetadataHandler
 {
     private final Map<Class<?>, RepositoryMetadata> repositoriesMetadata =
             new ConcurrentHashMap<Class<?>, RepositoryMetadata>();
+    private final ConcurrentMap<Class<?>, RepositoryMetadata> proxiesMetadata =
+            new ConcurrentHashMap<Class<?>, RepositoryMetadata>();
 
     @Inject
     private BeanManager beanManager;
@@ -52,6 +56,24 @@ public class RepositoryMetadataHandler
         }
     }
 
+    /**
+     * Lookup the Repository component meta data of a repository proxy. The result is kept per proxy class,
+     * so the class hierarchy of the proxy is only inspected on the first invocation.
+     *
+     * @param proxyClass The class of the invoked repository proxy.
+     * @return A {@link RepositoryMetadata}.
+     */
+    public RepositoryMetadata lookupMetadata(Class<?> proxyClass)
+    {
+        RepositoryMetadata metadata = proxiesMetadata.get(proxyClass);
+        if (metadata == null)
+        {
+            metadata = lookupMetadata(ProxyUtils.getProxyAndBaseTypes(proxyClass));
+            proxiesMetadata.putIfAbsent(proxyClass, metadata);
+        }
+        return metadata;
+    }
+
     /**
      * Lookup the Repository component meta data from a list of candidate classes.
      * Depending on the implementation, proxy objects might have been modified so the actual class
@@ -33,7 +33,9 @@ import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.persistence.FlushModeType;
 
+import org.apache.deltaspike.core.api.config.ConfigResolver;
 import org.apache.deltaspike.data.api.EntityManagerConfig;
+import org.apache.deltaspike.data.api.config.base.DataBaseConfig;
 import org.apache.deltaspike.jpa.api.entitymanager.EntityManagerResolver;
 import org.apache.deltaspike.jpa.spi.entitymanager.QualifierBackedEntityManagerResolver;
 
@@ -80,6 +82,10 @@ public class RepositoryMetadataInitializer
                 repositoryMetadata.setEntityManagerResolverIsNormalScope(false);
             }
         }
+        if (repositoryMetadata.getBatchSize() <= 0)
+        {
+            repositoryMetadata.setBatchSize(extractBatchSize(repositoryClass));
+        }
         repositoryMetadata.setEntityMetadata(entityMetadataInitializer.init(repositoryMetadata));
         initializeMethodsMetadata(repositoryMetadata, beanManager);
         
@@ -144,6 +150,16 @@ public class RepositoryMetadataInitializer
         return null;
     }
 
+    private int extractBatchSize(Class<?> clazz)
+    {
+        Integer batchSize = ConfigResolver.resolve(DataBaseConfig.Batch.SIZE_KEY + "." + clazz.getName())
+                .as(Integer.class)
+                .withCurrentProjectStage(true)
+                .withDefault(DataBaseConfig.Batch.SIZE)
+                .getValue();
+        return batchSize != null ? batchSize : 0;
+    }
+
     private EntityManagerConfig extractEntityManagerConfig(Class<?> clazz)
     {
         if (clazz.isAnnotationPresent(EntityManagerConfig.class))
@@ -18,18 +18,30 @@
  */
 package org.apache.deltaspike.data.impl.meta;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.ResultCache;
 import org.apache.deltaspike.data.api.SingleResultType;
+import org.apache.deltaspike.data.api.StreamConfig;
 import org.apache.deltaspike.data.api.mapping.QueryInOutMapper;
+import org.apache.deltaspike.data.impl.builder.Projection;
+import org.apache.deltaspike.data.impl.builder.QueryBuilder;
 import org.apache.deltaspike.data.impl.builder.part.QueryRoot;
 import org.apache.deltaspike.data.impl.builder.result.QueryProcessor;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
 
 public class RepositoryMethodMetadata
 {
+    // the query string differs only by the ordering of a QueryResult, thus there are just a few per method
+    private static final int MAX_COUNT_QUERIES = 32;
+
     private Method method;
+    private Annotation[][] parameterAnnotations;
     private RepositoryMethodType methodType;
     private RepositoryMethodPrefix methodPrefix;
     
@@ -37,13 +49,17 @@ public class RepositoryMethodMetadata
     private Modifying modifying;
     
     private QueryRoot queryRoot;
+    private Projection projection;
     private QueryProcessor queryProcessor;
+    private QueryBuilder queryBuilder;
 
     private Class<? extends QueryInOutMapper<?>> queryInOutMapperClass;
     private boolean queryInOutMapperIsNormalScope;
     
     private boolean returnsOptional;
     private boolean returnsStream;
+    private StreamConfig streamConfig;
+    private ResultCache resultCache;
     
     private SingleResultType singleResultType;
     
@@ -51,6 +67,8 @@ public class RepositoryMethodMetadata
     
     private Transactional transactional;
 
+    private final ConcurrentMap<String, String> countQueries = new ConcurrentHashMap<String, String>();
+
     public RepositoryMethodMetadata()
     {
         
@@ -171,6 +189,59 @@ public class RepositoryMethodMetadata
         this.returnsStream = returnsStream;
     }
 
+    public StreamConfig getStreamConfig()
+    {
+        return streamConfig;
+    }
+
+    public void setStreamConfig(StreamConfig streamConfig)
+    {
+        this.streamConfig = streamConfig;
+    }
+
+    /**
+     * @return the parameter annotations of the method, read once instead of copied on each invocation
+     */
+    public Annotation[][] getParameterAnnotations()
+    {
+        return parameterAnnotations;
+    }
+
+    public void setParameterAnnotations(Annotation[][] parameterAnnotations)
+    {
+        this.parameterAnnotations = parameterAnnotations;
+    }
+
+    public QueryBuilder getQueryBuilder()
+    {
+        return queryBuilder;
+    }
+
+    public void setQueryBuilder(QueryBuilder queryBuilder)
+    {
+        this.queryBuilder = queryBuilder;
+    }
+
+    public Projection getProjection()
+    {
+        return projection;
+    }
+
+    public void setProjection(Projection projection)
+    {
+        this.projection = projection;
+    }
+
+    public ResultCache getResultCache()
+    {
+        return resultCache;
+    }
+
+    public void setResultCache(ResultCache resultCache)
+    {
+        this.resultCache = resultCache;
+    }
+
     public SingleResultType getSingleResultType()
     {
         return singleResultType;
@@ -200,4 +271,20 @@ public class RepositoryMethodMetadata
     {
         this.transactional = transactional;
     }
+
+    /**
+     * @return the count query previously created for the given query string of this method, or null
+     */
+    public String getCountQuery(String queryString)
+    {
+        return countQueries.get(queryString);
+    }
+
+    public void setCountQuery(String queryString, String countQuery)
+    {
+        if (countQueries.size() < MAX_COUNT_QUERIES)
+        {
+            countQueries.putIfAbsent(queryString, countQuery);
+        }
+    }
 }
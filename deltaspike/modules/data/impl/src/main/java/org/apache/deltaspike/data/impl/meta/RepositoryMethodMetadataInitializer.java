@@ -23,6 +23,8 @@ import static org.apache.deltaspike.core.util.StringUtils.isNotEmpty;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -37,14 +39,21 @@ import org.apache.deltaspike.core.util.ClassUtils;
 
 import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.QueryResult;
+import org.apache.deltaspike.data.api.ResultCache;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.SingleResultType;
+import org.apache.deltaspike.data.api.StreamConfig;
 import org.apache.deltaspike.data.api.mapping.MappingConfig;
 import org.apache.deltaspike.data.api.mapping.QueryInOutMapper;
 import org.apache.deltaspike.data.impl.builder.MethodExpressionException;
+import org.apache.deltaspike.data.impl.builder.Projection;
+import org.apache.deltaspike.data.impl.builder.QueryBuilderFactory;
 import org.apache.deltaspike.data.impl.builder.part.QueryRoot;
 import org.apache.deltaspike.data.impl.builder.result.QueryProcessorFactory;
 import org.apache.deltaspike.data.impl.handler.EntityRepositoryHandler;
+import org.apache.deltaspike.data.impl.handler.QueryResultCache;
+import org.apache.deltaspike.data.impl.util.EntityUtils;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
 
 @ApplicationScoped
@@ -52,15 +61,24 @@ public class RepositoryMethodMetadataInitializer
 {
     @Inject
     private QueryProcessorFactory queryProcessorFactory;
+
+    @Inject
+    private QueryBuilderFactory queryBuilderFactory;
+
+    @Inject
+    private QueryResultCache queryResultCache;
     
     public RepositoryMethodMetadata init(RepositoryMetadata repositoryMetadata, Method method, BeanManager beanManager)
     {
         RepositoryMethodMetadata repositoryMethodMetadata = new RepositoryMethodMetadata();
         
         repositoryMethodMetadata.setMethod(method);
+        repositoryMethodMetadata.setParameterAnnotations(method.getParameterAnnotations());
 
         repositoryMethodMetadata.setReturnsOptional(Optional.class.isAssignableFrom(method.getReturnType()));
         repositoryMethodMetadata.setReturnsStream(Stream.class.isAssignableFrom(method.getReturnType()));
+        repositoryMethodMetadata.setStreamConfig(method.isAnnotationPresent(StreamConfig.class)
+                ? method.getAnnotation(StreamConfig.class) : null);
         
         repositoryMethodMetadata.setQuery(method.isAnnotationPresent(Query.class)
                 ? method.getAnnotation(Query.class) : null);
@@ -82,10 +100,12 @@ public class RepositoryMethodMetadataInitializer
                 extractMapper(method, repositoryMetadata));
 
         initQueryRoot(repositoryMetadata, repositoryMethodMetadata);
+        repositoryMethodMetadata.setQueryBuilder(queryBuilderFactory.build(repositoryMethodMetadata));
         initQueryInOutMapperIsNormalScope(repositoryMethodMetadata, beanManager);
 
         initSingleResultType(repositoryMethodMetadata);
         initRequiresTransaction(repositoryMethodMetadata);
+        initResultCache(repositoryMetadata, repositoryMethodMetadata);
 
         
         return repositoryMethodMetadata;
@@ -111,10 +131,12 @@ public class RepositoryMethodMetadataInitializer
     {
         if (methodMetadata.getMethodType() == RepositoryMethodType.PARSE)
         {
+            methodMetadata.setProjection(extractProjection(repositoryMetadata, methodMetadata));
             methodMetadata.setQueryRoot(
                     QueryRoot.create(methodMetadata.getMethod().getName(),
                             repositoryMetadata,
-                            methodMetadata.getMethodPrefix()));
+                            methodMetadata.getMethodPrefix(),
+                            methodMetadata.getProjection()));
         }
         else
         {
@@ -159,7 +181,8 @@ public class RepositoryMethodMetadataInitializer
         {
             QueryRoot.create(repositoryMethodMetadata.getMethod().getName(),
                     repositoryMetadata,
-                    repositoryMethodMetadata.getMethodPrefix());
+                    repositoryMethodMetadata.getMethodPrefix(),
+                    extractProjection(repositoryMetadata, repositoryMethodMetadata));
             return true;
         }
         catch (MethodExpressionException e)
@@ -168,6 +191,64 @@ public class RepositoryMethodMetadataInitializer
         }
     }
 
+    private Projection extractProjection(RepositoryMetadata repositoryMetadata,
+            RepositoryMethodMetadata repositoryMethodMetadata)
+    {
+        Method method = repositoryMethodMetadata.getMethod();
+        RepositoryMethodPrefix prefix = repositoryMethodMetadata.getMethodPrefix();
+        if (prefix.isCount() || prefix.isModifying() || ClassUtils.returns(method, QueryResult.class)
+                || extractMapper(method, repositoryMetadata) != null)
+        {
+            return null;
+        }
+        return Projection.of(repositoryMetadata, method);
+    }
+
+    private void initResultCache(RepositoryMetadata repositoryMetadata,
+            RepositoryMethodMetadata repositoryMethodMetadata)
+    {
+        Method method = repositoryMethodMetadata.getMethod();
+        if (method.isAnnotationPresent(ResultCache.class)
+                && !repositoryMethodMetadata.isReturnsStream()
+                && !ClassUtils.returns(method, QueryResult.class))
+        {
+            Class<?> resultType = extractResultElementType(method);
+            if (resultType != null && EntityUtils.isEntityClass(resultType))
+            {
+                throw new IllegalStateException("@" + ResultCache.class.getSimpleName() + " isn't supported for "
+                        + method + " since it returns the entity " + resultType.getName()
+                        + ". Managed entities can't be shared, use a projection or a DTO instead.");
+            }
+            repositoryMethodMetadata.setResultCache(method.getAnnotation(ResultCache.class));
+            queryResultCache.register(repositoryMetadata, repositoryMethodMetadata);
+        }
+    }
+
+    /**
+     * @return the declared type of the single results of the method or {@code null} if it's unknown
+     */
+    private Class<?> extractResultElementType(Method method)
+    {
+        Type type = method.getGenericReturnType();
+        if (type instanceof ParameterizedType)
+        {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+            if (Iterable.class.isAssignableFrom(rawType) || Optional.class.equals(rawType))
+            {
+                Type elementType = parameterizedType.getActualTypeArguments()[0];
+                return elementType instanceof Class ? (Class<?>) elementType : null;
+            }
+            return rawType;
+        }
+        if (type instanceof Class)
+        {
+            Class<?> resultType = (Class<?>) type;
+            return resultType.isArray() ? resultType.getComponentType() : resultType;
+        }
+        return null;
+    }
+
     private Class<? extends QueryInOutMapper<?>> extractMapper(Method queryMethod,
             RepositoryMetadata repositoryMetadata)
     {
@@ -221,6 +302,12 @@ public class RepositoryMethodMetadataInitializer
         {
             requiresTransaction = true;
         }
+
+        if (repositoryMethodMetadata.getMethodType() == RepositoryMethodType.PARSE
+                && repositoryMethodMetadata.getMethodPrefix().isModifying())
+        {
+            requiresTransaction = true;
+        }
         
         repositoryMethodMetadata.setRequiresTransaction(requiresTransaction);
     }
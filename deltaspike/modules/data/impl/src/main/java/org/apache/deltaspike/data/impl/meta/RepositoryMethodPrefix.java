@@ -32,6 +32,10 @@ public class RepositoryMethodPrefix
     public static final String DEFAULT_COUNT_PREFIX = "countBy";
     public static final String DEFAULT_REMOVE_PREFIX = "removeBy";
     private static final String FIND_ALL_PREFIX = "findAll";
+
+    private static final String UPDATE_PREFIX = "update(\\w+?)By";
+    private static final String UPDATE_PREFIX_PATTERN = UPDATE_PREFIX + "(?=[A-Z])(.*)";
+    private static final Pattern UPDATE_PATTERN = Pattern.compile(UPDATE_PREFIX_PATTERN);
     
     private static final String FIND_FIRST_PREFIX = "find(First|Top)(\\d+)(By)*";
     private static final String FIND_FIRST_PREFIX_PATTERN = FIND_FIRST_PREFIX + "(.*)";
@@ -105,6 +109,29 @@ public class RepositoryMethodPrefix
                 this.getPrefix().equalsIgnoreCase(DEFAULT_REMOVE_PREFIX);
     }
 
+    public boolean isUpdate()
+    {
+        return !hasCustomPrefix() && KnownQueryPrefix.fromMethodName(methodName) == KnownQueryPrefix.UPDATE;
+    }
+
+    /**
+     * Whether the derived query is a bulk delete or update statement.
+     */
+    public boolean isModifying()
+    {
+        return isDelete() || isUpdate();
+    }
+
+    /**
+     * The properties to set in an update method expression, e.g. {@code NameAndEnabled}
+     * for {@code updateNameAndEnabledById}.
+     */
+    public String getUpdateProperties()
+    {
+        Matcher matcher = UPDATE_PATTERN.matcher(methodName);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
     public boolean isCount()
     {
         return this.getPrefix().equalsIgnoreCase(DEFAULT_COUNT_PREFIX);
@@ -148,7 +175,20 @@ public class RepositoryMethodPrefix
         ANY(DEFAULT_ANY_PREFIX, SingleResultType.ANY),
         DELETE_DEFAULT(DEFAULT_DELETE_PREFIX, SingleResultType.ANY),
         REMOVE_DEFAULT(DEFAULT_REMOVE_PREFIX, SingleResultType.ANY),
-        COUNT_DEFAULT(DEFAULT_COUNT_PREFIX, SingleResultType.ANY);
+        COUNT_DEFAULT(DEFAULT_COUNT_PREFIX, SingleResultType.ANY),
+        UPDATE(UPDATE_PREFIX, SingleResultType.ANY)
+        {
+            @Override
+            public boolean matches(String name)
+            {
+                return name.matches(UPDATE_PREFIX_PATTERN);
+            }
+            @Override
+            public String removePrefix(String queryPart)
+            {
+                return queryPart.replaceFirst(UPDATE_PREFIX + "(?=[A-Z])", "");
+            }
+        };
 
         private final String prefix;
         private final SingleResultType singleResultType;
@@ -68,10 +68,11 @@ public final class Parameters
         int first = DEFAULT_FIRST;
         List<Parameter> result = new ArrayList<Parameter>(parameters.length);
         int paramIndex = 1;
-        Annotation[][] annotations = method.getParameterAnnotations();
+        Annotation[][] annotations = repositoryMethod.getParameterAnnotations() != null
+                ? repositoryMethod.getParameterAnnotations() : method.getParameterAnnotations();
         for (int i = 0; i < parameters.length; i++)
         {
-            if (isParameter(method.getParameterAnnotations()[i]))
+            if (isParameter(annotations[i]))
             {
                 QueryParam qpAnnotation = extractFrom(annotations[i], QueryParam.class);
                 if (qpAnnotation != null)
@@ -26,4 +26,9 @@ public interface MethodProperty<V> extends Property<V>
     @Override
     Method getAnnotatedElement();
 
+    /**
+     * @return the setter method or null if the property is read only
+     */
+    Method getSetterMethod();
+
 }
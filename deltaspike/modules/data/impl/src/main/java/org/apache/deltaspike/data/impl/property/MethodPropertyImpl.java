@@ -132,6 +132,12 @@ class MethodPropertyImpl<V> implements MethodProperty<V>
         return getterMethod;
     }
 
+    @Override
+    public Method getSetterMethod()
+    {
+        return setterMethod;
+    }
+
     @Override
     public V getValue(Object instance)
     {
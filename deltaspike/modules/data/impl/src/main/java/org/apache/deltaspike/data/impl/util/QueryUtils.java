@@ -62,4 +62,84 @@ public final class QueryUtils
         return value != null ? value : (fallback != null ? fallback : "");
     }
 
+    /**
+     * Find the first top level occurrence of the given keyword in a JPQL query.
+     * The case is ignored, as well as occurrences within string literals and parentheses (e.g. sub queries).
+     *
+     * @return the index of the keyword or -1 if there is none
+     */
+    public static int indexOfKeyword(String query, String keyword)
+    {
+        int depth = 0;
+        boolean literal = false;
+        for (int i = 0; i < query.length(); i++)
+        {
+            char c = query.charAt(i);
+            if (c == '\'')
+            {
+                // an escaped quote ('') just toggles twice
+                literal = !literal;
+            }
+            else if (literal)
+            {
+                continue;
+            }
+            else if (c == '(')
+            {
+                depth++;
+            }
+            else if (c == ')')
+            {
+                depth--;
+            }
+            else if (depth == 0 && query.regionMatches(true, i, keyword, 0, keyword.length())
+                    && isWordBoundary(query, i - 1) && isWordBoundary(query, i + keyword.length()))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the highest index of the positional parameters (?1, ?2, ...) used in the JPQL query
+     *         or 0 if the query does not use positional parameters
+     */
+    public static int maxPositionalParameter(String query)
+    {
+        int max = 0;
+        boolean literal = false;
+        for (int i = 0; i < query.length(); i++)
+        {
+            char c = query.charAt(i);
+            if (c == '\'')
+            {
+                literal = !literal;
+            }
+            else if (c == '?' && !literal)
+            {
+                int end = i + 1;
+                while (end < query.length() && Character.isDigit(query.charAt(end)))
+                {
+                    end++;
+                }
+                if (end > i + 1)
+                {
+                    max = Math.max(max, Integer.parseInt(query.substring(i + 1, end)));
+                }
+            }
+        }
+        return max;
+    }
+
+    private static boolean isWordBoundary(String query, int index)
+    {
+        if (index < 0 || index >= query.length())
+        {
+            return true;
+        }
+        char c = query.charAt(index);
+        return !Character.isJavaIdentifierPart(c) && c != '.' && c != ':';
+    }
+
 }
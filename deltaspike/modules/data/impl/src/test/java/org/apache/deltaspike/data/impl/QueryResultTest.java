@@ -33,6 +33,7 @@ import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
 import javax.persistence.NonUniqueResultException;
 
+import org.apache.deltaspike.data.api.PageToken;
 import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.test.TransactionalTestCase;
 import org.apache.deltaspike.data.test.domain.*;
@@ -222,6 +223,70 @@ public class QueryResultTest extends TransactionalTestCase
 
     }
 
+    @Test
+    public void should_page_with_keyset()
+    {
+        // given
+        final String name = "testKeysetPage";
+        builder.createSimple(name, Integer.valueOf(22));
+        builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(99));
+        builder.createSimple(name, Integer.valueOf(123));
+
+        // when
+        QueryResult<Simple> pagedQuery = repo
+                .findByName(name)
+                .orderAsc(Simple_.counter)
+                .orderAsc(Simple_.id)
+                .withPageSize(2);
+        List<Simple> result1 = pagedQuery.getResultList();
+        PageToken token1 = pagedQuery.nextPageToken(result1);
+        List<Simple> result2 = pagedQuery.withPageToken(token1).getResultList();
+        List<Simple> result3 = pagedQuery.withPageToken(pagedQuery.nextPageToken(result2)).getResultList();
+        int total = pagedQuery.countPages();
+
+        // then
+        assertEquals(2, result1.size());
+        assertEquals(2, result2.size());
+        assertEquals(1, result3.size());
+        assertEquals(3, total);
+
+        assertEquals(22, result1.get(0).getCounter().intValue());
+        assertEquals(56, result1.get(1).getCounter().intValue());
+        assertEquals(56, result2.get(0).getCounter().intValue());
+        assertFalse(result1.get(1).getId().equals(result2.get(0).getId()));
+        assertEquals(99, result2.get(1).getCounter().intValue());
+        assertEquals(123, result3.get(0).getCounter().intValue());
+    }
+
+    @Test
+    public void should_count_pages_of_last_page()
+    {
+        // given
+        final String name = "testCountLastPage";
+        builder.createSimple(name, Integer.valueOf(22));
+        builder.createSimple(name, Integer.valueOf(56));
+        builder.createSimple(name, Integer.valueOf(99));
+        builder.createSimple(name, Integer.valueOf(123));
+        builder.createSimple(name, Integer.valueOf(229));
+
+        // when
+        QueryResult<Simple> pagedQuery = repo
+                .findByName(name)
+                .withPageSize(2);
+        List<Simple> lastPage = pagedQuery.toPage(2).getResultList();
+        int totalOfLastPage = pagedQuery.countPages();
+        List<Simple> firstPage = pagedQuery.toPage(0).getResultList();
+        int totalOfFirstPage = pagedQuery.countPages();
+
+        // then
+        assertEquals(1, lastPage.size());
+        assertEquals(2, firstPage.size());
+        assertEquals(3, totalOfLastPage);
+        assertEquals(3, totalOfFirstPage);
+    }
+
     @Test
     public void should_modify_named_query()
     {
@@ -20,9 +20,13 @@ package org.apache.deltaspike.data.impl.audit;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.util.List;
+
 import org.apache.deltaspike.data.api.audit.CreatedOn;
+import org.apache.deltaspike.data.api.audit.ModifiedOn;
 import org.apache.deltaspike.data.test.domain.AuditedEntity;
 import org.apache.deltaspike.data.test.domain.Simple;
 import org.junit.Test;
@@ -76,6 +80,22 @@ public class TimestampsProviderTest
         // then finish the test
     }
 
+    @Test
+    public void should_reuse_audited_properties()
+    {
+        // given
+        TimestampsProvider provider = new TimestampsProvider();
+
+        // when
+        List<AuditedProperty> first =
+                provider.getProperties(new AuditedEntity(), CreatedOn.class, ModifiedOn.class, false);
+        List<AuditedProperty> second =
+                new TimestampsProvider().getProperties(new AuditedEntity(), CreatedOn.class, ModifiedOn.class, false);
+
+        // then
+        assertSame(first, second);
+    }
+
     @Test(expected = AuditPropertyException.class)
     public void should_fail_on_invalid_entity()
     {
@@ -19,6 +19,7 @@
 package org.apache.deltaspike.data.impl.builder.part;
 
 import org.apache.deltaspike.data.impl.builder.MethodExpressionException;
+import org.apache.deltaspike.data.impl.builder.Projection;
 import org.apache.deltaspike.data.impl.meta.EntityMetadata;
 import org.apache.deltaspike.data.impl.meta.RepositoryMetadata;
 import org.apache.deltaspike.data.impl.meta.RepositoryMethodPrefix;
@@ -27,6 +28,8 @@ import org.apache.deltaspike.data.test.service.SimpleFetchRepository;
 import org.apache.deltaspike.data.test.service.SimpleRepository;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 
 public class QueryRootTest
@@ -535,9 +538,122 @@ public class QueryRootTest
         assertEquals(expected, result);
     }
 
+    @Test
+    public void should_create_update_query_by_name()
+    {
+        // given
+        final String name = "updateEnabledAndCounterByNameAndEnabled";
+        final String expected =
+                "update Simple e " +
+                        "set e.enabled = ?1, e.counter = ?2 " +
+                        "where e.name = ?3 and e.enabled = ?4";
+
+        // when
+        String result = QueryRoot.create(name, repo, prefix(name)).getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_fail_update_query_with_unknown_property()
+    {
+        // given
+        final String name = "updateUnknownByName";
+
+        // when
+        QueryRoot.create(name, repo, prefix(name));
+    }
+
+    @Test
+    public void should_create_constructor_projection_query() throws Exception
+    {
+        // given
+        final String name = "findByNameOrderByCounterAsc";
+        final String expected =
+                "select new org.apache.deltaspike.data.test.domain.dto.SimpleSummary(e.name, e.counter) " +
+                        "from Simple e where e.name = ?1 order by e.counter asc";
+        Projection projection = Projection.of(repo, SimpleRepository.class.getMethod(name, String.class));
+
+        // when
+        String result = QueryRoot.create(name, repo, prefix(name), projection).getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void should_create_interface_projection_query() throws Exception
+    {
+        // given
+        final String name = "findAnyByNameAndEnabled";
+        final String expected =
+                "select e.enabled, e.name from Simple e where e.name = ?1 and e.enabled = ?2";
+        Projection projection = Projection.of(repo,
+                SimpleRepository.class.getMethod(name, String.class, Boolean.class));
+
+        // when
+        String result = QueryRoot.create(name, repo, prefix(name), projection).getJpqlQuery().trim();
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_fail_interface_projection_with_default_method() throws Exception
+    {
+        // given
+        final String name = "findAnyByName";
+
+        // when
+        Projection.of(repo, ProjectionRepository.class.getMethod(name, String.class));
+    }
+
+    @Test(expected = MethodExpressionException.class)
+    public void should_fail_constructor_projection_without_parameter_names() throws Exception
+    {
+        // given
+        final String name = "findByName";
+
+        // when
+        Projection.of(repo, ProjectionRepository.class.getMethod(name, String.class));
+    }
+
     private RepositoryMethodPrefix prefix(final String name)
     {
         return new RepositoryMethodPrefix("", name);
     }
 
+    public interface ProjectionRepository
+    {
+        DefaultMethodName findAnyByName(String name);
+
+        List<UnnamedSummary> findByName(String name);
+    }
+
+    public interface DefaultMethodName
+    {
+        String getName();
+
+        default String getDisplayName()
+        {
+            return getName().toUpperCase();
+        }
+    }
+
+    public static class UnnamedSummary
+    {
+        private final String name;
+
+        public UnnamedSummary(String arg0)
+        {
+            this.name = arg0;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+
 }
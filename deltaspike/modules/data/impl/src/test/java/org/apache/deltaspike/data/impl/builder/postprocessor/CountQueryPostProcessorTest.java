@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class CountQueryPostProcessorTest
+{
+
+    @Test
+    public void should_count_entity_alias()
+    {
+        assertEquals("select count(e) from Simple e where e.name = ?1",
+                CountQueryPostProcessor.rewriteToCount("select e from Simple e where e.name = ?1 order by e.id"));
+    }
+
+    @Test
+    public void should_ignore_sub_queries_and_literals()
+    {
+        // given
+        final String query = "SELECT s FROM Simple s WHERE s.name = 'from where order by' "
+                + "AND s.id IN (SELECT max(t.id) FROM Simple t WHERE t.counter > 1 ORDER BY t.id) ORDER BY s.counter";
+
+        // when
+        String result = CountQueryPostProcessor.rewriteToCount(query);
+
+        // then
+        assertEquals("select count(s) FROM Simple s WHERE s.name = 'from where order by' "
+                + "AND s.id IN (SELECT max(t.id) FROM Simple t WHERE t.counter > 1 ORDER BY t.id)", result);
+    }
+
+    @Test
+    public void should_count_alias_for_multiple_selections()
+    {
+        assertEquals("select count(s) from Simple as s join s.children c",
+                CountQueryPostProcessor.rewriteToCount("select s.name, c from Simple as s join fetch s.children c"));
+    }
+
+    @Test
+    public void should_keep_distinct()
+    {
+        assertEquals("select count(distinct s) from Simple s",
+                CountQueryPostProcessor.rewriteToCount("select distinct s from Simple s"));
+    }
+
+}
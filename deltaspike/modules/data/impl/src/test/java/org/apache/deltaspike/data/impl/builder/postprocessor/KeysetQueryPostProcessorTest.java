@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.builder.postprocessor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.deltaspike.data.api.PageToken;
+import org.apache.deltaspike.data.impl.builder.OrderDirection;
+import org.apache.deltaspike.data.impl.handler.QueryStringPostProcessor;
+import org.apache.deltaspike.data.test.domain.Simple;
+import org.junit.Test;
+
+public class KeysetQueryPostProcessorTest
+{
+
+    @Test
+    public void should_add_where_clause()
+    {
+        // given
+        List<QueryStringPostProcessor> processors = orderBy("counter", OrderDirection.ASC, true);
+        KeysetQueryPostProcessor keyset = new KeysetQueryPostProcessor(PageToken.of(10), processors);
+
+        // when
+        String result = keyset.postProcess("select e from Simple e");
+
+        // then
+        assertEquals("select e from Simple e where ((e.counter > :ds_keyset0))", result);
+    }
+
+    @Test
+    public void should_combine_with_existing_where_clause_and_order()
+    {
+        // given
+        List<QueryStringPostProcessor> processors = orderBy("s.counter", OrderDirection.DESC, false);
+        processors.addAll(orderBy("s.id", OrderDirection.ASC, false));
+        KeysetQueryPostProcessor keyset = new KeysetQueryPostProcessor(PageToken.of(10, 5L), processors);
+
+        // when
+        String result = keyset.postProcess(
+                "select s from Simple s where s.name = ?1 or s.name in (select t.name from Simple t where t.id = ?2) "
+                        + "order by s.counter desc");
+
+        // then
+        assertEquals("select s from Simple s where (s.name = ?1 or s.name in "
+                + "(select t.name from Simple t where t.id = ?2)) "
+                + "and ((s.counter < ?3) or (s.counter = ?3 and s.id > ?4)) "
+                + "order by s.counter desc", result);
+    }
+
+    @Test
+    public void should_create_token_from_entity()
+    {
+        // given
+        List<QueryStringPostProcessor> processors = orderBy("counter", OrderDirection.ASC, true);
+        processors.addAll(orderBy("s.name", OrderDirection.ASC, false));
+        Simple simple = new Simple("keyset");
+        simple.setCounter(42);
+
+        // when
+        PageToken token = KeysetQueryPostProcessor.createToken(simple, processors);
+
+        // then
+        assertEquals(PageToken.of(42, "keyset"), token);
+    }
+
+    private List<QueryStringPostProcessor> orderBy(String attribute, OrderDirection direction, boolean entityName)
+    {
+        List<QueryStringPostProcessor> result = new LinkedList<QueryStringPostProcessor>();
+        result.add(new OrderByQueryStringPostProcessor(attribute, direction, entityName));
+        return result;
+    }
+
+}
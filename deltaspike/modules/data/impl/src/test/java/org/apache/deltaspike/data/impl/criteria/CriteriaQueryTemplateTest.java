@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.criteria;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.criteria.ParameterExpression;
+
+import org.apache.deltaspike.data.impl.criteria.CriteriaQueryTemplate.CompiledQuery;
+import org.junit.Test;
+
+public class CriteriaQueryTemplateTest
+{
+
+    @Test
+    public void should_keep_limited_idle_queries()
+    {
+        // given
+        CriteriaQueryTemplate<Object> template = new CriteriaQueryTemplate<Object>();
+        List<CompiledQuery<Object>> compiled = new ArrayList<CompiledQuery<Object>>();
+        for (int i = 0; i <= CriteriaQueryTemplate.MAX_IDLE_QUERIES; i++)
+        {
+            compiled.add(new CompiledQuery<Object>(null, Collections.<ParameterExpression<?>>emptyList()));
+        }
+
+        // when
+        for (CompiledQuery<Object> query : compiled)
+        {
+            template.release(query);
+        }
+
+        // then
+        for (int i = 0; i < CriteriaQueryTemplate.MAX_IDLE_QUERIES; i++)
+        {
+            assertSame(compiled.get(i), template.borrow());
+        }
+        assertNull(template.borrow());
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.Date;
 import java.util.List;
 
 import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.NonUniqueResultException;
 
 import org.apache.deltaspike.data.test.TransactionalTestCase;
@@ -81,6 +82,35 @@ public class CriteriaTest extends TransactionalTestCase
         assertEquals(0, result3.size());
     }
 
+    @Test
+    public void should_create_templated_criteria_query()
+    {
+        // given
+        final String name = "testCreateTemplatedCriteriaQuery";
+        createSimple(name, 55);
+        createSimple(name, 65);
+
+        EntityManagerFactory factory = getEntityManager().getEntityManagerFactory();
+
+        // when
+        List<Simple> result1 = repo.queryByTemplate(name, Boolean.TRUE, 0, 50);
+        int templates = CriteriaQueryTemplate.count(factory);
+        List<Simple> result2 = repo.queryByTemplate(name, Boolean.TRUE, 50, 100);
+        List<Simple> result4 = repo.queryByTemplate(name, Boolean.TRUE, 60, 100);
+        int templatesAfterSameShape = CriteriaQueryTemplate.count(factory);
+        List<Simple> result3 = repo.queryByTemplate(name, null, 60, 100);
+
+        // then
+        assertTrue(templates > 0);
+        assertEquals(templates, templatesAfterSameShape);
+        assertEquals(0, result1.size());
+        assertEquals(2, result2.size());
+        assertEquals(Integer.valueOf(55), result2.get(0).getCounter());
+        assertEquals(1, result3.size());
+        assertEquals(1, result4.size());
+        assertEquals(Integer.valueOf(65), result4.get(0).getCounter());
+    }
+
     @Test
     public void should_query_with_ignore_case()
     {
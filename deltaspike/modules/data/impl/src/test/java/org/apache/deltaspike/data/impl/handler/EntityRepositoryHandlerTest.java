@@ -37,6 +37,7 @@ import org.junit.experimental.categories.Category;
 
 import javax.inject.Inject;
 import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -80,6 +81,9 @@ public class EntityRepositoryHandlerTest extends TransactionalTestCase
     @Inject
     private SimpleIntermediateRepository intermediate;
 
+    @Inject
+    private BatchStatistics batchStatistics;
+
     @Test
     public void should_save() throws Exception
     {
@@ -413,6 +417,72 @@ public class EntityRepositoryHandlerTest extends TransactionalTestCase
         assertNull(lookup);
     }
 
+    @Test
+    public void should_save_all()
+    {
+        // given
+        List<Simple> simples = new ArrayList<Simple>();
+        for (int i = 0; i < 250; i++)
+        {
+            simples.add(new Simple("testSaveAll"));
+        }
+        long entitiesBefore = batchedEntities();
+
+        // when
+        repo.saveAll(simples);
+        Long count = getEntityManager()
+                .createQuery("select count(s) from Simple s where s.name = 'testSaveAll'", Long.class)
+                .getSingleResult();
+
+        // then
+        assertNotNull(simples.get(0).getId());
+        assertNotNull(simples.get(249).getId());
+        assertEquals(Long.valueOf(250), count);
+        assertEquals(entitiesBefore + 250, batchedEntities());
+    }
+
+    @Test
+    public void should_remove_all()
+    {
+        // given
+        List<Simple> simples = new ArrayList<Simple>();
+        for (int i = 0; i < 150; i++)
+        {
+            simples.add(testData.createSimple("testRemoveAll"));
+        }
+
+        // when
+        repo.removeAll(simples);
+        Long count = getEntityManager()
+                .createQuery("select count(s) from Simple s where s.name = 'testRemoveAll'", Long.class)
+                .getSingleResult();
+
+        // then
+        assertEquals(Long.valueOf(0), count);
+    }
+
+    @Test
+    public void should_attach_and_remove_all()
+    {
+        // given
+        List<Simple> simples = new ArrayList<Simple>();
+        for (int i = 0; i < 3; i++)
+        {
+            Simple simple = testData.createSimple("testAttachAndRemoveAll");
+            repo.detach(simple);
+            simples.add(simple);
+        }
+
+        // when
+        repo.attachAndRemoveAll(simples);
+        Long count = getEntityManager()
+                .createQuery("select count(s) from Simple s where s.name = 'testAttachAndRemoveAll'", Long.class)
+                .getSingleResult();
+
+        // then
+        assertEquals(Long.valueOf(0), count);
+    }
+
     @Test
     public void should_return_table_name()
     {
@@ -477,6 +547,13 @@ public class EntityRepositoryHandlerTest extends TransactionalTestCase
         assertEquals(id, primaryKey);
     }
 
+    private long batchedEntities()
+    {
+        BatchStatistics.RepositoryBatchStatistics statistics =
+                batchStatistics.getRepositoryStatistics(ExtendedRepositoryInterface.class);
+        return statistics == null ? 0 : statistics.getEntities();
+    }
+
     @Test
     public void should_query_with_hints()
     {
@@ -34,6 +34,8 @@ import org.apache.deltaspike.data.test.TransactionalTestCase;
 import org.apache.deltaspike.data.test.domain.Simple;
 import org.apache.deltaspike.data.test.domain.Simple2;
 import org.apache.deltaspike.data.test.domain.SimpleBuilder;
+import org.apache.deltaspike.data.test.domain.dto.SimpleName;
+import org.apache.deltaspike.data.test.domain.dto.SimpleSummary;
 import org.apache.deltaspike.data.test.service.Simple2Repository;
 import org.apache.deltaspike.data.test.service.SimpleRepository;
 import org.apache.deltaspike.test.category.WebProfileCategory;
@@ -203,6 +205,75 @@ public class QueryHandlerTest extends TransactionalTestCase
         assertNull(result);
     }
 
+    @Test
+    public void should_create_bulk_delete_by_method_name()
+    {
+        // given
+        final String name = "testCreateBulkDeleteByMethodName";
+        builder.createSimple(name).setEnabled(Boolean.FALSE);
+        builder.createSimple(name).setEnabled(Boolean.FALSE);
+        getEntityManager().flush();
+
+        // when
+        long deleted = repo.deleteByEnabled(Boolean.FALSE);
+        getEntityManager().clear();
+
+        // then
+        assertEquals(2, deleted);
+        assertNull(repo.findAnyByName(name));
+    }
+
+    @Test
+    public void should_create_bulk_update_by_method_name()
+    {
+        // given
+        final String name = "testCreateBulkUpdateByMethodName";
+        builder.createSimple(name);
+        builder.createSimple(name);
+
+        // when
+        int updated = repo.updateEnabledByName(Boolean.FALSE, name);
+        getEntityManager().clear();
+
+        // then
+        assertEquals(2, updated);
+        assertFalse(repo.findAnyByName(name).getEnabled());
+    }
+
+    @Test
+    public void should_select_constructor_projection()
+    {
+        // given
+        final String name = "testSelectConstructorProjection";
+        builder.createSimple(name, Integer.valueOf(2));
+        builder.createSimple(name, Integer.valueOf(1));
+
+        // when
+        List<SimpleSummary> result = repo.findByNameOrderByCounterAsc(name);
+
+        // then
+        assertEquals(2, result.size());
+        assertEquals(name, result.get(0).getName());
+        assertEquals(Integer.valueOf(1), result.get(0).getCounter());
+        assertEquals(Integer.valueOf(2), result.get(1).getCounter());
+    }
+
+    @Test
+    public void should_select_interface_projection()
+    {
+        // given
+        final String name = "testSelectInterfaceProjection";
+        builder.createSimple(name);
+
+        // when
+        SimpleName result = repo.findAnyByNameAndEnabled(name, Boolean.TRUE);
+
+        // then
+        assertNotNull(result);
+        assertEquals(name, result.getName());
+        assertTrue(result.getEnabled());
+    }
+
     @Test
     public void should_restrict_result_size_by_annotation()
     {
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import static java.util.Collections.singletonList;
+import static org.apache.deltaspike.data.test.util.TestDeployments.initDeployment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.data.test.TransactionalTestCase;
+import org.apache.deltaspike.data.test.domain.Simple;
+import org.apache.deltaspike.data.test.service.SimpleResultCacheRepository;
+import org.apache.deltaspike.test.category.WebProfileCategory;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(WebProfileCategory.class)
+public class QueryResultCacheRepositoryTest extends TransactionalTestCase
+{
+
+    @Deployment
+    public static Archive<?> deployment()
+    {
+        return initDeployment()
+                .addClasses(SimpleResultCacheRepository.class)
+                .addPackage(Simple.class.getPackage());
+    }
+
+    @Inject
+    private SimpleResultCacheRepository repo;
+
+    @Test
+    public void should_not_cache_uncommitted_results() throws Exception
+    {
+        // given
+        final String name = "should_not_cache_uncommitted_results";
+        assertTrue(repo.findCountersByName(name).isEmpty());
+
+        // when
+        repo.save(simple(name, 42));
+        List<Integer> uncommitted = repo.findCountersByName(name);
+        ut.rollback();
+        ut.begin();
+
+        // then
+        assertEquals(singletonList(42), uncommitted);
+        assertTrue(repo.findCountersByName(name).isEmpty());
+    }
+
+    @Test
+    public void should_not_cache_results_read_during_write() throws Exception
+    {
+        // given
+        final String name = "should_not_cache_results_read_during_write";
+        Simple simple = repo.save(simple(name, 42));
+
+        // when
+        List<Integer> readDuringWrite = findCountersInOtherThread(name);
+        ut.commit();
+        ut.begin();
+
+        try
+        {
+            // then
+            assertTrue(readDuringWrite.isEmpty());
+            assertEquals(singletonList(42), repo.findCountersByName(name));
+        }
+        finally
+        {
+            repo.attachAndRemove(simple);
+            ut.commit();
+            ut.begin();
+        }
+    }
+
+    private List<Integer> findCountersInOtherThread(final String name) throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            return executor.submit(new Callable<List<Integer>>()
+            {
+                @Override
+                public List<Integer> call()
+                {
+                    return repo.findCountersByName(name);
+                }
+            }).get();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private Simple simple(String name, int counter)
+    {
+        Simple simple = new Simple(name);
+        simple.setCounter(counter);
+        return simple;
+    }
+
+}
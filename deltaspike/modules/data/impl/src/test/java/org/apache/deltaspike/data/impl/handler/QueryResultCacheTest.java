@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.data.impl.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.apache.deltaspike.data.api.ResultCache;
+import org.apache.deltaspike.data.impl.meta.EntityMetadata;
+import org.apache.deltaspike.data.impl.meta.RepositoryMetadata;
+import org.apache.deltaspike.data.impl.meta.RepositoryMethodMetadata;
+import org.apache.deltaspike.data.test.domain.Simple;
+import org.apache.deltaspike.data.test.domain.Simple2;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryResultCacheTest
+{
+    private final QueryResultCache cache = new QueryResultCache()
+    {
+        @Override
+        protected Set<Class<?>> getTransactionWrites(boolean create)
+        {
+            return transactionWrites;
+        }
+    };
+    private final RepositoryMetadata repositoryMetadata =
+            new RepositoryMetadata(QueryResultCacheTest.class, new EntityMetadata(Simple.class));
+
+    private int executions;
+    private Set<Class<?>> transactionWrites;
+
+    @Before
+    public void reset()
+    {
+        executions = 0;
+        transactionWrites = null;
+    }
+
+    @Test
+    public void should_cache_result_per_arguments() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("cached");
+
+        // when
+        Object result1 = cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+        Object result2 = cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+        Object result3 = cache.execute(repositoryMetadata, methodMetadata, new Object[] { "b" }, query());
+
+        // then
+        assertEquals(2, executions);
+        assertEquals(1, result1);
+        assertEquals(1, result2);
+        assertEquals(2, result3);
+    }
+
+    @Test
+    public void should_cache_null_results() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("cached");
+        Callable<Object> query = new Callable<Object>()
+        {
+            @Override
+            public Object call()
+            {
+                executions++;
+                return null;
+            }
+        };
+
+        // when
+        cache.execute(repositoryMetadata, methodMetadata, null, query);
+        Object result = cache.execute(repositoryMetadata, methodMetadata, null, query);
+
+        // then
+        assertNull(result);
+        assertEquals(1, executions);
+    }
+
+    @Test
+    public void should_evict_results_of_entity() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("cached");
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+
+        // when
+        cache.evict(Simple2.class);
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+        cache.evict(Simple.class);
+        Object result = cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+
+        // then
+        assertEquals(2, executions);
+        assertEquals(2, result);
+    }
+
+    @Test
+    public void should_expire_results() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("expired");
+
+        // when
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+
+        // then
+        assertEquals(2, executions);
+    }
+
+    @Test
+    public void should_limit_cached_results() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("limited");
+
+        // when
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "b" }, query());
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "b" }, query());
+        cache.execute(repositoryMetadata, methodMetadata, new Object[] { "a" }, query());
+
+        // then
+        assertEquals(3, executions);
+    }
+
+    @Test
+    public void should_return_copy_of_cached_list() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("cached");
+        Callable<Object> query = new Callable<Object>()
+        {
+            @Override
+            public Object call()
+            {
+                List<String> result = new ArrayList<String>();
+                result.add("a");
+                return result;
+            }
+        };
+
+        // when
+        @SuppressWarnings("unchecked")
+        List<String> result1 = (List<String>) cache.execute(repositoryMetadata, methodMetadata, null, query);
+        result1.clear();
+        List<?> result2 = (List<?>) cache.execute(repositoryMetadata, methodMetadata, null, query);
+
+        // then
+        assertEquals(1, result2.size());
+    }
+
+    @Test
+    public void should_bypass_cache_while_transaction_writes_entity() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("cached");
+        Set<Class<?>> writingTransaction = new HashSet<Class<?>>();
+        cache.execute(repositoryMetadata, methodMetadata, null, query());
+
+        // when
+        transactionWrites = writingTransaction;
+        cache.onWrite(Simple.class);
+        Object inWritingTransaction1 = cache.execute(repositoryMetadata, methodMetadata, null, query());
+        Object inWritingTransaction2 = cache.execute(repositoryMetadata, methodMetadata, null, query());
+        transactionWrites = null;
+        Object inOtherTransaction1 = cache.execute(repositoryMetadata, methodMetadata, null, query());
+        Object inOtherTransaction2 = cache.execute(repositoryMetadata, methodMetadata, null, query());
+        cache.afterCompletion(writingTransaction);
+        Object afterCompletion1 = cache.execute(repositoryMetadata, methodMetadata, null, query());
+        Object afterCompletion2 = cache.execute(repositoryMetadata, methodMetadata, null, query());
+
+        // then
+        assertEquals(2, inWritingTransaction1);
+        assertEquals(3, inWritingTransaction2);
+        assertEquals(4, inOtherTransaction1);
+        assertEquals(5, inOtherTransaction2);
+        assertEquals(6, afterCompletion1);
+        assertEquals(6, afterCompletion2);
+    }
+
+    @Test
+    public void should_evict_written_entity_without_jta() throws Exception
+    {
+        // given
+        QueryResultCache cacheWithoutJta = new QueryResultCache();
+        RepositoryMethodMetadata methodMetadata = methodMetadata("cached");
+        cacheWithoutJta.register(repositoryMetadata, methodMetadata);
+        cacheWithoutJta.execute(repositoryMetadata, methodMetadata, null, query());
+
+        // when
+        cacheWithoutJta.onWrite(Simple.class);
+        cacheWithoutJta.onWrite(Simple.class);
+        cacheWithoutJta.execute(repositoryMetadata, methodMetadata, null, query());
+        Object result = cacheWithoutJta.execute(repositoryMetadata, methodMetadata, null, query());
+
+        // then
+        assertEquals(2, executions);
+        assertEquals(2, result);
+    }
+
+    @Test
+    public void should_not_track_writes_without_cached_methods()
+    {
+        // given
+        final List<Boolean> lookups = new ArrayList<Boolean>();
+        QueryResultCache unusedCache = new QueryResultCache()
+        {
+            @Override
+            protected Set<Class<?>> getTransactionWrites(boolean create)
+            {
+                lookups.add(create);
+                return null;
+            }
+        };
+
+        // when
+        unusedCache.onWrite(Simple.class);
+
+        // then
+        assertTrue(lookups.isEmpty());
+    }
+
+    @Test
+    public void should_not_cache_entities() throws Exception
+    {
+        // given
+        RepositoryMethodMetadata methodMetadata = methodMetadata("cached");
+        Callable<Object> query = new Callable<Object>()
+        {
+            @Override
+            public Object call()
+            {
+                executions++;
+                return Collections.singletonList(new Simple("a"));
+            }
+        };
+
+        // when
+        cache.execute(repositoryMetadata, methodMetadata, null, query);
+        cache.execute(repositoryMetadata, methodMetadata, null, query);
+
+        // then
+        assertEquals(2, executions);
+    }
+
+    @ResultCache
+    public void cached()
+    {
+    }
+
+    @ResultCache(timeToLive = 0)
+    public void expired()
+    {
+    }
+
+    @ResultCache(maxSize = 1)
+    public void limited()
+    {
+    }
+
+    private Callable<Object> query()
+    {
+        return new Callable<Object>()
+        {
+            @Override
+            public Object call()
+            {
+                return ++executions;
+            }
+        };
+    }
+
+    private RepositoryMethodMetadata methodMetadata(String name) throws Exception
+    {
+        RepositoryMethodMetadata methodMetadata = new RepositoryMethodMetadata();
+        methodMetadata.setMethod(QueryResultCacheTest.class.getMethod(name));
+        methodMetadata.setResultCache(methodMetadata.getMethod().getAnnotation(ResultCache.class));
+        return methodMetadata;
+    }
+}
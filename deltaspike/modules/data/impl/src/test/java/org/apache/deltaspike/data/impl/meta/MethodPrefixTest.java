@@ -21,6 +21,8 @@ package org.apache.deltaspike.data.impl.meta;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class MethodPrefixTest
 {
@@ -94,4 +96,26 @@ public class MethodPrefixTest
         assertEquals("OrderByName", resultingQuery);
     }
 
+    @Test
+    public void shouldParseUpdateMethod()
+    {
+        RepositoryMethodPrefix methodPrefix = new RepositoryMethodPrefix("","updateNameAndEnabledById");
+
+        String resultingQuery = methodPrefix.removePrefix("updateNameAndEnabledById");
+
+        assertTrue(methodPrefix.isUpdate());
+        assertTrue(methodPrefix.isModifying());
+        assertEquals("NameAndEnabled", methodPrefix.getUpdateProperties());
+        assertEquals("Id", resultingQuery);
+    }
+
+    @Test
+    public void shouldNotParseUpdateWithoutCondition()
+    {
+        RepositoryMethodPrefix methodPrefix = new RepositoryMethodPrefix("","updateName");
+
+        assertFalse(methodPrefix.isUpdate());
+        assertFalse(methodPrefix.isModifying());
+    }
+
 }
\ No newline at end of file
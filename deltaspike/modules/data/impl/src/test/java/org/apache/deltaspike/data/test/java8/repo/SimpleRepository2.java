@@ -22,6 +22,7 @@ package org.apache.deltaspike.data.test.java8.repo;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.api.SingleResultType;
+import org.apache.deltaspike.data.api.StreamConfig;
 import org.apache.deltaspike.data.test.java8.entity.Simple;
 
 import java.util.Optional;
@@ -35,4 +36,8 @@ public interface SimpleRepository2
 
     @Query(value = "select name from simple_table", isNative = true)
     Stream<String> findSimpleNames();
+
+    @StreamConfig(fetchSize = 2, detachInterval = 1)
+    @Query("select s from Simple s where s.name = ?1 order by s.id")
+    Stream<Simple> streamByName(String name);
 }
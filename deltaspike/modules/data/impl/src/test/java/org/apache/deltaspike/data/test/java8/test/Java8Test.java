@@ -164,4 +164,25 @@ public class Java8Test
 
         Assert.assertEquals(asList("a","b"), actualSorted);
     }
+
+    @Test
+    public void shouldDetachStreamedEntities()
+    {
+        entityManager.persist(new Simple("streamed"));
+        entityManager.persist(new Simple("streamed"));
+        entityManager.persist(new Simple("streamed"));
+        entityManager.flush();
+
+        final List<Simple> found;
+        try (Stream<Simple> streamed = simpleRepository2.streamByName("streamed"))
+        {
+            found = streamed.collect(toList());
+        }
+
+        Assert.assertEquals(3, found.size());
+        for (Simple simple : found)
+        {
+            Assert.assertFalse(entityManager.contains(simple));
+        }
+    }
 }
@@ -45,6 +45,17 @@ public abstract class SimpleCriteriaRepository extends AbstractEntityRepository<
                 .getResultList();
     }
 
+    public List<Simple> queryByTemplate(String name, Boolean enabled, Integer from, Integer to)
+    {
+        return criteria()
+                .eq(Simple_.name, name)
+                .eq(Simple_.enabled, enabled)
+                .between(Simple_.counter, from, to)
+                .orderAsc(Simple_.counter)
+                .templated()
+                .getResultList();
+    }
+
     public List<Simple> queryByIgnoreCase(String name, String nameLike)
     {
         return criteria()
@@ -36,6 +36,8 @@ import org.apache.deltaspike.data.api.QueryResult;
 import org.apache.deltaspike.data.api.Repository;
 import org.apache.deltaspike.data.test.domain.Simple;
 import org.apache.deltaspike.data.test.domain.SimpleStringId;
+import org.apache.deltaspike.data.test.domain.dto.SimpleName;
+import org.apache.deltaspike.data.test.domain.dto.SimpleSummary;
 
 @Repository
 public abstract class SimpleRepository extends AbstractEntityRepository<Simple, Long>
@@ -123,6 +125,14 @@ public abstract class SimpleRepository extends AbstractEntityRepository<Simple,
 
     public abstract void removeByNameAndEnabled(String name, Boolean aTrue);
 
+    public abstract long deleteByEnabled(Boolean enabled);
+
+    public abstract int updateEnabledByName(Boolean enabled, String name);
+
+    public abstract List<SimpleSummary> findByNameOrderByCounterAsc(String name);
+
+    public abstract SimpleName findAnyByNameAndEnabled(String name, Boolean enabled);
+
     @Override
     protected abstract EntityManager entityManager();
 }
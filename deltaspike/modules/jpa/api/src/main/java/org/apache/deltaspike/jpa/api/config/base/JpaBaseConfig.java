@@ -35,4 +35,46 @@ public interface JpaBaseConfig extends DeltaSpikeBaseConfig
                 .withCurrentProjectStage(true)
                 .getValue();
     }
+
+    interface TransactionCustomization
+    {
+        /**
+         * Flush the EntityManagers of a transaction with multiple EntityManagers in parallel.
+         * Only supported for resource-local transactions.
+         */
+        Boolean PARALLEL_FLUSH_ENABLED =
+                ConfigResolver.resolve("deltaspike.jpa.transaction.parallel-flush.enabled")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.FALSE)
+                        .getValue();
+
+        /**
+         * The name of the pool used for the parallel flush, see the futureable.pool.* config.
+         */
+        String PARALLEL_FLUSH_POOL =
+                ConfigResolver.resolve("deltaspike.jpa.transaction.parallel-flush.pool")
+                        .withCurrentProjectStage(true)
+                        .withDefault("deltaspike-jpa-flush")
+                        .getValue();
+
+        /**
+         * Comma separated list of the qualifier classes of the EntityManagers which get flushed and committed first.
+         */
+        String COMMIT_ORDER =
+                ConfigResolver.resolve("deltaspike.jpa.transaction.commit-order")
+                        .withCurrentProjectStage(true)
+                        .withDefault("")
+                        .getValue();
+    }
+
+    interface Monitoring
+    {
+        Boolean TRANSACTION_STATISTICS_ENABLED =
+                ConfigResolver.resolve("deltaspike.jpa.transaction.statistics.enabled")
+                        .as(Boolean.class)
+                        .withCurrentProjectStage(true)
+                        .withDefault(Boolean.FALSE)
+                        .getValue();
+    }
 }
@@ -55,4 +55,10 @@ public @interface EntityManagerConfig
      */
     FlushModeType flushMode() default FlushModeType.AUTO;
 
+    /**
+     * Number of entities after which the batch operations of a repository (e.g. {@code saveAll})
+     * flush and clear the EntityManager. 0 uses the configured default.
+     */
+    int batchSize() default 0;
+
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.spi.transaction;
+
+import java.lang.reflect.Method;
+
+/**
+ * Describes a transaction which got handled by the outermost
+ * &#064;{@link org.apache.deltaspike.jpa.api.transaction.Transactional} method.
+ */
+public class TransactionInfo
+{
+    private final Method method;
+    private final boolean committed;
+    private final boolean rollbackOnly;
+    private final int entityManagerCount;
+    private final int nestingDepth;
+    private final long durationInNanos;
+    private final long flushDurationInNanos;
+
+    public TransactionInfo(Method method, boolean committed, boolean rollbackOnly, int entityManagerCount,
+                           int nestingDepth, long durationInNanos, long flushDurationInNanos)
+    {
+        this.method = method;
+        this.committed = committed;
+        this.rollbackOnly = rollbackOnly;
+        this.entityManagerCount = entityManagerCount;
+        this.nestingDepth = nestingDepth;
+        this.durationInNanos = durationInNanos;
+        this.flushDurationInNanos = flushDurationInNanos;
+    }
+
+    /**
+     * @return the outermost transactional method
+     */
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    /**
+     * @return <code>true</code> if all the transactions got committed, <code>false</code> if they got rolled back
+     */
+    public boolean isCommitted()
+    {
+        return committed;
+    }
+
+    /**
+     * @return <code>true</code> if the transaction got rolled back without a failure, because it was read only
+     * or marked as rollback only
+     */
+    public boolean isRollbackOnly()
+    {
+        return rollbackOnly;
+    }
+
+    /**
+     * @return the number of EntityManagers which took part in the transaction
+     */
+    public int getEntityManagerCount()
+    {
+        return entityManagerCount;
+    }
+
+    /**
+     * @return the max. number of nested transactional invocations, 1 if there was no nested invocation
+     */
+    public int getNestingDepth()
+    {
+        return nestingDepth;
+    }
+
+    /**
+     * @return the time between the begin and the end of the commit or rollback
+     */
+    public long getDurationInNanos()
+    {
+        return durationInNanos;
+    }
+
+    /**
+     * @return the time spent to flush the EntityManagers before the commit. EntityManagers are only flushed
+     * explicitly if there are several of them, otherwise the flush is part of the commit and 0 is returned.
+     */
+    public long getFlushDurationInNanos()
+    {
+        return flushDurationInNanos;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.spi.transaction;
+
+/**
+ * Gets notified about every transaction which got started and finished by the
+ * &#064;{@link org.apache.deltaspike.jpa.api.transaction.Transactional} interceptor.
+ *
+ * <p>All the CDI beans implementing this interface are picked up automatically.
+ * Listeners get called synchronously in the thread which finished the transaction,
+ * so they should not perform any expensive work.</p>
+ */
+public interface TransactionListener
+{
+    /**
+     * @param transactionInfo the details of the finished transaction
+     */
+    void transactionFinished(TransactionInfo transactionInfo);
+}
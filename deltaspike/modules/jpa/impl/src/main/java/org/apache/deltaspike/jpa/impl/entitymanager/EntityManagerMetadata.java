@@ -37,6 +37,7 @@ public class EntityManagerMetadata
     private Class<? extends Annotation>[] qualifiers;
     private boolean entityManagerResolverIsNormalScope;
     private FlushModeType entityManagerFlushMode;
+    private int batchSize;
     private boolean readOnly = false;
 
     public Class<? extends EntityManagerResolver> getEntityManagerResolverClass()
@@ -59,6 +60,16 @@ public class EntityManagerMetadata
         this.entityManagerFlushMode = entityManagerFlushMode;
     }
 
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize)
+    {
+        this.batchSize = batchSize;
+    }
+
     public boolean isEntityManagerResolverIsNormalScope()
     {
         return entityManagerResolverIsNormalScope;
@@ -123,6 +134,7 @@ public class EntityManagerMetadata
         {
             processed = true;
             this.setEntityManagerFlushMode(entityManagerConfig.flushMode());
+            this.setBatchSize(entityManagerConfig.batchSize());
             this.setQualifiers(entityManagerConfig.qualifier());
             Class<? extends EntityManagerResolver> resolverClass = entityManagerConfig.entityManagerResolver();
             if (!resolverClass.equals(EntityManagerResolver.class))
@@ -171,6 +171,15 @@ public class BeanManagedUserTransactionStrategy extends ResourceLocalTransaction
         entityManagerEntry.getEntityManager().joinTransaction();
     }
 
+    /**
+     * The JTA transaction is bound to the current thread, thus the EntityManagers can't be flushed in parallel.
+     */
+    @Override
+    protected boolean isParallelFlushEnabled()
+    {
+        return false;
+    }
+
     protected UserTransaction resolveUserTransaction()
     {
         //manual lookup needed because injecting UserTransactionResolver can fail (see the comment there)
@@ -20,9 +20,23 @@ package org.apache.deltaspike.jpa.impl.transaction;
 
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,14 +47,16 @@ import javax.inject.Inject;
 import javax.interceptor.InvocationContext;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
+import javax.persistence.FlushModeType;
 
-import org.apache.deltaspike.core.util.ProxyUtils;
+import org.apache.deltaspike.core.impl.future.ThreadPoolManager;
+import org.apache.deltaspike.jpa.api.config.base.JpaBaseConfig;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
-import org.apache.deltaspike.jpa.impl.entitymanager.EntityManagerMetadata;
 import org.apache.deltaspike.jpa.impl.transaction.context.EntityManagerEntry;
 import org.apache.deltaspike.jpa.impl.transaction.context.TransactionBeanStorage;
 import org.apache.deltaspike.jpa.spi.entitymanager.ActiveEntityManagerHolder;
 import org.apache.deltaspike.jpa.spi.entitymanager.QualifierBackedEntityManagerResolver;
+import org.apache.deltaspike.jpa.spi.transaction.TransactionInfo;
 import org.apache.deltaspike.jpa.spi.transaction.TransactionStrategy;
 
 /**
@@ -67,6 +83,13 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
 
     private static final Logger LOGGER = Logger.getLogger(ResourceLocalTransactionStrategy.class.getName());
 
+    private static final List<String> COMMIT_ORDER =
+            parseCommitOrder(JpaBaseConfig.TransactionCustomization.COMMIT_ORDER);
+
+    // read only methods of the EntityManager delegates, the entries of unsupported delegates have no methods
+    private static final ConcurrentMap<Class<?>, ReadOnlyMethods> READ_ONLY_METHODS =
+            new ConcurrentHashMap<Class<?>, ReadOnlyMethods>();
+
     @Inject
     private BeanManager beanManager;
 
@@ -76,24 +99,35 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
     @Inject
     private ActiveEntityManagerHolder emHolder;
 
+    @Inject
+    private TransactionStatistics transactionStatistics;
+
+    @Inject
+    private ThreadPoolManager threadPoolManager;
+
     @Override
     public Object execute(InvocationContext invocationContext) throws Exception
     {
-        EntityManagerMetadata metadata = transactionHelper.createEntityManagerMetadata(invocationContext);
-        Transactional transactionalAnnotation = transactionHelper.extractTransactionalAnnotation(invocationContext);
-
-        Class targetClass = ProxyUtils.getUnproxiedClass(invocationContext.getTarget().getClass()); //see DELTASPIKE-517
+        TransactionMetadata metadata = transactionHelper.resolveTransactionMetadata(invocationContext);
+        Transactional transactionalAnnotation = metadata.getTransactional();
 
         // all the configured qualifier keys
         Set<Class<? extends Annotation>> emQualifiers = emHolder.isSet() ?
                 new HashSet<Class<? extends Annotation>>(Arrays.asList(Default.class)) :
-                transactionHelper.resolveEntityManagerQualifiers(metadata, targetClass);
+                metadata.getQualifiers();
 
         TransactionBeanStorage transactionBeanStorage = TransactionBeanStorage.getInstance();
 
         boolean isOutermostInterceptor = transactionBeanStorage.isEmpty();
         boolean startedTransaction = false;
 
+        // only the outermost interceptor records the statistics of the whole transaction
+        boolean recordStatistics = isOutermostInterceptor && transactionStatistics.isEnabled();
+        long transactionStart = recordStatistics ? System.nanoTime() : 0;
+        long flushDuration = 0;
+        int entityManagerCount = -1;
+        boolean rolledBack = false;
+
         if (isOutermostInterceptor)
         {
             // a new Context needs to get started
@@ -106,6 +140,9 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
 
         Exception firstException = null;
 
+        // read only transactions are rolled back, so the EntityManagers don't need to track changes
+        Map<EntityManagerEntry, ReadOnlyState> readOnlyStates = null;
+
         try
         {
             for (Class<? extends Annotation> emQualifier : emQualifiers)
@@ -121,6 +158,15 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                     beforeBegin(invocationContext, entityManagerEntry, transaction);
                     transaction.begin();
                     startedTransaction = true;
+
+                    if (isOutermostInterceptor && metadata.isReadOnly())
+                    {
+                        if (readOnlyStates == null)
+                        {
+                            readOnlyStates = new HashMap<EntityManagerEntry, ReadOnlyState>();
+                        }
+                        readOnlyStates.put(entityManagerEntry, applyReadOnly(entityManager));
+                    }
                 }
 
                 //don't move it before EntityTransaction#begin() and invoke it in any case
@@ -148,7 +194,9 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                     // This e.g. happens if a Stateless EJB invokes a Transactional CDI bean
                     // which uses the BeanManagedUserTransactionStrategy.
 
+                    entityManagerCount = entityManagerEntryList.size();
                     rollbackAllTransactions(entityManagerEntryList);
+                    rolledBack = true;
                 }
 
                 // drop all EntityManagers from the request-context cache
@@ -185,42 +233,67 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                     {
                         // only commit all transactions if we didn't rollback
                         // them already
-                        Set<EntityManagerEntry> entityManagerEntryList =
-                            transactionBeanStorage.getUsedEntityManagerEntries();
+                        Collection<EntityManagerEntry> entityManagerEntryList =
+                            orderEntityManagerEntries(transactionBeanStorage.getUsedEntityManagerEntries());
 
                         boolean rollbackOnly = metadata.isReadOnly() || isRollbackOnly(transactionalAnnotation);
 
                         if (!rollbackOnly && entityManagerEntryList.size() > 1)
                         {
+                            long flushStart = recordStatistics ? System.nanoTime() : 0;
+
                             // but first try to flush all the transactions and write the updates to the database
-                            for (EntityManagerEntry currentEntityManagerEntry : entityManagerEntryList)
+                            if (isParallelFlushEnabled())
+                            {
+                                firstException = flushInParallel(entityManagerEntryList);
+                                commitFailed = firstException != null;
+
+                                for (EntityManagerEntry currentEntityManagerEntry : entityManagerEntryList)
+                                {
+                                    EntityTransaction transaction = getTransaction(currentEntityManagerEntry);
+                                    if (!commitFailed && transaction != null && transaction.isActive() &&
+                                            transaction.getRollbackOnly())
+                                    {
+                                        rollbackOnly = true;
+                                    }
+                                }
+                            }
+                            else
                             {
-                                EntityTransaction transaction = getTransaction(currentEntityManagerEntry);
-                                if (transaction != null && transaction.isActive())
+                                for (EntityManagerEntry currentEntityManagerEntry : entityManagerEntryList)
                                 {
-                                    try
+                                    EntityTransaction transaction = getTransaction(currentEntityManagerEntry);
+                                    if (transaction != null && transaction.isActive())
                                     {
-                                        if (!commitFailed)
+                                        try
                                         {
-                                            currentEntityManagerEntry.getEntityManager().flush();
-
-                                            if (!rollbackOnly && transaction.getRollbackOnly())
+                                            if (!commitFailed)
                                             {
-                                                // don't set commitFailed to true directly
-                                                // (the order of the entity-managers isn't deterministic
-                                                //  -> tests would break)
-                                                rollbackOnly = true;
+                                                currentEntityManagerEntry.getEntityManager().flush();
+
+                                                if (!rollbackOnly && transaction.getRollbackOnly())
+                                                {
+                                                    // don't set commitFailed to true directly
+                                                    // (the order of the entity-managers isn't deterministic
+                                                    //  -> tests would break)
+                                                    rollbackOnly = true;
+                                                }
                                             }
                                         }
-                                    }
-                                    catch (Exception e)
-                                    {
-                                        firstException = e;
-                                        commitFailed = true;
-                                        break;
+                                        catch (Exception e)
+                                        {
+                                            firstException = e;
+                                            commitFailed = true;
+                                            break;
+                                        }
                                     }
                                 }
                             }
+
+                            if (recordStatistics)
+                            {
+                                flushDuration = System.nanoTime() - flushStart;
+                            }
                         }
                         if (rollbackOnly)
                         {
@@ -240,6 +313,7 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                                     {
                                         beforeRollback(invocationContext, currentEntityManagerEntry, transaction);
                                         transaction.rollback();
+                                        rolledBack = true;
                                     }
                                     else
                                     {
@@ -251,6 +325,7 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                                 {
                                     firstException = e;
                                     commitFailed = true;
+                                    rolledBack = true;
                                 }
                                 finally
                                 {
@@ -260,6 +335,24 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
                         }
                     }
                 }
+                if (readOnlyStates != null)
+                {
+                    restoreReadOnlyStates(readOnlyStates);
+                }
+
+                if (recordStatistics && startedTransaction)
+                {
+                    if (entityManagerCount < 0)
+                    {
+                        entityManagerCount = transactionBeanStorage.getUsedEntityManagerEntries().size();
+                    }
+                    // a rollback without an exception was caused by readOnly or rollback only
+                    transactionStatistics.record(new TransactionInfo(invocationContext.getMethod(), !rolledBack,
+                            rolledBack && firstException == null, entityManagerCount,
+                            transactionBeanStorage.getMaxRefCounter(), System.nanoTime() - transactionStart,
+                            flushDuration));
+                }
+
                 // and now we close the open transaction scope
                 transactionBeanStorage.endTransactionScope();
                 onCloseTransactionScope();
@@ -327,6 +420,221 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
         return transactionalAnnotation != null && transactionalAnnotation.readOnly();
     }
 
+    /**
+     * Defines the order in which the EntityManagers of a transaction get flushed and committed.
+     * By default the qualifiers configured via <code>deltaspike.jpa.transaction.commit-order</code>
+     * come first, e.g. the ones which are least likely to fail.
+     * Override it in a custom strategy for a different ordering.
+     *
+     * @param entityManagerEntries all the EntityManagers used in the current transaction
+     * @return the entries in the order to flush and commit them
+     */
+    protected Collection<EntityManagerEntry> orderEntityManagerEntries(Set<EntityManagerEntry> entityManagerEntries)
+    {
+        final List<String> commitOrder = getCommitOrder();
+        if (commitOrder.isEmpty() || entityManagerEntries.size() < 2)
+        {
+            return entityManagerEntries;
+        }
+
+        List<EntityManagerEntry> result = new ArrayList<EntityManagerEntry>(entityManagerEntries);
+        Collections.sort(result, new Comparator<EntityManagerEntry>()
+        {
+            @Override
+            public int compare(EntityManagerEntry entry1, EntityManagerEntry entry2)
+            {
+                return Integer.compare(commitPosition(commitOrder, entry1), commitPosition(commitOrder, entry2));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return the names of the qualifiers which get flushed and committed first
+     */
+    protected List<String> getCommitOrder()
+    {
+        return COMMIT_ORDER;
+    }
+
+    /**
+     * The parallel flush uses other threads, so it's only possible if the transaction isn't bound to the thread.
+     */
+    protected boolean isParallelFlushEnabled()
+    {
+        return JpaBaseConfig.TransactionCustomization.PARALLEL_FLUSH_ENABLED;
+    }
+
+    /**
+     * @return the pool which executes the parallel flushes
+     */
+    protected ExecutorService getParallelFlushPool()
+    {
+        return threadPoolManager.find(JpaBaseConfig.TransactionCustomization.PARALLEL_FLUSH_POOL);
+    }
+
+    /**
+     * Flushes all the EntityManagers with an active transaction in parallel.
+     * The last one gets flushed by the current thread, the others by the configured pool.
+     * If the pool rejects a flush, the current thread flushes the EntityManager as well.
+     * Entity listeners called by the pool see the context class loader of the current thread,
+     * but no thread bound CDI contexts.
+     *
+     * @return the first exception thrown by a flush or <code>null</code>
+     */
+    protected Exception flushInParallel(Collection<EntityManagerEntry> entityManagerEntries)
+    {
+        List<FutureTask<Void>> flushes = new ArrayList<FutureTask<Void>>(entityManagerEntries.size());
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (EntityManagerEntry entityManagerEntry : entityManagerEntries)
+        {
+            EntityTransaction transaction = getTransaction(entityManagerEntry);
+            if (transaction != null && transaction.isActive())
+            {
+                // resolve the contextual reference in the current thread, other threads can't access the context
+                final EntityManager entityManager = entityManagerEntry.getEntityManager().unwrap(EntityManager.class);
+                flushes.add(new FutureTask<Void>(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        Thread thread = Thread.currentThread();
+                        ClassLoader previousClassLoader = thread.getContextClassLoader();
+                        thread.setContextClassLoader(classLoader);
+                        try
+                        {
+                            entityManager.flush();
+                        }
+                        finally
+                        {
+                            thread.setContextClassLoader(previousClassLoader);
+                        }
+                    }
+                }, null));
+            }
+        }
+
+        ExecutorService pool = flushes.size() > 1 ? getParallelFlushPool() : null;
+        for (int i = 0; i < flushes.size() - 1; i++)
+        {
+            try
+            {
+                pool.execute(flushes.get(i));
+            }
+            catch (RejectedExecutionException e)
+            {
+                flushes.get(i).run();
+            }
+        }
+        if (!flushes.isEmpty())
+        {
+            flushes.get(flushes.size() - 1).run();
+        }
+
+        // wait for all the flushes, the EntityManagers must not be in use once we commit or rollback
+        Exception firstException = null;
+        for (FutureTask<Void> flush : flushes)
+        {
+            try
+            {
+                flush.get();
+            }
+            catch (ExecutionException e)
+            {
+                if (firstException == null)
+                {
+                    firstException = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                if (firstException == null)
+                {
+                    firstException = e;
+                }
+            }
+        }
+        return firstException;
+    }
+
+    private static int commitPosition(List<String> commitOrder, EntityManagerEntry entityManagerEntry)
+    {
+        int position = commitOrder.indexOf(entityManagerEntry.getQualifier().getName());
+        return position < 0 ? Integer.MAX_VALUE : position;
+    }
+
+    private static List<String> parseCommitOrder(String commitOrder)
+    {
+        List<String> result = new ArrayList<String>();
+        for (String qualifier : commitOrder.split(","))
+        {
+            if (qualifier.trim().length() > 0)
+            {
+                result.add(qualifier.trim());
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Switches the EntityManager of a read only transaction to {@link FlushModeType#COMMIT}, so queries
+     * don't trigger flushes, and marks the loaded entities read only if the provider supports it
+     * (e.g. Hibernate's <code>Session#setDefaultReadOnly</code>).
+     */
+    protected ReadOnlyState applyReadOnly(EntityManager entityManager)
+    {
+        Object delegate = entityManager.getDelegate();
+        ReadOnlyMethods readOnlyMethods = findReadOnlyMethods(delegate);
+        ReadOnlyState state = new ReadOnlyState(entityManager.getFlushMode(), readOnlyMethods,
+                readOnlyMethods.isDefaultReadOnly(delegate));
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        readOnlyMethods.setDefaultReadOnly(delegate, true);
+        return state;
+    }
+
+    private void restoreReadOnlyStates(Map<EntityManagerEntry, ReadOnlyState> readOnlyStates)
+    {
+        for (Map.Entry<EntityManagerEntry, ReadOnlyState> entry : readOnlyStates.entrySet())
+        {
+            EntityManager entityManager = entry.getKey().getEntityManager();
+            ReadOnlyState state = entry.getValue();
+            try
+            {
+                if (entityManager.isOpen())
+                {
+                    entityManager.setFlushMode(state.flushMode);
+                    state.readOnlyMethods.setDefaultReadOnly(entityManager.getDelegate(), state.defaultReadOnly);
+                }
+            }
+            catch (Exception e)
+            {
+                LOGGER.log(Level.FINE, "Failed to reset the read only state of the EntityManager", e);
+            }
+        }
+    }
+
+    private static ReadOnlyMethods findReadOnlyMethods(Object delegate)
+    {
+        Class<?> delegateClass = delegate.getClass();
+        ReadOnlyMethods readOnlyMethods = READ_ONLY_METHODS.get(delegateClass);
+        if (readOnlyMethods == null)
+        {
+            try
+            {
+                readOnlyMethods = new ReadOnlyMethods(delegateClass.getMethod("isDefaultReadOnly"),
+                        delegateClass.getMethod("setDefaultReadOnly", boolean.class));
+            }
+            catch (Exception e)
+            {
+                // not supported by the provider
+                readOnlyMethods = new ReadOnlyMethods(null, null);
+            }
+            READ_ONLY_METHODS.putIfAbsent(delegateClass, readOnlyMethods);
+        }
+        return readOnlyMethods;
+    }
+
     private void rollbackAllTransactions(Set<EntityManagerEntry> entityManagerEntryList)
     {
         for (EntityManagerEntry currentEntityManagerEntry : entityManagerEntryList)
@@ -392,4 +700,70 @@ public class ResourceLocalTransactionStrategy implements TransactionStrategy
     {
         TransactionBeanStorage.close();
     }
+
+    /**
+     * The state of an EntityManager before it joined a read only transaction.
+     */
+    protected static class ReadOnlyState
+    {
+        private final FlushModeType flushMode;
+        private final ReadOnlyMethods readOnlyMethods;
+        private final boolean defaultReadOnly;
+
+        ReadOnlyState(FlushModeType flushMode, ReadOnlyMethods readOnlyMethods, boolean defaultReadOnly)
+        {
+            this.flushMode = flushMode;
+            this.readOnlyMethods = readOnlyMethods;
+            this.defaultReadOnly = defaultReadOnly;
+        }
+    }
+
+    /**
+     * The provider specific read only mode of an EntityManager delegate,
+     * e.g. <code>Session#isDefaultReadOnly</code> and <code>Session#setDefaultReadOnly</code> of Hibernate.
+     */
+    private static class ReadOnlyMethods
+    {
+        private final Method isDefaultReadOnly;
+        private final Method setDefaultReadOnly;
+
+        ReadOnlyMethods(Method isDefaultReadOnly, Method setDefaultReadOnly)
+        {
+            this.isDefaultReadOnly = isDefaultReadOnly;
+            this.setDefaultReadOnly = setDefaultReadOnly;
+        }
+
+        boolean isDefaultReadOnly(Object delegate)
+        {
+            if (isDefaultReadOnly == null)
+            {
+                return false;
+            }
+            try
+            {
+                return (Boolean) isDefaultReadOnly.invoke(delegate);
+            }
+            catch (Exception e)
+            {
+                LOGGER.log(Level.FINE, "Failed to read the read only mode of the EntityManager", e);
+                return false;
+            }
+        }
+
+        void setDefaultReadOnly(Object delegate, boolean readOnly)
+        {
+            if (setDefaultReadOnly == null)
+            {
+                return;
+            }
+            try
+            {
+                setDefaultReadOnly.invoke(delegate, readOnly);
+            }
+            catch (Exception e)
+            {
+                LOGGER.log(Level.FINE, "Failed to change the read only mode of the EntityManager", e);
+            }
+        }
+    }
 }
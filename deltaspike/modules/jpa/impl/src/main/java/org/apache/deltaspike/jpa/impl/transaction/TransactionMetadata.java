@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import org.apache.deltaspike.jpa.api.transaction.Transactional;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Immutable transaction settings of an intercepted method. They only depend on the annotations
+ * of the target class and method, so they get resolved once and reused for further invocations.
+ */
+public class TransactionMetadata
+{
+    private final Transactional transactional;
+    private final boolean readOnly;
+    private final Set<Class<? extends Annotation>> qualifiers;
+
+    TransactionMetadata(Transactional transactional, boolean readOnly, Set<Class<? extends Annotation>> qualifiers)
+    {
+        this.transactional = transactional;
+        this.readOnly = readOnly;
+        this.qualifiers = Collections.unmodifiableSet(qualifiers);
+    }
+
+    /**
+     * @return the &#064;Transactional annotation of the method or class, or <code>null</code> if none present.
+     */
+    public Transactional getTransactional()
+    {
+        return transactional;
+    }
+
+    public boolean isReadOnly()
+    {
+        return readOnly;
+    }
+
+    /**
+     * @return the qualifiers of the EntityManagers which take part in the transaction
+     */
+    public Set<Class<? extends Annotation>> getQualifiers()
+    {
+        return qualifiers;
+    }
+}
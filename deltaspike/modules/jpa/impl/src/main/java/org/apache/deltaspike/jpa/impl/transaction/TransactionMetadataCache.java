@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Application wide storage of the {@link TransactionMetadata} per target class and method.
+ */
+@ApplicationScoped
+public class TransactionMetadataCache
+{
+    private final ConcurrentMap<MethodKey, TransactionMetadata> metadata =
+        new ConcurrentHashMap<MethodKey, TransactionMetadata>();
+
+    TransactionMetadata get(Class<?> targetClass, Method method)
+    {
+        return metadata.get(new MethodKey(targetClass, method));
+    }
+
+    void put(Class<?> targetClass, Method method, TransactionMetadata transactionMetadata)
+    {
+        metadata.putIfAbsent(new MethodKey(targetClass, method), transactionMetadata);
+    }
+
+    private static final class MethodKey
+    {
+        private final Class<?> targetClass;
+        private final Method method;
+
+        MethodKey(Class<?> targetClass, Method method)
+        {
+            this.targetClass = targetClass;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof MethodKey))
+            {
+                return false;
+            }
+            MethodKey other = (MethodKey) o;
+            return targetClass.equals(other.targetClass) && method.equals(other.method);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * targetClass.hashCode() + method.hashCode();
+        }
+    }
+}
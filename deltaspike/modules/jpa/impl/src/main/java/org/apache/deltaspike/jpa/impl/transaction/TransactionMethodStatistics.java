@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.deltaspike.core.impl.monitoring.LatencyHistogram;
+import org.apache.deltaspike.jpa.spi.transaction.TransactionInfo;
+
+/**
+ * The statistics of all the transactions started by a single transactional method.
+ */
+public class TransactionMethodStatistics
+{
+    private final Method method;
+
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder rollbackOnlyTransactions = new LongAdder();
+    private final LongAdder totalDuration = new LongAdder();
+    private final LongAdder totalFlushDuration = new LongAdder();
+    private final LongAccumulator maxDuration = new LongAccumulator(Math::max, 0L);
+    private final LongAccumulator maxNestingDepth = new LongAccumulator(Math::max, 0L);
+    private final LongAccumulator maxEntityManagers = new LongAccumulator(Math::max, 0L);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    TransactionMethodStatistics(Method method)
+    {
+        this.method = method;
+    }
+
+    void record(TransactionInfo transactionInfo)
+    {
+        transactions.increment();
+        if (transactionInfo.isRollbackOnly())
+        {
+            rollbackOnlyTransactions.increment();
+        }
+        else if (!transactionInfo.isCommitted())
+        {
+            rollbacks.increment();
+        }
+        totalDuration.add(transactionInfo.getDurationInNanos());
+        totalFlushDuration.add(transactionInfo.getFlushDurationInNanos());
+        maxDuration.accumulate(transactionInfo.getDurationInNanos());
+        maxNestingDepth.accumulate(transactionInfo.getNestingDepth());
+        maxEntityManagers.accumulate(transactionInfo.getEntityManagerCount());
+        histogram.record(transactionInfo.getDurationInNanos());
+    }
+
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    public long getTransactions()
+    {
+        return transactions.sum();
+    }
+
+    /**
+     * @return the number of transactions which got rolled back due to a failure
+     */
+    public long getRollbacks()
+    {
+        return rollbacks.sum();
+    }
+
+    /**
+     * @return the number of read only transactions and transactions marked as rollback only
+     */
+    public long getRollbackOnlyTransactions()
+    {
+        return rollbackOnlyTransactions.sum();
+    }
+
+    public long getMeanDurationInNanos()
+    {
+        long count = transactions.sum();
+        return count == 0 ? 0 : totalDuration.sum() / count;
+    }
+
+    public long getMeanFlushDurationInNanos()
+    {
+        long count = transactions.sum();
+        return count == 0 ? 0 : totalFlushDuration.sum() / count;
+    }
+
+    public long getMaxDurationInNanos()
+    {
+        return maxDuration.get();
+    }
+
+    public long getMaxNestingDepth()
+    {
+        return maxNestingDepth.get();
+    }
+
+    public long getMaxEntityManagers()
+    {
+        return maxEntityManagers.get();
+    }
+
+    /**
+     * @see LatencyHistogram#getValueAtQuantile(double)
+     */
+    public long getDurationAtQuantileInNanos(double quantile)
+    {
+        return histogram.getValueAtQuantile(quantile);
+    }
+}
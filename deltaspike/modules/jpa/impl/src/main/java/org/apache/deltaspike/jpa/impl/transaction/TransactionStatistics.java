@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.deltaspike.core.api.provider.BeanProvider;
+import org.apache.deltaspike.jpa.api.config.base.JpaBaseConfig;
+import org.apache.deltaspike.jpa.spi.transaction.TransactionInfo;
+import org.apache.deltaspike.jpa.spi.transaction.TransactionListener;
+
+/**
+ * Collects the statistics of the transactions per outermost transactional method
+ * and notifies the {@link TransactionListener}s.
+ * It's only active if it's enabled via config or if there is at least one {@link TransactionListener}.
+ */
+@ApplicationScoped
+public class TransactionStatistics
+{
+    private static final Logger LOGGER = Logger.getLogger(TransactionStatistics.class.getName());
+
+    private final ConcurrentMap<Method, TransactionMethodStatistics> methods =
+            new ConcurrentHashMap<Method, TransactionMethodStatistics>();
+
+    private List<TransactionListener> listeners = Collections.emptyList();
+    private boolean enabled;
+
+    @PostConstruct
+    protected void init()
+    {
+        listeners = BeanProvider.getContextualReferences(TransactionListener.class, true, false);
+        enabled = Boolean.TRUE.equals(JpaBaseConfig.Monitoring.TRANSACTION_STATISTICS_ENABLED) ||
+                !listeners.isEmpty();
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void record(TransactionInfo transactionInfo)
+    {
+        getOrCreate(transactionInfo.getMethod()).record(transactionInfo);
+
+        for (TransactionListener listener : listeners)
+        {
+            try
+            {
+                listener.transactionFinished(transactionInfo);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.log(Level.WARNING, "TransactionListener " + listener.getClass().getName() + " failed", e);
+            }
+        }
+    }
+
+    public TransactionMethodStatistics getMethodStatistics(Method method)
+    {
+        return methods.get(method);
+    }
+
+    public Collection<TransactionMethodStatistics> getMethodStatistics()
+    {
+        return methods.values();
+    }
+
+    public void reset()
+    {
+        methods.clear();
+    }
+
+    private TransactionMethodStatistics getOrCreate(Method method)
+    {
+        TransactionMethodStatistics statistics = methods.get(method);
+        if (statistics == null)
+        {
+            statistics = new TransactionMethodStatistics(method);
+            TransactionMethodStatistics existing = methods.putIfAbsent(method, statistics);
+            if (existing != null)
+            {
+                statistics = existing;
+            }
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jpa.impl.transaction;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.apache.deltaspike.core.api.jmx.JmxManaged;
+import org.apache.deltaspike.core.api.jmx.MBean;
+import org.apache.deltaspike.core.api.jmx.Table;
+
+/**
+ * Exports the {@link TransactionStatistics} via JMX.
+ * All the durations are in microseconds.
+ */
+@ApplicationScoped
+@MBean(name = "Transactions", description = "Statistics of all @Transactional methods")
+public class TransactionStatisticsMBean
+{
+    @Inject
+    private TransactionStatistics transactionStatistics;
+
+    @JmxManaged(description = "transactions, failed rollbacks, read only or rollback only transactions, " +
+            "mean, p50, p99, max and mean flush duration (only for several EntityManagers) in microseconds, " +
+            "max nesting depth and max EntityManagers per outermost method")
+    private Table statistics;
+
+    @JmxManaged(description = "true if the statistics get recorded")
+    private boolean enabled;
+
+    public Table getStatistics()
+    {
+        Table table = new Table().withColumns("method", "transactions", "rollbacks", "rollbackOnly",
+                "mean", "p50", "p99", "max", "flush", "depth", "entityManagers");
+        for (TransactionMethodStatistics methodStatistics : transactionStatistics.getMethodStatistics())
+        {
+            Method method = methodStatistics.getMethod();
+            table.withLine(
+                method.getDeclaringClass().getName() + "#" + method.getName(),
+                Long.toString(methodStatistics.getTransactions()),
+                Long.toString(methodStatistics.getRollbacks()),
+                Long.toString(methodStatistics.getRollbackOnlyTransactions()),
+                toMicros(methodStatistics.getMeanDurationInNanos()),
+                toMicros(methodStatistics.getDurationAtQuantileInNanos(0.5)),
+                toMicros(methodStatistics.getDurationAtQuantileInNanos(0.99)),
+                toMicros(methodStatistics.getMaxDurationInNanos()),
+                toMicros(methodStatistics.getMeanFlushDurationInNanos()),
+                Long.toString(methodStatistics.getMaxNestingDepth()),
+                Long.toString(methodStatistics.getMaxEntityManagers()));
+        }
+        return table;
+    }
+
+    public boolean isEnabled()
+    {
+        return transactionStatistics.isEnabled();
+    }
+
+    @JmxManaged(description = "resets all the statistics")
+    public void reset()
+    {
+        transactionStatistics.reset();
+    }
+
+    private static String toMicros(long nanos)
+    {
+        return Long.toString(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.deltaspike.jpa.impl.transaction;
 
 import org.apache.deltaspike.core.util.AnnotationUtils;
+import org.apache.deltaspike.core.util.ProxyUtils;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
 import org.apache.deltaspike.jpa.impl.entitymanager.EntityManagerMetadata;
 
@@ -48,6 +49,34 @@ public class TransactionStrategyHelper implements Serializable
     @Inject
     private BeanManager beanManager;
 
+    @Inject
+    private TransactionMetadataCache transactionMetadataCache;
+
+    /**
+     * Resolves the transaction settings of the intercepted method. They are computed on the first
+     * invocation of a method of the target class and reused afterwards.
+     *
+     * @param context the current invocation
+     * @return the metadata of the intercepted method
+     */
+    public TransactionMetadata resolveTransactionMetadata(InvocationContext context)
+    {
+        Class<?> targetClass = context.getTarget() != null ? context.getTarget().getClass() :
+            context.getMethod().getDeclaringClass();
+        TransactionMetadata result = transactionMetadataCache.get(targetClass, context.getMethod());
+        if (result == null)
+        {
+            EntityManagerMetadata entityManagerMetadata = createEntityManagerMetadata(context);
+            //see DELTASPIKE-517
+            Set<Class<? extends Annotation>> qualifiers =
+                resolveEntityManagerQualifiers(entityManagerMetadata, ProxyUtils.getUnproxiedClass(targetClass));
+            result = new TransactionMetadata(
+                extractTransactionalAnnotation(context), entityManagerMetadata.isReadOnly(), qualifiers);
+            transactionMetadataCache.put(targetClass, context.getMethod(), result);
+        }
+        return result;
+    }
+
     /**
      * <p>This method uses the InvocationContext to scan the &#064;Transactional
      * interceptor for a manually specified Qualifier.</p>
@@ -67,6 +67,11 @@ public class TransactionBeanStorage
          * counts the 'depth' of the interceptor invocation.
          */
         private AtomicInteger refCounter = new AtomicInteger(0);
+
+        /**
+         * the max. 'depth' reached so far.
+         */
+        private int maxRefCounter = 0;
     }
 
     /**
@@ -122,7 +127,25 @@ public class TransactionBeanStorage
      */
     public int incrementRefCounter()
     {
-        return currentTci.refCounter.incrementAndGet() - 1;
+        int depth = currentTci.refCounter.incrementAndGet();
+        if (depth > currentTci.maxRefCounter)
+        {
+            currentTci.maxRefCounter = depth;
+        }
+        return depth - 1;
+    }
+
+    /**
+     * @return the max. 'depth' of the interceptor invocations in the current TransactionScope
+     */
+    public int getMaxRefCounter()
+    {
+        if (currentTci == null)
+        {
+            return 0;
+        }
+
+        return currentTci.maxRefCounter;
     }
 
     /**
@@ -38,6 +38,8 @@ public class TestEntityManager implements EntityManager
 
     private boolean open = true;
     private boolean flushed = false;
+    private FlushModeType flushMode = FlushModeType.AUTO;
+    private boolean defaultReadOnly = false;
     private String unitName = null;
 
     public TestEntityManager()
@@ -111,13 +113,13 @@ public class TestEntityManager implements EntityManager
     @Override
     public void setFlushMode(FlushModeType flushMode)
     {
-        throw new IllegalStateException("not implemented");
+        this.flushMode = flushMode;
     }
 
     @Override
     public FlushModeType getFlushMode()
     {
-        throw new IllegalStateException("not implemented");
+        return flushMode;
     }
 
     @Override
@@ -249,6 +251,10 @@ public class TestEntityManager implements EntityManager
     @Override
     public <T> T unwrap(Class<T> cls)
     {
+        if (cls.isInstance(this))
+        {
+            return cls.cast(this);
+        }
         throw new IllegalStateException("not implemented");
     }
 
@@ -306,4 +312,15 @@ public class TestEntityManager implements EntityManager
     public void setFlushed(boolean flushed) {
         this.flushed = flushed;
     }
+
+    // read only mode of the provider, e.g. the one of a Hibernate session
+    public boolean isDefaultReadOnly()
+    {
+        return defaultReadOnly;
+    }
+
+    public void setDefaultReadOnly(boolean defaultReadOnly)
+    {
+        this.defaultReadOnly = defaultReadOnly;
+    }
 }
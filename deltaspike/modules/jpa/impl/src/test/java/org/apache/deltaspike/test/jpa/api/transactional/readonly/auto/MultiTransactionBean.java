@@ -21,10 +21,12 @@ package org.apache.deltaspike.test.jpa.api.transactional.readonly.auto;
 import org.apache.deltaspike.jpa.api.transaction.Transactional;
 import org.apache.deltaspike.test.jpa.api.shared.First;
 import org.apache.deltaspike.test.jpa.api.shared.Second;
+import org.apache.deltaspike.test.jpa.api.shared.TestEntityManager;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 
 @ApplicationScoped
 public class MultiTransactionBean
@@ -38,8 +40,24 @@ public class MultiTransactionBean
     @Inject
     private @Second EntityManager secondEntityManager;
 
+    private FlushModeType flushModeInTransaction;
+
+    private boolean defaultReadOnlyInTransaction;
+
     @Transactional(readOnly = true)
     public void executeInTransaction()
     {
+        flushModeInTransaction = firstEntityManager.getFlushMode();
+        defaultReadOnlyInTransaction = ((TestEntityManager) firstEntityManager.getDelegate()).isDefaultReadOnly();
+    }
+
+    public FlushModeType getFlushModeInTransaction()
+    {
+        return flushModeInTransaction;
+    }
+
+    public boolean isDefaultReadOnlyInTransaction()
+    {
+        return defaultReadOnlyInTransaction;
     }
 }
@@ -40,6 +40,7 @@ import org.junit.runner.RunWith;
 
 import javax.enterprise.inject.spi.Extension;
 import javax.inject.Inject;
+import javax.persistence.FlushModeType;
 
 //different classes needed due to arquillian restriction
 @RunWith(Arquillian.class)
@@ -107,8 +108,13 @@ public class MultipleEntityManagerInjectionReadOnlyTest
         Assert.assertEquals(false, secondTransaction.isCommitted());
         Assert.assertEquals(false, secondTransaction.isRolledBack());
 
+        secondEntityManager.setDefaultReadOnly(true);
+
         multiTransactionBean.executeInTransaction();
 
+        Assert.assertEquals(FlushModeType.COMMIT, multiTransactionBean.getFlushModeInTransaction());
+        Assert.assertEquals(true, multiTransactionBean.isDefaultReadOnlyInTransaction());
+
         Assert.assertEquals(false, defaultEntityManager.isFlushed());
         Assert.assertEquals(false, defaultTransaction.isActive());
         Assert.assertEquals(true, defaultTransaction.isStarted());
@@ -127,6 +133,14 @@ public class MultipleEntityManagerInjectionReadOnlyTest
         Assert.assertEquals(false, secondTransaction.isCommitted());
         Assert.assertEquals(true, secondTransaction.isRolledBack());
 
+        // the previous read only state is restored
+        Assert.assertEquals(FlushModeType.AUTO, defaultEntityManager.getFlushMode());
+        Assert.assertEquals(false, defaultEntityManager.isDefaultReadOnly());
+        Assert.assertEquals(FlushModeType.AUTO, firstEntityManager.getFlushMode());
+        Assert.assertEquals(false, firstEntityManager.isDefaultReadOnly());
+        Assert.assertEquals(FlushModeType.AUTO, secondEntityManager.getFlushMode());
+        Assert.assertEquals(true, secondEntityManager.isDefaultReadOnly());
+
         Assert.assertEquals(false, TransactionBeanStorage.isOpen());
     }
 }
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.jpa.impl.transaction;
+
+import org.apache.deltaspike.jpa.impl.transaction.ResourceLocalTransactionStrategy;
+import org.apache.deltaspike.jpa.impl.transaction.context.EntityManagerEntry;
+import org.apache.deltaspike.test.jpa.api.shared.First;
+import org.apache.deltaspike.test.jpa.api.shared.Second;
+import org.apache.deltaspike.test.jpa.api.shared.TestEntityManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.enterprise.inject.Default;
+import javax.persistence.PersistenceException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ParallelFlushTest
+{
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown()
+    {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void flushInParallel()
+    {
+        FlushRecordingEntityManager firstEntityManager = new FlushRecordingEntityManager();
+        FlushRecordingEntityManager secondEntityManager = new FlushRecordingEntityManager();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+
+        Exception result;
+        ClassLoader previousClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(classLoader);
+        try
+        {
+            result = new TestTransactionStrategy(pool).flushInParallel(
+                    entries(entry(firstEntityManager, First.class), entry(secondEntityManager, Second.class)));
+        }
+        finally
+        {
+            Thread.currentThread().setContextClassLoader(previousClassLoader);
+        }
+
+        Assert.assertNull(result);
+        Assert.assertTrue(firstEntityManager.isFlushed());
+        Assert.assertTrue(secondEntityManager.isFlushed());
+        Assert.assertNotSame(Thread.currentThread(), firstEntityManager.flushThread);
+        Assert.assertSame(Thread.currentThread(), secondEntityManager.flushThread);
+        Assert.assertSame(classLoader, firstEntityManager.flushClassLoader);
+        Assert.assertSame(classLoader, secondEntityManager.flushClassLoader);
+    }
+
+    @Test
+    public void flushInParallelReturnsFailure()
+    {
+        FlushRecordingEntityManager failingEntityManager = new FlushRecordingEntityManager();
+        failingEntityManager.failure = new PersistenceException("flush failed");
+        FlushRecordingEntityManager secondEntityManager = new FlushRecordingEntityManager();
+
+        Exception result = new TestTransactionStrategy(pool).flushInParallel(
+                entries(entry(failingEntityManager, First.class), entry(secondEntityManager, Second.class)));
+
+        Assert.assertSame(failingEntityManager.failure, result);
+        Assert.assertTrue(secondEntityManager.isFlushed());
+    }
+
+    @Test
+    public void flushInCurrentThreadIfRejected()
+    {
+        FlushRecordingEntityManager firstEntityManager = new FlushRecordingEntityManager();
+        FlushRecordingEntityManager secondEntityManager = new FlushRecordingEntityManager();
+
+        Exception result = new TestTransactionStrategy(new RejectingExecutorService()).flushInParallel(
+                entries(entry(firstEntityManager, First.class), entry(secondEntityManager, Second.class)));
+
+        Assert.assertNull(result);
+        Assert.assertSame(Thread.currentThread(), firstEntityManager.flushThread);
+        Assert.assertSame(Thread.currentThread(), secondEntityManager.flushThread);
+    }
+
+    @Test
+    public void orderByCommitOrder()
+    {
+        EntityManagerEntry defaultEntry = entry(new FlushRecordingEntityManager(), Default.class);
+        EntityManagerEntry firstEntry = entry(new FlushRecordingEntityManager(), First.class);
+        EntityManagerEntry secondEntry = entry(new FlushRecordingEntityManager(), Second.class);
+        TestTransactionStrategy transactionStrategy = new TestTransactionStrategy(pool);
+        transactionStrategy.commitOrder = Arrays.asList(Second.class.getName(), First.class.getName());
+
+        Collection<EntityManagerEntry> result =
+                transactionStrategy.orderEntityManagerEntries(entries(defaultEntry, firstEntry, secondEntry));
+
+        Iterator<EntityManagerEntry> iterator = result.iterator();
+        Assert.assertSame(secondEntry, iterator.next());
+        Assert.assertSame(firstEntry, iterator.next());
+        Assert.assertSame(defaultEntry, iterator.next());
+    }
+
+    private static EntityManagerEntry entry(TestEntityManager entityManager, Class<? extends Annotation> qualifier)
+    {
+        entityManager.getTransaction().begin();
+        return new EntityManagerEntry(entityManager, qualifier);
+    }
+
+    private static Set<EntityManagerEntry> entries(EntityManagerEntry... entries)
+    {
+        return new LinkedHashSet<EntityManagerEntry>(Arrays.asList(entries));
+    }
+
+    private static class TestTransactionStrategy extends ResourceLocalTransactionStrategy
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final ExecutorService parallelFlushPool;
+        private List<String> commitOrder = Collections.emptyList();
+
+        TestTransactionStrategy(ExecutorService parallelFlushPool)
+        {
+            this.parallelFlushPool = parallelFlushPool;
+        }
+
+        @Override
+        protected ExecutorService getParallelFlushPool()
+        {
+            return parallelFlushPool;
+        }
+
+        @Override
+        protected List<String> getCommitOrder()
+        {
+            return commitOrder;
+        }
+
+        @Override
+        protected Exception flushInParallel(Collection<EntityManagerEntry> entityManagerEntries)
+        {
+            return super.flushInParallel(entityManagerEntries);
+        }
+
+        @Override
+        protected Collection<EntityManagerEntry> orderEntityManagerEntries(
+                Set<EntityManagerEntry> entityManagerEntries)
+        {
+            return super.orderEntityManagerEntries(entityManagerEntries);
+        }
+    }
+
+    private static class FlushRecordingEntityManager extends TestEntityManager
+    {
+        private volatile Thread flushThread;
+        private volatile ClassLoader flushClassLoader;
+        private RuntimeException failure;
+
+        @Override
+        public void flush()
+        {
+            flushThread = Thread.currentThread();
+            flushClassLoader = flushThread.getContextClassLoader();
+            if (failure != null)
+            {
+                throw failure;
+            }
+            super.flush();
+        }
+    }
+
+    private static class RejectingExecutorService extends AbstractExecutorService
+    {
+        @Override
+        public void execute(Runnable command)
+        {
+            throw new RejectedExecutionException();
+        }
+
+        @Override
+        public void shutdown()
+        {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow()
+        {
+            return new ArrayList<Runnable>();
+        }
+
+        @Override
+        public boolean isShutdown()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit)
+        {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.jpa.impl.transaction;
+
+import org.apache.deltaspike.jpa.impl.transaction.TransactionMethodStatistics;
+import org.apache.deltaspike.jpa.impl.transaction.TransactionStatistics;
+import org.apache.deltaspike.jpa.spi.transaction.TransactionInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+public class TransactionStatisticsTest
+{
+    @Test
+    public void testStatisticsPerMethod() throws Exception
+    {
+        TransactionStatistics transactionStatistics = new TransactionStatistics();
+        Method toString = Object.class.getMethod("toString");
+        Method hashCode = Object.class.getMethod("hashCode");
+
+        transactionStatistics.record(new TransactionInfo(toString, true, false, 1, 1, 100, 0));
+        transactionStatistics.record(new TransactionInfo(toString, false, false, 2, 3, 300, 40));
+        transactionStatistics.record(new TransactionInfo(toString, false, true, 1, 1, 200, 20));
+        transactionStatistics.record(new TransactionInfo(hashCode, true, false, 1, 1, 50, 0));
+
+        TransactionMethodStatistics toStringStatistics = transactionStatistics.getMethodStatistics(toString);
+        Assert.assertEquals(3, toStringStatistics.getTransactions());
+        Assert.assertEquals(1, toStringStatistics.getRollbacks());
+        Assert.assertEquals(1, toStringStatistics.getRollbackOnlyTransactions());
+        Assert.assertEquals(200, toStringStatistics.getMeanDurationInNanos());
+        Assert.assertEquals(300, toStringStatistics.getMaxDurationInNanos());
+        Assert.assertEquals(20, toStringStatistics.getMeanFlushDurationInNanos());
+        Assert.assertEquals(3, toStringStatistics.getMaxNestingDepth());
+        Assert.assertEquals(2, toStringStatistics.getMaxEntityManagers());
+        Assert.assertEquals(1, transactionStatistics.getMethodStatistics(hashCode).getTransactions());
+        Assert.assertEquals(2, transactionStatistics.getMethodStatistics().size());
+
+        transactionStatistics.reset();
+        Assert.assertTrue(transactionStatistics.getMethodStatistics().isEmpty());
+    }
+}
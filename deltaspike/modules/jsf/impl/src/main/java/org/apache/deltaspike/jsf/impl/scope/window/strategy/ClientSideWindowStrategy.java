@@ -51,6 +51,11 @@ public class ClientSideWindowStrategy extends AbstractClientWindowStrategy
      */
     private static final String NOSCRIPT_PARAMETER = "mfDirect";
 
+    /**
+     * The template of the last windowhandler html, it only changes if a custom
+     * {@link org.apache.deltaspike.jsf.spi.scope.window.ClientWindowConfig} provides different html.
+     */
+    private static volatile WindowHandlerTemplate windowHandlerTemplate;
 
     @Override
     protected String getOrCreateWindowId(FacesContext facesContext)
@@ -107,33 +112,32 @@ public class ClientSideWindowStrategy extends AbstractClientWindowStrategy
         try
         {
             httpResponse.setStatus(HttpServletResponse.SC_OK);
-            httpResponse.setContentType("text/html");
+            httpResponse.setContentType("text/html;charset=" + WindowHandlerTemplate.CHARSET.name());
 
-            String windowHandlerHtml = clientWindowConfig.getClientWindowHtml();
+            WindowHandlerTemplate template = getWindowHandlerTemplate(clientWindowConfig.getClientWindowHtml());
 
             if (windowId == null)
             {
                 windowId = UNINITIALIZED_WINDOW_ID_VALUE;
             }
 
-            // set the windowId value in the javascript code
-            windowHandlerHtml = windowHandlerHtml.replace(WINDOW_ID_REPLACE_PATTERN,
-                                                          org.owasp.encoder.Encode.forJavaScriptBlock(windowId));
-            // set the current request url
-            // on the client we can't use window.location as the location
-            // could be a different when using forwards
-            windowHandlerHtml = windowHandlerHtml.replace(REQUEST_URL_REPLACE_PATTERN,
-                                                          org.owasp.encoder.Encode.forJavaScriptBlock(
-                                                              ClientWindowHelper.constructRequestUrl(externalContext)));
-            // set the noscript-URL for users with no JavaScript
-            windowHandlerHtml =
-                windowHandlerHtml.replace(NOSCRIPT_URL_REPLACE_PATTERN,
-                                          org.owasp.encoder.Encode.forHtmlAttribute(getNoscriptUrl(externalContext)));
+            byte[] windowHandlerHtml = template.render(
+                    // set the windowId value in the javascript code
+                    org.owasp.encoder.Encode.forJavaScriptBlock(windowId),
+                    // set the current request url
+                    // on the client we can't use window.location as the location
+                    // could be a different when using forwards
+                    org.owasp.encoder.Encode.forJavaScriptBlock(
+                        ClientWindowHelper.constructRequestUrl(externalContext)),
+                    // set the noscript-URL for users with no JavaScript
+                    org.owasp.encoder.Encode.forHtmlAttribute(getNoscriptUrl(externalContext)));
+
+            httpResponse.setContentLength(windowHandlerHtml.length);
 
             OutputStream os = httpResponse.getOutputStream();
             try
             {
-                os.write(windowHandlerHtml.getBytes());
+                os.write(windowHandlerHtml);
             }
             finally
             {
@@ -146,6 +150,20 @@ public class ClientSideWindowStrategy extends AbstractClientWindowStrategy
         }
     }
 
+    protected WindowHandlerTemplate getWindowHandlerTemplate(String windowHandlerHtml)
+    {
+        WindowHandlerTemplate template = windowHandlerTemplate;
+        // the config caches the html, so it's usually the same instance
+        if (template == null || (template.getHtml() != windowHandlerHtml &&
+                !template.getHtml().equals(windowHandlerHtml)))
+        {
+            template = new WindowHandlerTemplate(windowHandlerHtml,
+                    WINDOW_ID_REPLACE_PATTERN, REQUEST_URL_REPLACE_PATTERN, NOSCRIPT_URL_REPLACE_PATTERN);
+            windowHandlerTemplate = template;
+        }
+        return template;
+    }
+
     protected String getNoscriptUrl(ExternalContext externalContext)
     {
         String url = externalContext.getRequestPathInfo();
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.jsf.impl.scope.window.strategy;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The windowhandler html split at its placeholders.
+ * The static parts get encoded only once, thus rendering the page just needs to encode the
+ * placeholder values and to copy all the parts into a byte array of the final size.
+ */
+public class WindowHandlerTemplate
+{
+    public static final Charset CHARSET = Charset.forName("UTF-8");
+
+    private final String html;
+
+    /**
+     * the static parts, there is a placeholder between every two of them
+     */
+    private final byte[][] segments;
+
+    /**
+     * the index of the placeholder value which follows the segment with the same index
+     */
+    private final int[] placeholders;
+
+    private final int staticLength;
+
+    /**
+     * @param html the template
+     * @param patterns the placeholders, the index of a pattern is the index of its value in
+     *                 {@link #render(String...)}
+     */
+    public WindowHandlerTemplate(String html, String... patterns)
+    {
+        this.html = html;
+
+        List<byte[]> segmentList = new ArrayList<byte[]>();
+        List<Integer> placeholderList = new ArrayList<Integer>();
+        int length = 0;
+        int start = 0;
+        while (true)
+        {
+            int next = -1;
+            int pattern = -1;
+            for (int i = 0; i < patterns.length; i++)
+            {
+                int index = html.indexOf(patterns[i], start);
+                if (index >= 0 && (next < 0 || index < next))
+                {
+                    next = index;
+                    pattern = i;
+                }
+            }
+
+            byte[] segment = html.substring(start, next < 0 ? html.length() : next).getBytes(CHARSET);
+            segmentList.add(segment);
+            length += segment.length;
+
+            if (next < 0)
+            {
+                break;
+            }
+            placeholderList.add(pattern);
+            start = next + patterns[pattern].length();
+        }
+
+        this.segments = segmentList.toArray(new byte[segmentList.size()][]);
+        this.placeholders = new int[placeholderList.size()];
+        for (int i = 0; i < placeholders.length; i++)
+        {
+            placeholders[i] = placeholderList.get(i);
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * @return the html this template got created for
+     */
+    public String getHtml()
+    {
+        return html;
+    }
+
+    /**
+     * @param values the already escaped values of the placeholders, in the order of the patterns
+     * @return the page in UTF-8
+     */
+    public byte[] render(String... values)
+    {
+        byte[][] encodedValues = new byte[values.length][];
+        for (int i = 0; i < values.length; i++)
+        {
+            encodedValues[i] = values[i].getBytes(CHARSET);
+        }
+
+        int length = staticLength;
+        for (int placeholder : placeholders)
+        {
+            length += encodedValues[placeholder].length;
+        }
+
+        byte[] result = new byte[length];
+        int position = 0;
+        for (int i = 0; i < segments.length; i++)
+        {
+            System.arraycopy(segments[i], 0, result, position, segments[i].length);
+            position += segments[i].length;
+
+            if (i < placeholders.length)
+            {
+                byte[] value = encodedValues[placeholders[i]];
+                System.arraycopy(value, 0, result, position, value.length);
+                position += value.length;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.deltaspike.test.jsf.impl.scope.window;
+
+import org.apache.deltaspike.jsf.impl.scope.window.strategy.WindowHandlerTemplate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WindowHandlerTemplateTest
+{
+    @Test
+    public void testRenderPlaceholders()
+    {
+        WindowHandlerTemplate template = new WindowHandlerTemplate(
+                "<a href=\"$$b$$\">$$a$$</a><script>var a = '$$a$$';</script>", "$$a$$", "$$b$$");
+
+        Assert.assertEquals("<a href=\"/page?x=1\">w1</a><script>var a = 'w1';</script>",
+                new String(template.render("w1", "/page?x=1"), WindowHandlerTemplate.CHARSET));
+    }
+
+    @Test
+    public void testValuesAreNotReplacedAgain()
+    {
+        WindowHandlerTemplate template = new WindowHandlerTemplate("$$a$$|$$b$$", "$$a$$", "$$b$$");
+
+        Assert.assertEquals("$$b$$|\u00e4",
+                new String(template.render("$$b$$", "\u00e4"), WindowHandlerTemplate.CHARSET));
+    }
+
+    @Test
+    public void testWithoutPlaceholders()
+    {
+        WindowHandlerTemplate template = new WindowHandlerTemplate("<html/>", "$$a$$");
+
+        Assert.assertEquals("<html/>", new String(template.render("w1"), WindowHandlerTemplate.CHARSET));
+    }
+}